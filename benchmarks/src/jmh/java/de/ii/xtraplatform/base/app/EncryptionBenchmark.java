@@ -0,0 +1,54 @@
+/*
+ * Copyright 2026 interactive instruments GmbH
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package de.ii.xtraplatform.base.app;
+
+import java.util.Base64;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class EncryptionBenchmark {
+
+  @Param({"64", "16384"})
+  int size;
+
+  private EncryptionImpl encryption;
+  private byte[] data;
+  private byte[] encrypted;
+
+  @Setup
+  public void setup() {
+    byte[] key = new byte[EncryptionImpl.KEY_LENGTH];
+    ThreadLocalRandom.current().nextBytes(key);
+
+    this.encryption = new EncryptionImpl(Base64.getEncoder().encodeToString(key));
+    this.data = new byte[size];
+    ThreadLocalRandom.current().nextBytes(data);
+    this.encrypted = encryption.encrypt(data);
+  }
+
+  @Benchmark
+  public byte[] encrypt() {
+    return encryption.encrypt(data);
+  }
+
+  @Benchmark
+  public byte[] decrypt() {
+    return encryption.decrypt(encrypted, "benchmark");
+  }
+}
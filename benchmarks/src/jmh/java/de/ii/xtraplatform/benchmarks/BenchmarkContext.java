@@ -0,0 +1,91 @@
+/*
+ * Copyright 2026 interactive instruments GmbH
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package de.ii.xtraplatform.benchmarks;
+
+import de.ii.xtraplatform.base.domain.AppConfiguration;
+import de.ii.xtraplatform.base.domain.AppContext;
+import de.ii.xtraplatform.base.domain.Constants.ENV;
+import de.ii.xtraplatform.base.domain.ModifiableAppConfiguration;
+import de.ii.xtraplatform.base.domain.ModifiableCacheConfiguration;
+import de.ii.xtraplatform.base.domain.ModifiableJobsConfiguration;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+/** Application context with the default configuration and a temporary directory. */
+public class BenchmarkContext implements AppContext {
+
+  private final Path tmpDir;
+  private final ModifiableAppConfiguration configuration;
+
+  public BenchmarkContext() {
+    try {
+      this.tmpDir = Files.createTempDirectory("xtraplatform-benchmarks");
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    this.configuration = ModifiableAppConfiguration.create();
+    configuration.setCache(ModifiableCacheConfiguration.create());
+    configuration.setJobs(ModifiableJobsConfiguration.create());
+  }
+
+  /** Deletes the temporary directory, to be called on tear down. */
+  public void delete() {
+    try (Stream<Path> paths = Files.walk(tmpDir)) {
+      for (Path path : (Iterable<Path>) paths.sorted(Comparator.reverseOrder())::iterator) {
+        Files.delete(path);
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  @Override
+  public String getName() {
+    return "xtraplatform-benchmarks";
+  }
+
+  @Override
+  public String getVersion() {
+    return "0.0.1";
+  }
+
+  @Override
+  public ENV getEnvironment() {
+    return ENV.DEVELOPMENT;
+  }
+
+  @Override
+  public Path getDataDir() {
+    return tmpDir;
+  }
+
+  @Override
+  public Path getTmpDir() {
+    return tmpDir;
+  }
+
+  @Override
+  public AppConfiguration getConfiguration() {
+    return configuration;
+  }
+
+  @Override
+  public URI getUri() {
+    return URI.create("http://localhost:7080");
+  }
+
+  @Override
+  public String getInstanceName() {
+    return "benchmark";
+  }
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright 2026 interactive instruments GmbH
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package de.ii.xtraplatform.benchmarks;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Nested maps shaped like the data of a feature provider entity, with a number of types and
+ * properties per type.
+ */
+public final class EntityMaps {
+
+  private static final String[] PROPERTY_TYPES = {"STRING", "INTEGER", "FLOAT", "DATETIME"};
+
+  private EntityMaps() {}
+
+  public static Map<String, Object> provider(int types, int properties) {
+    return provider(types, properties, false);
+  }
+
+  /**
+   * Same shape as {@link #provider(int, int)}, but only half of the types and different values for
+   * some of the settings, like the defaults of an entity.
+   */
+  public static Map<String, Object> defaults(int types, int properties) {
+    return provider(Math.max(1, types / 2), properties, true);
+  }
+
+  private static Map<String, Object> provider(int types, int properties, boolean defaults) {
+    Map<String, Object> data = new LinkedHashMap<>();
+    data.put("id", "provider");
+    data.put("createdAt", 1_700_000_000_000L);
+    data.put("lastModified", defaults ? 1_700_000_000_000L : 1_700_000_100_000L);
+    data.put("entityStorageVersion", 2);
+    data.put("providerType", "FEATURE");
+    data.put("providerSubType", "SQL");
+    data.put("auto", false);
+    data.put("nativeCrs", map("code", 25832, "forceAxisOrder", "NONE"));
+
+    Map<String, Object> pool = map("maxConnections", defaults ? -1 : 8, "minConnections", 1);
+    data.put(
+        "connectionInfo",
+        map(
+            "host",
+            "db",
+            "database",
+            "geodata",
+            "user",
+            "postgres",
+            "schemas",
+            List.of("public", "data"),
+            "pool",
+            pool));
+
+    Map<String, Object> typeMap = new LinkedHashMap<>();
+    for (int i = 0; i < types; i++) {
+      typeMap.put("type_" + i, type(i, properties, defaults));
+    }
+    data.put("types", typeMap);
+
+    List<Object> extensions = new ArrayList<>();
+    extensions.add(map("type", "CRS", "enabled", true, "additionalCrs", List.of(4258, 3857)));
+    extensions.add(map("type", "FEATURES_HTML", "enabled", !defaults));
+    data.put("extensions", extensions);
+
+    return data;
+  }
+
+  private static Map<String, Object> type(int index, int properties, boolean defaults) {
+    Map<String, Object> propertyMap = new LinkedHashMap<>();
+    propertyMap.put("id", map("sourcePath", "id", "type", "STRING", "role", "ID"));
+    for (int i = 0; i < properties; i++) {
+      Map<String, Object> property =
+          map(
+              "sourcePath",
+              "column_" + i,
+              "type",
+              PROPERTY_TYPES[i % PROPERTY_TYPES.length],
+              "label",
+              defaults && i % 3 == 0 ? "Property " + i : "Label of property " + i);
+      propertyMap.put("property_" + i, property);
+    }
+    propertyMap.put("geometry", map("sourcePath", "geom", "type", "GEOMETRY", "role", "PRIMARY"));
+
+    return map(
+        "sourcePath",
+        "/table_" + index,
+        "type",
+        "OBJECT",
+        "label",
+        "Type " + index,
+        "properties",
+        propertyMap);
+  }
+
+  private static Map<String, Object> map(Object... keysAndValues) {
+    Map<String, Object> map = new LinkedHashMap<>();
+    for (int i = 0; i < keysAndValues.length; i += 2) {
+      map.put((String) keysAndValues[i], keysAndValues[i + 1]);
+    }
+    return map;
+  }
+}
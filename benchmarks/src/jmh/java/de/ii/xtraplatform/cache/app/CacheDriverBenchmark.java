@@ -0,0 +1,90 @@
+/*
+ * Copyright 2026 interactive instruments GmbH
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package de.ii.xtraplatform.cache.app;
+
+import de.ii.xtraplatform.base.domain.JacksonProvider;
+import de.ii.xtraplatform.benchmarks.BenchmarkContext;
+import de.ii.xtraplatform.benchmarks.EntityMaps;
+import de.ii.xtraplatform.cache.domain.CacheDriver;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class CacheDriverBenchmark {
+
+  private static final int KEYS = 1000;
+
+  @Param({"MEM", "FS", "SEGMENT"})
+  String driver;
+
+  private BenchmarkContext appContext;
+  private CacheDriver cacheDriver;
+  private Map<String, Object> value;
+
+  @Setup
+  public void setup() {
+    this.appContext = new BenchmarkContext();
+    this.cacheDriver =
+        "MEM".equals(driver)
+            ? new CacheDriverMem(appContext)
+            : "FS".equals(driver)
+                ? new CacheDriverFs(appContext, new JacksonProvider(Set::of))
+                : new CacheDriverSegment(appContext, new JacksonProvider(Set::of));
+    cacheDriver.init();
+
+    this.value = EntityMaps.provider(2, 10);
+
+    for (int i = 0; i < KEYS; i++) {
+      cacheDriver.put(key(i), "v1", value);
+    }
+  }
+
+  @TearDown
+  public void tearDown() {
+    if (cacheDriver instanceof CacheDriverFs) {
+      ((CacheDriverFs) cacheDriver).close();
+    } else if (cacheDriver instanceof CacheDriverSegment) {
+      ((CacheDriverSegment) cacheDriver).close();
+    }
+    this.cacheDriver = null;
+    appContext.delete();
+  }
+
+  @Benchmark
+  public Optional<Map> get() {
+    return cacheDriver.get(key(ThreadLocalRandom.current().nextInt(KEYS)), "v1", Map.class);
+  }
+
+  @Benchmark
+  public boolean has() {
+    return cacheDriver.has(key(ThreadLocalRandom.current().nextInt(KEYS)), "v1");
+  }
+
+  @Benchmark
+  public void put() {
+    cacheDriver.put(key(ThreadLocalRandom.current().nextInt(KEYS)), "v1", value);
+  }
+
+  private static String key(int i) {
+    return "collections/items/" + i;
+  }
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright 2026 interactive instruments GmbH
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package de.ii.xtraplatform.entities.app;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import de.ii.xtraplatform.base.domain.JacksonProvider;
+import de.ii.xtraplatform.benchmarks.EntityMaps;
+import de.ii.xtraplatform.entities.domain.EntityEvent;
+import de.ii.xtraplatform.entities.domain.EventFilter;
+import de.ii.xtraplatform.entities.domain.EventStore;
+import de.ii.xtraplatform.entities.domain.EventStoreSubscriber;
+import de.ii.xtraplatform.entities.domain.ImmutableReplayEvent;
+import de.ii.xtraplatform.entities.domain.ReplayEvent;
+import de.ii.xtraplatform.values.api.ValueEncodingJackson;
+import de.ii.xtraplatform.values.domain.Identifier;
+import de.ii.xtraplatform.values.domain.ValueEncoding.FORMAT;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/** Replay of stored entities on startup, deserialization included. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class EventSourcingBenchmark {
+
+  private static final TypeReference<Map<String, Object>> MAP = new TypeReference<>() {};
+
+  @Param({"1000"})
+  int entities;
+
+  private ValueEncodingJackson<Map<String, Object>> valueEncoding;
+  private List<ReplayEvent> events;
+  private EventSourcing<Map<String, Object>> eventSourcing;
+
+  @Setup
+  public void setup() {
+    this.valueEncoding = new ValueEncodingJackson<>(new JacksonProvider(Set::of), null, false);
+    valueEncoding.addDecoderMiddleware(
+        (identifier, bytes, objectMapper, data, ignoreCache) ->
+            objectMapper.readValue(bytes, MAP));
+
+    this.events = new ArrayList<>(entities);
+    for (int i = 0; i < entities; i++) {
+      Map<String, Object> data = EntityMaps.provider(2 + i % 5, 10);
+      data.put("id", "provider_" + i);
+      events.add(
+          ImmutableReplayEvent.builder()
+              .type("entities")
+              .identifier(Identifier.from("provider_" + i, "providers"))
+              .payload(valueEncoding.serialize(data, FORMAT.JSON))
+              .format("json")
+              .build());
+    }
+  }
+
+  @Setup(Level.Iteration)
+  public void setupIteration() {
+    this.eventSourcing =
+        new EventSourcing<>(
+            new NoopEventStore(),
+            List.of("entities"),
+            valueEncoding,
+            () -> CompletableFuture.completedFuture(null),
+            Optional.empty(),
+            Optional.empty(),
+            Optional.empty(),
+            Optional.empty());
+  }
+
+  @Benchmark
+  public int replay() {
+    for (ReplayEvent event : events) {
+      eventSourcing.onEmit(event);
+    }
+
+    return eventSourcing.getIdentifiers().size();
+  }
+
+  private static class NoopEventStore implements EventStore {
+
+    @Override
+    public void subscribe(EventStoreSubscriber subscriber) {}
+
+    @Override
+    public void push(EntityEvent event) {}
+
+    @Override
+    public boolean isReadOnly() {
+      return true;
+    }
+
+    @Override
+    public void replay(EventFilter filter, boolean force, List<EntityEvent> additionalEvents) {}
+  }
+}
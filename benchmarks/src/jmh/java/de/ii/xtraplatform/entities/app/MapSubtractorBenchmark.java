@@ -0,0 +1,80 @@
+/*
+ * Copyright 2026 interactive instruments GmbH
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package de.ii.xtraplatform.entities.app;
+
+import de.ii.xtraplatform.benchmarks.EntityMaps;
+import de.ii.xtraplatform.entities.domain.EntityFactory;
+import java.lang.reflect.Proxy;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/** {@link MapSubtractor} and {@link MapAligner} as used when patching entities. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class MapSubtractorBenchmark {
+
+  @Param({"10", "100"})
+  int types;
+
+  private Map<String, Object> data;
+  private Map<String, Object> defaults;
+  private Map<String, Object> partial;
+  private EntityFactory entityFactory;
+
+  @Setup
+  public void setup() {
+    this.data = EntityMaps.provider(types, 20);
+    this.defaults = EntityMaps.defaults(types, 20);
+
+    // a patch that changes one setting and resets another one
+    this.partial = new LinkedHashMap<>();
+    Map<String, Object> connectionInfo = new LinkedHashMap<>();
+    connectionInfo.put("host", "db2");
+    connectionInfo.put("pool", null);
+    partial.put("connectionInfo", connectionInfo);
+
+    this.entityFactory = withoutAliases();
+  }
+
+  @Benchmark
+  public Map<String, Object> subtract() {
+    return MapSubtractor.subtract(data, defaults, List.of("id"), Map.of());
+  }
+
+  @Benchmark
+  public Map<String, Object> align() {
+    return MapAligner.align(data, partial, Objects::isNull, entityFactory);
+  }
+
+  // only the key path aliases are used by MapAligner
+  private static EntityFactory withoutAliases() {
+    return (EntityFactory)
+        Proxy.newProxyInstance(
+            EntityFactory.class.getClassLoader(),
+            new Class<?>[] {EntityFactory.class},
+            (proxy, method, args) -> {
+              if (method.getReturnType() == Optional.class) {
+                return Optional.empty();
+              }
+              throw new UnsupportedOperationException(method.getName());
+            });
+  }
+}
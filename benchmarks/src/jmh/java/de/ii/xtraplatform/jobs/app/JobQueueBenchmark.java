@@ -0,0 +1,62 @@
+/*
+ * Copyright 2026 interactive instruments GmbH
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package de.ii.xtraplatform.jobs.app;
+
+import de.ii.xtraplatform.benchmarks.BenchmarkContext;
+import de.ii.xtraplatform.jobs.domain.Job;
+import de.ii.xtraplatform.jobs.domain.JobQueue;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+
+/** Push, take and done on the local job queue backend. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class JobQueueBenchmark {
+
+  private static final String TYPE = "benchmark";
+
+  private BenchmarkContext appContext;
+  private JobQueue jobQueue;
+
+  @Setup
+  public void setup() {
+    this.appContext = new BenchmarkContext();
+    this.jobQueue = new JobQueueImpl(null, Set.of(new JobQueueBackendLocal(appContext, null)));
+  }
+
+  @TearDown
+  public void tearDown() {
+    appContext.delete();
+  }
+
+  @Benchmark
+  public boolean takeDone() {
+    jobQueue.push(Job.of(TYPE, 5, "details"));
+
+    Optional<Job> job = jobQueue.take(TYPE, "executor");
+
+    return job.isPresent() && jobQueue.done(job.get().getId());
+  }
+
+  @Benchmark
+  @Threads(4)
+  public boolean takeDoneConcurrent() {
+    return takeDone();
+  }
+}
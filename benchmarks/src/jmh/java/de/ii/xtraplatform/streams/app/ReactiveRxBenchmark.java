@@ -0,0 +1,143 @@
+/*
+ * Copyright 2026 interactive instruments GmbH
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package de.ii.xtraplatform.streams.app;
+
+import de.ii.xtraplatform.streams.domain.ByteBufferPool;
+import de.ii.xtraplatform.streams.domain.Reactive;
+import de.ii.xtraplatform.streams.domain.Reactive.Runner;
+import de.ii.xtraplatform.streams.domain.Reactive.Sink;
+import de.ii.xtraplatform.streams.domain.Reactive.Source;
+import de.ii.xtraplatform.streams.domain.Reactive.Transformer;
+import io.reactivex.rxjava3.core.Flowable;
+import java.io.ByteArrayInputStream;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ReactiveRxBenchmark {
+
+  @Param({"1", "10"})
+  int stages;
+
+  @Param({"10000"})
+  int items;
+
+  private Runner runner;
+  private List<Integer> source;
+  private byte[] bytes;
+
+  @Setup
+  public void setup() {
+    Reactive reactive = new ReactiveRx();
+    this.runner = reactive.runner("benchmark");
+    this.source = IntStream.range(0, items).boxed().collect(Collectors.toList());
+    this.bytes = new byte[1024 * 1024];
+    ThreadLocalRandom.current().nextBytes(bytes);
+  }
+
+  @TearDown
+  public void tearDown() {
+    runner.close();
+  }
+
+  /** Map, filter and peek stages, fused into a single operator at assembly time. */
+  @Benchmark
+  public Long pipeline(Blackhole blackhole) {
+    Reactive.Stream<Long> stream =
+        Source.iterable(source)
+            .via(stages(blackhole))
+            .to(Sink.reduce(0L, (Long sum, Integer i) -> sum + i));
+
+    return runner.run(stream).toCompletableFuture().join();
+  }
+
+  /** The same stages with one RxJava operator each, as reference for {@link #pipeline}. */
+  @Benchmark
+  public Long pipelineOperators(Blackhole blackhole) {
+    Flowable<Integer> flowable = Flowable.fromIterable(source);
+
+    for (int i = 0; i < stages; i++) {
+      switch (i % 3) {
+        case 0:
+          flowable = flowable.map(item -> item + 1);
+          break;
+        case 1:
+          flowable = flowable.filter(item -> (item & 7) != 0);
+          break;
+        default:
+          flowable = flowable.doOnNext(item -> blackhole.consume(item));
+      }
+    }
+
+    return flowable.reduce(0L, (sum, item) -> sum + item).blockingGet();
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.MICROSECONDS)
+  public Integer latency() {
+    return runner.run(Source.single(1).to(Sink.head())).toCompletableFuture().join();
+  }
+
+  @Benchmark
+  public byte[] inputStream() {
+    Reactive.Stream<byte[]> stream =
+        Source.inputStream(new ByteArrayInputStream(bytes)).to(Sink.reduceByteArray());
+
+    return runner.run(stream).toCompletableFuture().join();
+  }
+
+  @Benchmark
+  public Void channel() {
+    ReadableByteChannel channel = new InputStreamChannel(new ByteArrayInputStream(bytes));
+    Reactive.Stream<Void> stream =
+        Source.channel(channel, ByteBufferPool.getDefault())
+            .to(Sink.channel(Channels.newChannel(OutputStream.nullOutputStream())));
+
+    return runner.run(stream).toCompletableFuture().join();
+  }
+
+  private Transformer<Integer, Integer> stages(Blackhole blackhole) {
+    Transformer<Integer, Integer> transformer = stage(0, blackhole);
+
+    for (int i = 1; i < stages; i++) {
+      transformer = transformer.via(stage(i, blackhole));
+    }
+
+    return transformer;
+  }
+
+  private static Transformer<Integer, Integer> stage(int index, Blackhole blackhole) {
+    switch (index % 3) {
+      case 0:
+        return Transformer.map((Integer item) -> item + 1);
+      case 1:
+        return Transformer.filter((Integer item) -> (item & 7) != 0);
+      default:
+        return Transformer.peek((Integer item) -> blackhole.consume(item));
+    }
+  }
+}
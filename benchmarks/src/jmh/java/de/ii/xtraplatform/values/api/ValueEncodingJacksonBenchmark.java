@@ -0,0 +1,66 @@
+/*
+ * Copyright 2026 interactive instruments GmbH
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package de.ii.xtraplatform.values.api;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import de.ii.xtraplatform.base.domain.JacksonProvider;
+import de.ii.xtraplatform.benchmarks.EntityMaps;
+import de.ii.xtraplatform.values.domain.Identifier;
+import de.ii.xtraplatform.values.domain.ValueEncoding.FORMAT;
+import java.io.IOException;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ValueEncodingJacksonBenchmark {
+
+  private static final TypeReference<Map<String, Object>> MAP = new TypeReference<>() {};
+  private static final Identifier IDENTIFIER = Identifier.from("provider", "providers");
+
+  @Param({"JSON", "YAML", "SMILE"})
+  FORMAT format;
+
+  @Param({"10"})
+  int types;
+
+  private ValueEncodingJackson<Map<String, Object>> valueEncoding;
+  private Map<String, Object> value;
+  private byte[] payload;
+
+  @Setup
+  public void setup() {
+    this.valueEncoding = new ValueEncodingJackson<>(new JacksonProvider(Set::of), null, false);
+    valueEncoding.addDecoderMiddleware(
+        (identifier, bytes, objectMapper, data, ignoreCache) ->
+            objectMapper.readValue(bytes, MAP));
+
+    this.value = EntityMaps.provider(types, 20);
+    this.payload = valueEncoding.serialize(value, format);
+  }
+
+  @Benchmark
+  public byte[] serialize() {
+    return valueEncoding.serialize(value, format);
+  }
+
+  @Benchmark
+  public Map<String, Object> deserialize() throws IOException {
+    return valueEncoding.deserialize(IDENTIFIER, payload, format, false);
+  }
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright 2026 interactive instruments GmbH
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package de.ii.xtraplatform.values.domain;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/** Path lookups with {@link IdentifierIndex} compared to scanning all identifiers. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class IdentifierIndexBenchmark {
+
+  private static final int GROUPS = 100;
+
+  @Param({"100000"})
+  int identifiers;
+
+  private IdentifierIndex index;
+  private List<Identifier> all;
+
+  @Setup
+  public void setup() {
+    this.index = new IdentifierIndex();
+    this.all = new ArrayList<>(identifiers);
+
+    for (int i = 0; i < identifiers; i++) {
+      Identifier identifier =
+          Identifier.from("value_" + i, "codelists", "group_" + (i % GROUPS), "sub_" + (i % 7));
+      index.add(identifier);
+      all.add(identifier);
+    }
+  }
+
+  @Benchmark
+  public List<Identifier> getAll() {
+    return index.getAll(prefix());
+  }
+
+  @Benchmark
+  public boolean has() {
+    return index.has(prefix());
+  }
+
+  @Benchmark
+  public List<Identifier> scan() {
+    List<String> prefix = prefix();
+
+    return all.stream()
+        .filter(
+            identifier ->
+                identifier.path().size() >= prefix.size()
+                    && identifier.path().subList(0, prefix.size()).equals(prefix))
+        .collect(Collectors.toList());
+  }
+
+  private static List<String> prefix() {
+    return List.of("codelists", "group_" + ThreadLocalRandom.current().nextInt(GROUPS));
+  }
+}
@@ -16,6 +16,7 @@ import de.ii.xtraplatform.base.domain.StoreFilters;
 import de.ii.xtraplatform.base.domain.StoreSource;
 import de.ii.xtraplatform.base.domain.StoreSource.Content;
 import de.ii.xtraplatform.base.domain.StoreSource.Mode;
+import io.dropwizard.util.Duration;
 import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
 import java.util.List;
@@ -136,6 +137,11 @@ public class StoreImpl implements Store {
     return storeConfiguration.isWatch();
   }
 
+  @Override
+  public Duration getWatchDebounce() {
+    return storeConfiguration.getWatchDebounce();
+  }
+
   @Override
   public Optional<StoreFilters> getFilter() {
     return storeConfiguration.getFilter();
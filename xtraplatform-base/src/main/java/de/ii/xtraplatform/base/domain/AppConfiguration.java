@@ -171,6 +171,15 @@ public abstract class AppConfiguration extends Configuration {
   @Valid
   public abstract EncryptionConfiguration getEncryption();
 
+  /**
+   * @langEn See [Cache](140-cache.md).
+   * @langDe Siehe [Cache](140-cache.md).
+   * @since v4.10
+   */
+  @JsonProperty("cache")
+  @Valid
+  public abstract CacheConfiguration getCache();
+
   @JsonIgnore
   @Override
   public void setServerFactory(ServerFactory factory) {
@@ -0,0 +1,156 @@
+/*
+ * Copyright 2026 interactive instruments GmbH
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package de.ii.xtraplatform.base.domain;
+
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import de.ii.xtraplatform.docs.DocFile;
+import de.ii.xtraplatform.docs.DocStep;
+import de.ii.xtraplatform.docs.DocStep.Step;
+import de.ii.xtraplatform.docs.DocTable;
+import de.ii.xtraplatform.docs.DocTable.ColumnSet;
+import io.dropwizard.util.DataSize;
+import io.dropwizard.util.Duration;
+import jakarta.validation.constraints.Min;
+import java.util.Optional;
+import org.immutables.value.Value;
+
+/**
+ * @langEn # Cache
+ *     <p>Settings for the internal cache that is used e.g. for tiles and API responses.
+ *     <p>## Options
+ *     <p>{@docTable:properties}
+ * @langDe # Cache
+ *     <p>Einstellungen für den internen Cache, der z.B. für Kacheln und API-Antworten verwendet
+ *     wird.
+ *     <p>## Optionen
+ *     <p>{@docTable:properties}
+ * @ref:cfgProperties {@link ImmutableCacheConfiguration}
+ */
+@DocFile(
+    path = "application/20-configuration",
+    name = "140-cache.md",
+    tables = {
+      @DocTable(
+          name = "properties",
+          rows = {
+            @DocStep(type = Step.TAG_REFS, params = "{@ref:cfgProperties}"),
+            @DocStep(type = Step.JSON_PROPERTIES)
+          },
+          columnSet = ColumnSet.JSON_PROPERTIES)
+    })
+@Value.Immutable
+@Value.Modifiable
+@JsonDeserialize(as = ModifiableCacheConfiguration.class)
+public interface CacheConfiguration {
+
+  /**
+   * @langEn The cache implementation to use. `MEM` keeps entries on the heap, `FS` stores them in
+   *     the temporary directory, `SEGMENT` appends them to memory-mapped files in the temporary
+   *     directory and is meant for very large numbers of entries, and `REDIS` uses the server
+   *     configured in the `redis` section. If not set, `REDIS` is used if `redis` nodes are
+   *     configured, otherwise `FS`.
+   * @langDe Die zu verwendende Cache-Implementierung. `MEM` hält Einträge im Heap, `FS` speichert
+   *     sie im temporären Verzeichnis, `SEGMENT` hängt sie an Memory-Mapped-Dateien im temporären
+   *     Verzeichnis an und ist für sehr viele Einträge gedacht, und `REDIS` verwendet den im
+   *     Abschnitt `redis` konfigurierten Server. Falls nicht gesetzt, wird `REDIS` verwendet, wenn
+   *     `redis` Knoten konfiguriert sind, sonst `FS`.
+   * @since v4.10
+   * @default null
+   */
+  Optional<String> getType();
+
+  /**
+   * @langEn The maximum number of entries held by the `MEM` cache. Least valuable entries are
+   *     evicted when the limit is exceeded. Ignored if `maxSize` is set.
+   * @langDe Die maximale Anzahl an Einträgen im `MEM` Cache. Bei Überschreitung werden die am
+   *     wenigsten wertvollen Einträge entfernt. Wird ignoriert, wenn `maxSize` gesetzt ist.
+   * @since v4.10
+   * @default 10000
+   */
+  @Min(1)
+  @Value.Default
+  default long getMaxEntries() {
+    return 10000;
+  }
+
+  /**
+   * @langEn The maximum size of all entries, e.g. `256MB`. For `MEM` this is the estimated heap
+   *     size, least valuable entries are evicted when it is exceeded. For `FS` this is the size on
+   *     disk, oldest entries are removed by the periodic cleanup when it is exceeded. For `SEGMENT`
+   *     the oldest segment files are dropped when it is exceeded.
+   * @langDe Die maximale Größe aller Einträge, z.B. `256MB`. Für `MEM` ist das die geschätzte
+   *     Heap-Größe, bei Überschreitung werden die am wenigsten wertvollen Einträge entfernt. Für
+   *     `FS` ist das die Größe auf der Festplatte, bei Überschreitung werden die ältesten Einträge
+   *     von der periodischen Bereinigung entfernt. Für `SEGMENT` werden bei Überschreitung die
+   *     ältesten Segment-Dateien verworfen.
+   * @since v4.10
+   * @default null
+   */
+  Optional<DataSize> getMaxSize();
+
+  /**
+   * @langEn The maximum number of entries held in an additional local memory tier in front of the
+   *     `REDIS` cache. Entries are kept deserialized and are invalidated on all instances of the
+   *     cluster when they are changed or deleted. `0` disables the local tier.
+   * @langDe Die maximale Anzahl an Einträgen in einer zusätzlichen lokalen Speicherebene vor dem
+   *     `REDIS` Cache. Einträge werden deserialisiert gehalten und auf allen Instanzen des Clusters
+   *     invalidiert, wenn sie geändert oder gelöscht werden. `0` deaktiviert die lokale Ebene.
+   * @since v4.10
+   * @default 0
+   */
+  @Min(0)
+  @Value.Default
+  default long getNearCacheMaxEntries() {
+    return 0;
+  }
+
+  /**
+   * @langEn The maximum time an entry is kept in the local memory tier of the `REDIS` cache. Also
+   *     bounds how long an entry may still be served locally after it expired in Redis.
+   * @langDe Die maximale Zeit, die ein Eintrag in der lokalen Speicherebene des `REDIS` Caches
+   *     gehalten wird. Begrenzt auch, wie lange ein Eintrag lokal noch ausgeliefert werden kann,
+   *     nachdem er in Redis abgelaufen ist.
+   * @since v4.10
+   * @default 30s
+   */
+  @Value.Default
+  default Duration getNearCacheTtl() {
+    return Duration.seconds(30);
+  }
+
+  /**
+   * @langEn How often the `FS` cache removes expired entries and, if `maxSize` is set, the oldest
+   *     entries exceeding it. Also how often the `SEGMENT` cache compacts its files.
+   * @langDe Wie oft der `FS` Cache abgelaufene Einträge und, falls `maxSize` gesetzt ist, die
+   *     ältesten Einträge, die diese Größe überschreiten, entfernt. Auch wie oft der `SEGMENT`
+   *     Cache seine Dateien kompaktiert.
+   * @since v4.10
+   * @default 5m
+   */
+  @Value.Default
+  default Duration getCleanupInterval() {
+    return Duration.minutes(5);
+  }
+
+  /**
+   * @langEn When a missing entry is computed, the computing instance takes a lease for this
+   *     duration. Other instances that need the same entry meanwhile serve a stale value if
+   *     available or wait for the result instead of computing it again. Only has an effect for
+   *     `REDIS`, `0s` disables leases.
+   * @langDe Wenn ein fehlender Eintrag berechnet wird, nimmt die berechnende Instanz für diese
+   *     Dauer eine Lease. Andere Instanzen, die den gleichen Eintrag benötigen, liefern in der
+   *     Zwischenzeit einen veralteten Wert aus, falls vorhanden, oder warten auf das Ergebnis,
+   *     anstatt ihn erneut zu berechnen. Hat nur für `REDIS` eine Wirkung, `0s` deaktiviert Leases.
+   * @since v4.10
+   * @default 0s
+   */
+  @Value.Default
+  default Duration getLeaseTimeout() {
+    return Duration.seconds(0);
+  }
+}
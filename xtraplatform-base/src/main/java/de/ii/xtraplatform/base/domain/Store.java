@@ -8,6 +8,7 @@
 package de.ii.xtraplatform.base.domain;
 
 import de.ii.xtraplatform.base.domain.StoreSource.Content;
+import io.dropwizard.util.Duration;
 import java.util.List;
 import java.util.Optional;
 import java.util.function.Function;
@@ -32,5 +33,10 @@ public interface Store {
 
   boolean isWatchable();
 
+  /** s. {@link StoreConfiguration#getWatchDebounce()} */
+  default Duration getWatchDebounce() {
+    return Duration.milliseconds(500);
+  }
+
   Optional<StoreFilters> getFilter();
 }
@@ -13,6 +13,7 @@ import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import de.ii.xtraplatform.base.domain.StoreSource.Content;
 import de.ii.xtraplatform.docs.DocIgnore;
 import io.dropwizard.util.DataSize;
+import io.dropwizard.util.Duration;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
@@ -49,6 +50,16 @@ public interface StoreConfiguration {
     return false;
   }
 
+  /**
+   * Changes that are detected within this window are coalesced into a single reload. The window
+   * starts anew with every change, but a reload is never delayed by more than ten windows.
+   */
+  @DocIgnore
+  @Value.Default
+  default Duration getWatchDebounce() {
+    return Duration.milliseconds(500);
+  }
+
   @DocIgnore
   @Value.Default
   default boolean isFailOnUnknownProperties() {
@@ -68,6 +79,24 @@ public interface StoreConfiguration {
     return DataSize.megabytes(3);
   }
 
+  /**
+   * @langEn Keep a binary snapshot of the files in directory sources in the temporary directory.
+   *     On startup, only files that were added or changed since the last start are read again.
+   *     All files are still checked for changes and all entities are still parsed, so this mainly
+   *     helps with slow or network mounted data directories.
+   * @langDe Hält einen binären Snapshot der Dateien von Verzeichnis-Quellen im temporären
+   *     Verzeichnis vor. Beim Start werden nur Dateien erneut gelesen, die seit dem letzten Start
+   *     hinzugefügt oder geändert wurden. Alle Dateien werden weiterhin auf Änderungen geprüft und
+   *     alle Entities werden weiterhin geparst, daher hilft das vor allem bei langsamen oder über
+   *     das Netzwerk eingebundenen Datenverzeichnissen.
+   * @default true
+   * @since v4.10
+   */
+  @Value.Default
+  default boolean isSnapshot() {
+    return true;
+  }
+
   /**
    * @langEn List of [Store sources](#store-sources). The default is the data directory. The list is
    *     appendable, which means entries from configuration files will be appended to the default.
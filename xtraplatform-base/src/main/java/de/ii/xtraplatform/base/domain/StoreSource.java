@@ -56,6 +56,8 @@ import org.immutables.value.Value;
  *     can be appended with a colon, e.g. `my-minio:9000/demo`. For unencrypted connections the
  *     option `insecure` must be set to `true`.
  *     <p>Additionally an `accessKey` and a `secretKey` have to be specified for the source.
+ *     <p>Changes are not detected by default. With `watchable: true`, the bucket is polled every
+ *     `watchInterval` (default `30s`) and only objects with a changed ETag are reloaded.
  *     <p>#### `HTTP`
  *     <p>Access files from a web server. `src` must be a valid URL pointing to a ZIP file. Can be
  *     neither writable nor watchable.
@@ -184,6 +186,9 @@ import org.immutables.value.Value;
  *     z.B. `my-minio:9000/demo`. Für unverschlüsselte Verbindungen muss die Option `insecure` auf
  *     `true` gesetzt werden.
  *     <p>Außerdem müssen ein `accessKey` und ein `secretKey` für die Store Source angegeben werden.
+ *     <p>Änderungen werden standardmäßig nicht erkannt. Mit `watchable: true` wird der Bucket alle
+ *     `watchInterval` (Default `30s`) abgefragt und nur Objekte mit geändertem ETag werden neu
+ *     geladen.
  *     <p>#### `HTTP`
  *     <p>Zugriff auf Dateien von einem Webserver. `src` muss eine gültige URL sein, die auf eine
  *     ZIP-Datei verweist. Kann nicht beschreibbar sein.
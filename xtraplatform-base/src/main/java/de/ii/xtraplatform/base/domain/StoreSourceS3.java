@@ -10,6 +10,7 @@ package de.ii.xtraplatform.base.domain;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import io.dropwizard.util.Duration;
 import java.util.List;
 import java.util.stream.Collectors;
 import org.immutables.value.Value;
@@ -34,13 +35,17 @@ public interface StoreSourceS3 extends StoreSource {
     return Mode.RW;
   }
 
-  @JsonIgnore
-  @Value.Derived
+  @Value.Default
   @Override
   default boolean isWatchable() {
     return false;
   }
 
+  @Value.Default
+  default Duration getWatchInterval() {
+    return Duration.seconds(30);
+  }
+
   @JsonIgnore
   @Value.Derived
   default boolean isCreate() {
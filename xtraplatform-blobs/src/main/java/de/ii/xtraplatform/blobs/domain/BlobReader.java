@@ -35,5 +35,15 @@ public interface BlobReader {
     boolean isValue();
 
     boolean isHidden();
+
+    /** The size in bytes if known from the listing, otherwise -1. */
+    default long size() {
+      return -1;
+    }
+
+    /** The last modification time in epoch millis if known from the listing, otherwise -1. */
+    default long lastModified() {
+      return -1;
+    }
   }
 }
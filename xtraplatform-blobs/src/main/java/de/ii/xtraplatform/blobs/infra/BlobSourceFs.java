@@ -149,6 +149,16 @@ public class BlobSourceFs implements BlobSource, BlobWriter, BlobLocals {
                           public boolean isHidden() {
                             return path1.getFileName().toString().startsWith(".");
                           }
+
+                          @Override
+                          public long size() {
+                            return basicFileAttributes.size();
+                          }
+
+                          @Override
+                          public long lastModified() {
+                            return basicFileAttributes.lastModifiedTime().toMillis();
+                          }
                         }))
         .map(dir::relativize);
   }
@@ -0,0 +1,194 @@
+/*
+ * Copyright 2026 interactive instruments GmbH
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package de.ii.xtraplatform.cache.app;
+
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import de.ii.xtraplatform.cache.domain.CacheDriver;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.function.Supplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Single-flight computation of missing cache entries for Cache.getOrCompute. Concurrent callers for
+ * the same key share one CompletableFuture. If leases are enabled, the computing instance also
+ * takes a lease from the driver, other instances then wait for the result until the lease expires.
+ *
+ * <p>With stale-while-revalidate, the value is stored for ttl + staleTtl and an additional marker
+ * entry for ttl. A value without marker is stale, it is returned immediately and refreshed in the
+ * background. Background refreshes are tracked separately from the computations for misses, a
+ * refresh might give up if another instance holds the lease, while a miss has to wait for or
+ * compute the value.
+ */
+@SuppressWarnings("PMD.AvoidCatchingGenericException")
+class CacheCompute {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(CacheCompute.class);
+
+  private static final String FRESH_SUFFIX = ":_fresh";
+  private static final long POLL_INTERVAL_MS = 50;
+
+  private final long leaseTimeoutMs;
+  private final Map<String, CompletableFuture<Object>> inFlight;
+  private final Map<String, CompletableFuture<Object>> refreshing;
+  private final ExecutorService refreshExecutor;
+
+  CacheCompute(long leaseTimeoutMs) {
+    this.leaseTimeoutMs = leaseTimeoutMs;
+    this.inFlight = new ConcurrentHashMap<>();
+    this.refreshing = new ConcurrentHashMap<>();
+    this.refreshExecutor =
+        MoreExecutors.getExitingExecutorService(
+            (ThreadPoolExecutor)
+                Executors.newFixedThreadPool(
+                    2, new ThreadFactoryBuilder().setNameFormat("cache.refresh-%d").build()));
+  }
+
+  <T> Optional<T> getOrCompute(
+      CacheDriver driver,
+      String key,
+      Class<T> clazz,
+      int ttl,
+      int staleTtl,
+      Supplier<T> loader) {
+    boolean staleWhileRevalidate = ttl > 0 && staleTtl > 0;
+    Optional<T> cached = driver.get(key, clazz);
+
+    if (cached.isPresent()) {
+      if (staleWhileRevalidate
+          && !driver.has(key + FRESH_SUFFIX)
+          && !refreshing.containsKey(key)) {
+        refreshExecutor.execute(() -> compute(driver, key, clazz, ttl, staleTtl, loader, false));
+      }
+      return cached;
+    }
+
+    try {
+      return Optional.ofNullable(
+          compute(driver, key, clazz, ttl, staleTtl, loader, true).join());
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) e.getCause();
+      }
+      throw e;
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private <T> CompletableFuture<T> compute(
+      CacheDriver driver,
+      String key,
+      Class<T> clazz,
+      int ttl,
+      int staleTtl,
+      Supplier<T> loader,
+      boolean recheck) {
+    Map<String, CompletableFuture<Object>> flights = recheck ? inFlight : refreshing;
+    CompletableFuture<Object> future = new CompletableFuture<>();
+    CompletableFuture<Object> existing = flights.putIfAbsent(key, future);
+
+    if (Objects.nonNull(existing)) {
+      return (CompletableFuture<T>) existing;
+    }
+
+    try {
+      future.complete(load(driver, key, clazz, ttl, staleTtl, loader, recheck));
+    } catch (Throwable e) {
+      if (LOGGER.isDebugEnabled()) {
+        LOGGER.debug("Computing cache entry {} failed", key, e);
+      }
+      future.completeExceptionally(e);
+    } finally {
+      flights.remove(key, future);
+    }
+
+    return (CompletableFuture<T>) future;
+  }
+
+  private <T> T load(
+      CacheDriver driver,
+      String key,
+      Class<T> clazz,
+      int ttl,
+      int staleTtl,
+      Supplier<T> loader,
+      boolean recheck) {
+    Optional<String> lease = Optional.empty();
+
+    if (leaseTimeoutMs > 0) {
+      lease = driver.acquireLease(key, leaseTimeoutMs);
+
+      if (lease.isEmpty()) {
+        if (!recheck) {
+          // background refresh, another instance is already on it
+          return null;
+        }
+        Optional<T> computedElsewhere = await(driver, key, clazz);
+        if (computedElsewhere.isPresent()) {
+          return computedElsewhere.get();
+        }
+      }
+    }
+
+    try {
+      if (recheck) {
+        // a computation for the same key might have finished between the miss and taking the slot
+        Optional<T> cached = driver.get(key, clazz);
+        if (cached.isPresent()) {
+          return cached.get();
+        }
+      }
+
+      T value = loader.get();
+
+      if (Objects.nonNull(value)) {
+        if (ttl > 0 && staleTtl > 0) {
+          driver.put(key, value, ttl + staleTtl);
+          driver.put(key + FRESH_SUFFIX, Boolean.TRUE, ttl);
+        } else if (ttl > 0) {
+          driver.put(key, value, ttl);
+        } else {
+          driver.put(key, value);
+        }
+      }
+
+      return value;
+    } finally {
+      lease.ifPresent(token -> driver.releaseLease(key, token));
+    }
+  }
+
+  private <T> Optional<T> await(CacheDriver driver, String key, Class<T> clazz) {
+    long deadline = System.currentTimeMillis() + leaseTimeoutMs;
+
+    while (System.currentTimeMillis() < deadline) {
+      try {
+        Thread.sleep(POLL_INTERVAL_MS);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        break;
+      }
+
+      Optional<T> cached = driver.get(key, clazz);
+      if (cached.isPresent()) {
+        return cached;
+      }
+    }
+
+    return Optional.empty();
+  }
+}
@@ -9,48 +9,99 @@ package de.ii.xtraplatform.cache.app;
 
 import com.github.azahnen.dagger.annotations.AutoBind;
 import com.google.common.hash.Hashing;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.Striped;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import de.ii.xtraplatform.base.domain.AppContext;
+import de.ii.xtraplatform.base.domain.CacheConfiguration;
 import de.ii.xtraplatform.base.domain.Jackson;
 import de.ii.xtraplatform.base.domain.LogContext;
 import de.ii.xtraplatform.cache.domain.CacheDriver;
 import de.ii.xtraplatform.values.api.ValueEncodingJackson;
 import de.ii.xtraplatform.values.domain.ValueEncoding;
 import de.ii.xtraplatform.values.domain.ValueEncoding.FORMAT;
+import io.dropwizard.util.DataSize;
 import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
 import java.io.File;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SeekableByteChannel;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
 import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReentrantLock;
 import java.util.stream.Stream;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+/**
+ * Filesystem CacheDriver. Every key has a directory, named by the murmur3 hash of the key, in one
+ * of 256 shard directories named by the first two characters of the hash. Like in CacheDriverRedis,
+ * a key holds one value per validator, values without a validator are stored under {@link
+ * #CONTENT}. Every value is a single file, named by the hash of the validator, that starts with a
+ * small header (format version, expiry timestamp, validator) followed by the serialized value, so a
+ * hit costs a single open and read. Unlike in CacheDriverRedis, the ttl applies to a single value
+ * and not to the whole key.
+ *
+ * <p>Files are written to a temporary file in the shard directory and atomically renamed, so
+ * readers never see partial entries and do not need locks. Renames and deletes of the same key are
+ * serialized by one of {@link #STRIPES} striped locks.
+ *
+ * <p>Expired entries are removed when they are accessed and by a periodic cleanup
+ * (CacheConfiguration.getCleanupInterval()), which also removes the oldest entries if the total
+ * size exceeds CacheConfiguration.getMaxSize(), as well as leftovers of previous layouts.
+ */
 @Singleton
 @AutoBind
+@SuppressWarnings("PMD.TooManyMethods")
 public class CacheDriverFs implements CacheDriver {
 
   private static final Logger LOGGER = LoggerFactory.getLogger(CacheDriverFs.class);
 
-  private static final String HASH = "hash";
+  private static final int MAGIC = 0x58504331;
+  private static final int HEADER_SIZE = Integer.BYTES + Long.BYTES + Integer.BYTES;
+  private static final int HEADER_PEEK = 512;
+  private static final int STRIPES = 64;
+  private static final int SHARD_LENGTH = 2;
+  private static final String TMP_SUFFIX = ".tmp";
   private static final String CONTENT = "content";
-  private static final String TTL = "ttl";
 
   private final Path cache;
   private final ValueEncoding<Object> valueEncoding;
-  private final Lock instanceLock;
+  private final Striped<Lock> locks;
+  private final Optional<Long> maxSize;
+  private final long cleanupIntervalMs;
+  private final ScheduledExecutorService cleanup;
 
   @Inject
   public CacheDriverFs(AppContext appContext, Jackson jackson) {
     this.cache = appContext.getTmpDir().resolve("cache");
     this.valueEncoding = new ValueEncodingJackson<>(jackson, null, false);
-    this.instanceLock = new ReentrantLock();
+    this.locks = Striped.lock(STRIPES);
+
+    CacheConfiguration configuration = appContext.getConfiguration().getCache();
+    this.maxSize = configuration.getMaxSize().map(DataSize::toBytes);
+    this.cleanupIntervalMs = configuration.getCleanupInterval().toMilliseconds();
+    this.cleanup =
+        MoreExecutors.getExitingScheduledExecutorService(
+            (ScheduledThreadPoolExecutor)
+                Executors.newScheduledThreadPool(
+                    1, new ThreadFactoryBuilder().setNameFormat("cache.cleanup-%d").build()));
   }
 
   @Override
@@ -67,32 +118,40 @@ public class CacheDriverFs implements CacheDriver {
       return false;
     }
 
+    if (cleanupIntervalMs > 0) {
+      cleanup.scheduleWithFixedDelay(
+          this::cleanup, cleanupIntervalMs, cleanupIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
     if (LOGGER.isDebugEnabled()) {
       LOGGER.debug("Started {} cache", getType());
     }
     return true;
   }
 
+  /** Stops the cleanup, the cached files are kept. */
+  void close() {
+    cleanup.shutdownNow();
+  }
+
   @Override
   public boolean has(String key) {
-    return exists(key, CONTENT);
+    return has(key, CONTENT);
   }
 
   @Override
   public boolean has(String key, String validator) {
-    return exists(key, validator);
+    return read(key, validator, false).isPresent();
   }
 
   @Override
   public <T> Optional<T> get(String key, Class<T> clazz) {
-    return has(key) ? Optional.ofNullable(read(key, CONTENT, clazz)) : Optional.empty();
+    return get(key, CONTENT, clazz);
   }
 
   @Override
   public <T> Optional<T> get(String key, String validator, Class<T> clazz) {
-    return has(key, validator)
-        ? Optional.ofNullable(read(key, validator, clazz))
-        : Optional.empty();
+    return read(key, validator, true).map(entry -> deserialize(entry, clazz));
   }
 
   @Override
@@ -117,24 +176,44 @@ public class CacheDriverFs implements CacheDriver {
 
   @Override
   public void del(String key) {
-    delete(key);
+    String hash = hash(key);
+    Lock lock = locks.get(hash);
+
+    lock.lock();
+    try {
+      deleteRecursively(keyPath(hash));
+    } finally {
+      lock.unlock();
+    }
   }
 
-  private boolean exists(String key, String validator) {
-    checkExpired(key);
+  private Optional<Entry> read(String key, String validator, boolean withPayload) {
+    String hash = hash(key);
+    Path path = entryPath(hash, validator);
 
-    Path content = keyPath(key).resolve(validator);
+    try {
+      Entry entry = withPayload ? readFully(path) : readHeader(path);
 
-    return Files.exists(content);
-  }
+      if (!entry.matches(validator)) {
+        return Optional.empty();
+      }
+      if (entry.isExpired(Instant.now().toEpochMilli())) {
+        deleteIfExpired(hash, path);
+        return Optional.empty();
+      }
 
-  private <T> T read(String key, String validator, Class<T> clazz) {
-    Path content = keyPath(key).resolve(validator);
+      return Optional.of(entry);
+    } catch (NoSuchFileException e) {
+      return Optional.empty();
+    } catch (IOException e) {
+      LOGGER.error("CACHE READ", e);
+      return Optional.empty();
+    }
+  }
 
+  private <T> T deserialize(Entry entry, Class<T> clazz) {
     try {
-      byte[] serialized = Files.readAllBytes(content);
-
-      return deserialize(serialized, clazz);
+      return deserialize(entry.payload, clazz);
     } catch (IOException e) {
       LOGGER.error("CACHE DESER", e);
       return null;
@@ -142,36 +221,67 @@ public class CacheDriverFs implements CacheDriver {
   }
 
   private void write(String key, String validator, Object value, int ttl) {
-    Path entry = keyPath(key);
+    String hash = hash(key);
+    Path entry = entryPath(hash, validator);
+    Path shard = entry.getParent().getParent();
+    Path tmp = shard.resolve(hash + "." + UUID.randomUUID() + TMP_SUFFIX);
+    long expires = ttl > 0 ? Instant.now().toEpochMilli() + (ttl * 1000L) : 0;
+
     try {
-      byte[] serialized = serialize(value);
+      Files.createDirectories(shard);
+      Files.write(tmp, encode(expires, validator, serialize(value)));
+    } catch (IOException e) {
+      deleteQuietly(tmp);
+      return;
+    }
 
-      instanceLock.lock();
+    Lock lock = locks.get(hash);
+    lock.lock();
+    try {
+      // the key directory is created under the lock, since the cleanup removes empty ones
+      Files.createDirectories(entry.getParent());
+      Files.move(tmp, entry, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    } catch (IOException e) {
+      deleteQuietly(tmp);
+    } finally {
+      lock.unlock();
+    }
+  }
 
-      Files.createDirectories(entry);
-      Files.write(entry.resolve(validator), serialized);
-      if (ttl > 0) {
-        long expires = Instant.now().toEpochMilli() + (ttl * 1000L);
-        Files.writeString(entry.resolve(TTL), Long.toString(expires));
-      } else {
-        Files.deleteIfExists(entry.resolve(TTL));
-      }
+  private void deleteIfExpired(String hash, Path path) {
+    Lock lock = locks.get(hash);
 
+    lock.lock();
+    try {
+      if (readHeader(path).isExpired(Instant.now().toEpochMilli())) {
+        Files.deleteIfExists(path);
+      }
     } catch (IOException e) {
       // ignore
     } finally {
-      instanceLock.unlock();
+      lock.unlock();
     }
   }
 
-  private Path keyPath(String key) {
-    return cache.resolve(Hashing.murmur3_128().hashString(key, StandardCharsets.UTF_8).toString());
+  private String hash(String key) {
+    return Hashing.murmur3_128().hashString(key, StandardCharsets.UTF_8).toString();
+  }
+
+  private Path keyPath(String hash) {
+    return cache.resolve(hash.substring(0, SHARD_LENGTH)).resolve(hash);
+  }
+
+  private Path entryPath(String hash, String validator) {
+    return keyPath(hash).resolve(hash(validator));
   }
 
   private byte[] serialize(Object obj) throws IOException {
     if (obj instanceof String) {
       return ((String) obj).getBytes(StandardCharsets.UTF_8);
     }
+    if (obj instanceof byte[]) {
+      return (byte[]) obj;
+    }
 
     return valueEncoding.serialize(obj, FORMAT.SMILE);
   }
@@ -180,38 +290,249 @@ public class CacheDriverFs implements CacheDriver {
     if (String.class.equals(clazz)) {
       return clazz.cast(new String(value, StandardCharsets.UTF_8));
     }
+    if (byte[].class.equals(clazz)) {
+      return clazz.cast(value);
+    }
 
     return valueEncoding.getMapper(FORMAT.SMILE).readValue(value, clazz);
   }
 
-  private void delete(String key) {
-    instanceLock.lock();
+  private static byte[] encode(long expires, String validator, byte[] payload) {
+    byte[] validatorBytes = validator.getBytes(StandardCharsets.UTF_8);
+    ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE + validatorBytes.length + payload.length);
 
-    try (Stream<Path> entries = Files.walk(keyPath(key))) {
-      entries.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+    buffer.putInt(MAGIC);
+    buffer.putLong(expires);
+    buffer.putInt(validatorBytes.length);
+    buffer.put(validatorBytes);
+    buffer.put(payload);
+
+    return buffer.array();
+  }
+
+  private static Entry readFully(Path path) throws IOException {
+    ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(path));
+    Entry entry = decodeHeader(buffer, path);
+    byte[] payload = new byte[buffer.remaining()];
+    buffer.get(payload);
+
+    return new Entry(entry.expires, entry.validator, payload);
+  }
+
+  private static Entry readHeader(Path path) throws IOException {
+    try (SeekableByteChannel channel = Files.newByteChannel(path)) {
+      ByteBuffer buffer = ByteBuffer.allocate(HEADER_PEEK);
+      while (buffer.hasRemaining() && channel.read(buffer) >= 0) {
+        // fill buffer
+      }
+      buffer.flip();
+
+      if (buffer.remaining() >= HEADER_SIZE) {
+        int validatorLength = buffer.getInt(Integer.BYTES + Long.BYTES);
+
+        if (validatorLength > buffer.remaining() - HEADER_SIZE) {
+          ByteBuffer larger = ByteBuffer.allocate(HEADER_SIZE + validatorLength);
+          larger.put(buffer);
+          while (larger.hasRemaining() && channel.read(larger) >= 0) {
+            // fill buffer
+          }
+          larger.flip();
+          buffer = larger;
+        }
+      }
+
+      return decodeHeader(buffer, path);
+    }
+  }
+
+  private static Entry decodeHeader(ByteBuffer buffer, Path path) throws IOException {
+    if (buffer.remaining() < HEADER_SIZE || buffer.getInt() != MAGIC) {
+      throw new IOException("Invalid cache entry: " + path);
+    }
+
+    long expires = buffer.getLong();
+    int validatorLength = buffer.getInt();
+    String validator = null;
+
+    if (validatorLength >= 0) {
+      if (validatorLength > buffer.remaining()) {
+        throw new IOException("Invalid cache entry: " + path);
+      }
+      byte[] validatorBytes = new byte[validatorLength];
+      buffer.get(validatorBytes);
+      validator = new String(validatorBytes, StandardCharsets.UTF_8);
+    }
+
+    return new Entry(expires, validator, null);
+  }
+
+  @SuppressWarnings("PMD.CognitiveComplexity")
+  private void cleanup() {
+    long now = Instant.now().toEpochMilli();
+    List<Path> legacy = new ArrayList<>();
+    List<Candidate> candidates = new ArrayList<>();
+    long totalSize = 0;
+
+    try (Stream<Path> shards = Files.list(cache)) {
+      for (Path shard : (Iterable<Path>) shards::iterator) {
+        if (!Files.isDirectory(shard) || shard.getFileName().toString().length() != SHARD_LENGTH) {
+          legacy.add(shard);
+          continue;
+        }
+
+        try (Stream<Path> keys = Files.list(shard)) {
+          for (Path key : (Iterable<Path>) keys::iterator) {
+            try {
+              if (key.getFileName().toString().endsWith(TMP_SUFFIX)) {
+                if (Files.getLastModifiedTime(key).toMillis() < now - cleanupIntervalMs) {
+                  deleteQuietly(key);
+                }
+              } else if (Files.isDirectory(key)) {
+                totalSize += cleanupKey(key, now, candidates);
+              } else {
+                legacy.add(key);
+              }
+            } catch (NoSuchFileException e) {
+              // renamed, deleted or evicted concurrently
+            }
+          }
+        }
+      }
     } catch (IOException e) {
-      // ignore
+      LogContext.errorAsWarn(LOGGER, e, "Error during cleanup of {} cache", getType());
+      return;
+    }
+
+    legacy.forEach(CacheDriverFs::deleteRecursively);
+
+    if (maxSize.isPresent() && totalSize > maxSize.get()) {
+      candidates.sort(Comparator.comparingLong(candidate -> candidate.modified));
+
+      for (Candidate candidate : candidates) {
+        if (totalSize <= maxSize.get()) {
+          break;
+        }
+        evict(candidate);
+        totalSize -= candidate.size;
+      }
+    }
+
+    if (LOGGER.isDebugEnabled()) {
+      LOGGER.debug("Cleaned up {} cache, current size {} bytes", getType(), totalSize);
+    }
+  }
+
+  private long cleanupKey(Path key, long now, List<Candidate> candidates) throws IOException {
+    String hash = key.getFileName().toString();
+    long size = 0;
+
+    try (Stream<Path> entries = Files.list(key)) {
+      for (Path path : (Iterable<Path>) entries::iterator) {
+        BasicFileAttributes attributes;
+        try {
+          attributes = Files.readAttributes(path, BasicFileAttributes.class);
+        } catch (NoSuchFileException e) {
+          // deleted or evicted concurrently
+          continue;
+        }
+
+        try {
+          if (readHeader(path).isExpired(now)) {
+            deleteIfExpired(hash, path);
+            continue;
+          }
+        } catch (IOException e) {
+          deleteQuietly(path);
+          continue;
+        }
+
+        size += attributes.size();
+        candidates.add(
+            new Candidate(hash, path, attributes.size(), attributes.lastModifiedTime().toMillis()));
+      }
+    }
+
+    deleteIfEmpty(hash, key);
+
+    return size;
+  }
+
+  private void deleteIfEmpty(String hash, Path key) {
+    Lock lock = locks.get(hash);
+
+    lock.lock();
+    try {
+      Files.delete(key);
+    } catch (IOException e) {
+      // not empty
     } finally {
-      instanceLock.unlock();
+      lock.unlock();
     }
   }
 
-  private void checkExpired(String key) {
-    Path entry = keyPath(key);
-    boolean expired = false;
+  private void evict(Candidate candidate) {
+    Lock lock = locks.get(candidate.hash);
 
+    lock.lock();
     try {
-      expired =
-          Files.exists(entry)
-              && Files.exists(entry.resolve(TTL))
-              && Long.parseLong(Files.readString(entry.resolve(TTL)))
-                  < Instant.now().toEpochMilli();
+      // do not evict entries that were rewritten since the cleanup started
+      if (Files.getLastModifiedTime(candidate.path).toMillis() == candidate.modified) {
+        Files.deleteIfExists(candidate.path);
+      }
     } catch (IOException e) {
       // ignore
+    } finally {
+      lock.unlock();
     }
+  }
+
+  private static void deleteQuietly(Path path) {
+    try {
+      Files.deleteIfExists(path);
+    } catch (IOException e) {
+      // ignore
+    }
+  }
+
+  private static void deleteRecursively(Path path) {
+    try (Stream<Path> entries = Files.walk(path)) {
+      entries.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+    } catch (IOException e) {
+      // ignore
+    }
+  }
+
+  private static final class Entry {
+    private final long expires;
+    private final String validator;
+    private final byte[] payload;
+
+    private Entry(long expires, String validator, byte[] payload) {
+      this.expires = expires;
+      this.validator = validator;
+      this.payload = payload;
+    }
+
+    private boolean isExpired(long now) {
+      return expires > 0 && expires < now;
+    }
+
+    private boolean matches(String validator) {
+      return Objects.equals(this.validator, validator);
+    }
+  }
 
-    if (expired) {
-      delete(key);
+  private static final class Candidate {
+    private final String hash;
+    private final Path path;
+    private final long size;
+    private final long modified;
+
+    private Candidate(String hash, Path path, long size, long modified) {
+      this.hash = hash;
+      this.path = path;
+      this.size = size;
+      this.modified = modified;
     }
   }
 }
@@ -8,37 +8,65 @@
 package de.ii.xtraplatform.cache.app;
 
 import com.github.azahnen.dagger.annotations.AutoBind;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.Scheduler;
+import de.ii.xtraplatform.base.domain.AppContext;
+import de.ii.xtraplatform.base.domain.CacheConfiguration;
+import de.ii.xtraplatform.base.domain.ImmutableCacheConfiguration;
 import de.ii.xtraplatform.cache.domain.CacheDriver;
+import de.ii.xtraplatform.cache.domain.CacheStats;
+import de.ii.xtraplatform.cache.domain.ImmutableCacheStats;
 import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
-import java.time.Instant;
-import java.util.HashMap;
-import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.TimeUnit;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+/**
+ * Bounded in-memory CacheDriver backed by Caffeine. Reads are lock-free, eviction uses W-TinyLFU
+ * once either CacheConfiguration.getMaxEntries() or, if set, CacheConfiguration.getMaxSize() (based
+ * on an estimate of the heap size of key and value) is exceeded. Entries with a TTL are removed
+ * proactively by the Caffeine system scheduler, not only when they are accessed.
+ */
 @Singleton
 @AutoBind
 public class CacheDriverMem implements CacheDriver {
 
   private static final Logger LOGGER = LoggerFactory.getLogger(CacheDriverMem.class);
 
-  private static final String HASH = "hash";
-  private static final String CONTENT = "content";
-  private static final String TTL = "ttl";
+  private static final int ENTRY_OVERHEAD = 64;
+  private static final int OBJECT_ESTIMATE = 256;
 
-  private final Map<String, Map<String, Object>> cache;
-  private final Lock instanceLock;
+  private final com.github.benmanes.caffeine.cache.Cache<String, Entry> cache;
 
   @Inject
+  public CacheDriverMem(AppContext appContext) {
+    this(appContext.getConfiguration().getCache());
+  }
+
   public CacheDriverMem() {
-    this.cache = new ConcurrentHashMap<>();
-    this.instanceLock = new ReentrantLock();
+    this(new ImmutableCacheConfiguration.Builder().build());
+  }
+
+  CacheDriverMem(CacheConfiguration configuration) {
+    Caffeine<String, Entry> builder =
+        Caffeine.newBuilder()
+            .scheduler(Scheduler.systemScheduler())
+            .recordStats()
+            .expireAfter(new EntryExpiry());
+
+    if (configuration.getMaxSize().isPresent()) {
+      this.cache =
+          builder
+              .maximumWeight(configuration.getMaxSize().get().toBytes())
+              .weigher(CacheDriverMem::weigh)
+              .build();
+    } else {
+      this.cache = builder.maximumSize(configuration.getMaxEntries()).build();
+    }
   }
 
   @Override
@@ -56,115 +84,121 @@ public class CacheDriverMem implements CacheDriver {
 
   @Override
   public boolean has(String key) {
-    checkExpired(key);
-
-    return cache.containsKey(key);
+    return Objects.nonNull(cache.getIfPresent(key));
   }
 
   @Override
   public boolean has(String key, String validator) {
-    return has(key) && Objects.equals(cache.get(key).get(HASH), validator);
+    Entry entry = cache.getIfPresent(key);
+
+    return Objects.nonNull(entry) && Objects.equals(entry.validator, validator);
   }
 
   @Override
   public <T> Optional<T> get(String key, Class<T> clazz) {
-    return has(key)
-        ? Optional.ofNullable(cache.get(key).get(CONTENT)).map(clazz::cast)
+    Entry entry = cache.getIfPresent(key);
+
+    return Objects.nonNull(entry)
+        ? Optional.ofNullable(entry.content).map(clazz::cast)
         : Optional.empty();
   }
 
   @Override
   public <T> Optional<T> get(String key, String validator, Class<T> clazz) {
-    return has(key, validator)
-        ? Optional.ofNullable(cache.get(key).get(CONTENT)).map(clazz::cast)
+    Entry entry = cache.getIfPresent(key);
+
+    return Objects.nonNull(entry) && Objects.equals(entry.validator, validator)
+        ? Optional.ofNullable(entry.content).map(clazz::cast)
         : Optional.empty();
   }
 
   @Override
   public void put(String key, Object value) {
-    set(key, entry(value));
+    cache.put(key, new Entry(value, null, 0));
   }
 
   @Override
   public void put(String key, Object value, int ttl) {
-    set(key, entry(value, ttl));
+    cache.put(key, new Entry(value, null, ttl));
   }
 
   @Override
   public void put(String key, String validator, Object value) {
-    set(key, entry(validator, value));
+    cache.put(key, new Entry(value, validator, 0));
   }
 
   @Override
   public void put(String key, String validator, Object value, int ttl) {
-    set(key, entry(validator, value, ttl));
+    cache.put(key, new Entry(value, validator, ttl));
   }
 
   @Override
   public void del(String key) {
-    delete(key);
+    cache.invalidate(key);
   }
 
-  private void set(String key, Map<String, Object> entry) {
-    try {
-      instanceLock.lock();
+  @Override
+  public Optional<CacheStats> getStats() {
+    com.github.benmanes.caffeine.cache.stats.CacheStats stats = cache.stats();
 
-      cache.put(key, entry);
-    } finally {
-      instanceLock.unlock();
-    }
+    return Optional.of(
+        new ImmutableCacheStats.Builder()
+            .hits(stats.hitCount())
+            .misses(stats.missCount())
+            .evictions(stats.evictionCount())
+            .size(cache.estimatedSize())
+            .build());
   }
 
-  private void delete(String key) {
-    try {
-      instanceLock.lock();
-
-      cache.remove(key);
-    } finally {
-      instanceLock.unlock();
-    }
+  void cleanUp() {
+    cache.cleanUp();
   }
 
-  private void checkExpired(String key) {
-    boolean expired =
-        cache.containsKey(key)
-            && cache.get(key).containsKey(TTL)
-            && ((Long) cache.get(key).get(TTL)) < Instant.now().toEpochMilli();
+  private static int weigh(String key, Entry entry) {
+    long weight = ENTRY_OVERHEAD + 2L * key.length();
 
-    if (expired) {
-      delete(key);
+    if (Objects.nonNull(entry.validator)) {
+      weight += 2L * entry.validator.length();
+    }
+    if (entry.content instanceof String) {
+      weight += 2L * ((String) entry.content).length();
+    } else if (entry.content instanceof byte[]) {
+      weight += ((byte[]) entry.content).length;
+    } else if (Objects.nonNull(entry.content)) {
+      weight += OBJECT_ESTIMATE;
     }
-  }
-
-  private static Map<String, Object> entry(Object value) {
-    Map<String, Object> entry = new HashMap<>();
-    entry.put(CONTENT, value);
 
-    return entry;
+    return (int) Math.min(weight, Integer.MAX_VALUE);
   }
 
-  private static Map<String, Object> entry(Object value, int ttl) {
-    Map<String, Object> entry = entry(value);
+  private static final class Entry {
+    private final Object content;
+    private final String validator;
+    private final int ttl;
 
-    long expires = Instant.now().toEpochMilli() + (ttl * 1000L);
-    entry.put(TTL, expires);
-
-    return entry;
+    private Entry(Object content, String validator, int ttl) {
+      this.content = content;
+      this.validator = validator;
+      this.ttl = ttl;
+    }
   }
 
-  private static Map<String, Object> entry(String hash, Object value) {
-    Map<String, Object> entry = entry(value);
-
-    entry.put(HASH, hash);
+  private static final class EntryExpiry implements Expiry<String, Entry> {
 
-    return entry;
-  }
-
-  private static Map<String, Object> entry(String hash, Object value, int ttl) {
-    Map<String, Object> entry = entry(value, ttl);
+    @Override
+    public long expireAfterCreate(String key, Entry entry, long currentTime) {
+      return entry.ttl > 0 ? TimeUnit.SECONDS.toNanos(entry.ttl) : Long.MAX_VALUE;
+    }
 
-    entry.put(HASH, hash);
+    @Override
+    public long expireAfterUpdate(
+        String key, Entry entry, long currentTime, long currentDuration) {
+      return expireAfterCreate(key, entry, currentTime);
+    }
 
-    return entry;
+    @Override
+    public long expireAfterRead(String key, Entry entry, long currentTime, long currentDuration) {
+      return currentDuration;
+    }
   }
 }
@@ -0,0 +1,582 @@
+/*
+ * Copyright 2026 interactive instruments GmbH
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package de.ii.xtraplatform.cache.app;
+
+import com.github.azahnen.dagger.annotations.AutoBind;
+import com.google.common.hash.Hashing;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import de.ii.xtraplatform.base.domain.AppContext;
+import de.ii.xtraplatform.base.domain.CacheConfiguration;
+import de.ii.xtraplatform.base.domain.Jackson;
+import de.ii.xtraplatform.base.domain.LogContext;
+import de.ii.xtraplatform.cache.domain.CacheDriver;
+import de.ii.xtraplatform.values.api.ValueEncodingJackson;
+import de.ii.xtraplatform.values.domain.ValueEncoding;
+import de.ii.xtraplatform.values.domain.ValueEncoding.FORMAT;
+import io.dropwizard.util.DataSize;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * CacheDriver for very large numbers of entries. Entries are appended to memory-mapped segment
+ * files of {@link #SEGMENT_SIZE} bytes in the temporary directory, the location of the current
+ * record of every key is held in an off-heap SegmentIndex. Neither the entries nor the index take
+ * up heap space per entry.
+ *
+ * <p>A record consists of a header (length, expiry, value type, key and validator length), the
+ * key, the validator and the payload. Strings are stored as UTF-8, byte arrays and ByteBuffers as
+ * is, everything else via Jackson SMILE. Reading a raw payload as {@link ByteBuffer} returns a
+ * read-only view of the mapped segment without copying.
+ *
+ * <p>Overwritten, deleted and expired records stay in their segment until it is compacted. The
+ * periodic cleanup (CacheConfiguration.getCleanupInterval()) copies the live records of segments
+ * that are less than half live to the active segment and deletes the old file. If
+ * CacheConfiguration.getMaxSize() is set, the oldest segments are dropped as a whole when it is
+ * exceeded.
+ *
+ * <p>The index only lives in memory, so segments are discarded when the driver is started.
+ *
+ * <p>Dropped and compacted segments are not unmapped explicitly, since ByteBuffer views returned
+ * by get() may still point into them. Their files are deleted right away and the mapping is
+ * released by the garbage collector once the last view is gone.
+ */
+@Singleton
+@AutoBind
+@SuppressWarnings("PMD.TooManyMethods")
+public class CacheDriverSegment implements CacheDriver {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(CacheDriverSegment.class);
+
+  static final int SEGMENT_SIZE = 64 * 1024 * 1024;
+
+  private static final int HEADER_SIZE =
+      Integer.BYTES + Long.BYTES + Byte.BYTES + Integer.BYTES + Integer.BYTES;
+  private static final byte TYPE_STRING = 0;
+  private static final byte TYPE_SMILE = 1;
+  private static final byte TYPE_RAW = 2;
+  private static final double COMPACTION_THRESHOLD = 0.5;
+  private static final String SEGMENT_SUFFIX = ".segment";
+
+  private final Path directory;
+  private final int segmentSize;
+  private final ValueEncoding<Object> valueEncoding;
+  private final Optional<Long> maxSize;
+  private final long cleanupIntervalMs;
+  private final ScheduledExecutorService cleanup;
+  private final TreeMap<Integer, Segment> segments;
+  private final SegmentIndex index;
+  private final Lock readLock;
+  private final Lock writeLock;
+  private Segment active;
+
+  @Inject
+  public CacheDriverSegment(AppContext appContext, Jackson jackson) {
+    this(appContext, jackson, SEGMENT_SIZE);
+  }
+
+  CacheDriverSegment(AppContext appContext, Jackson jackson, int segmentSize) {
+    this.directory = appContext.getTmpDir().resolve("cache-segments");
+    this.segmentSize = segmentSize;
+    this.valueEncoding = new ValueEncodingJackson<>(jackson, null, false);
+
+    CacheConfiguration configuration = appContext.getConfiguration().getCache();
+    this.maxSize = configuration.getMaxSize().map(DataSize::toBytes);
+    this.cleanupIntervalMs = configuration.getCleanupInterval().toMilliseconds();
+    this.cleanup =
+        MoreExecutors.getExitingScheduledExecutorService(
+            (ScheduledThreadPoolExecutor)
+                Executors.newScheduledThreadPool(
+                    1, new ThreadFactoryBuilder().setNameFormat("cache.compaction-%d").build()));
+    this.segments = new TreeMap<>();
+    this.index = new SegmentIndex(1024);
+
+    ReadWriteLock lock = new ReentrantReadWriteLock();
+    this.readLock = lock.readLock();
+    this.writeLock = lock.writeLock();
+  }
+
+  @Override
+  public String getType() {
+    return "SEGMENT";
+  }
+
+  @Override
+  public boolean init() {
+    writeLock.lock();
+    try {
+      deleteRecursively(directory);
+      Files.createDirectories(directory);
+      this.active = createSegment(0);
+    } catch (IOException e) {
+      LogContext.errorAsWarn(LOGGER, e, "Could not start {} cache", getType());
+      return false;
+    } finally {
+      writeLock.unlock();
+    }
+
+    if (cleanupIntervalMs > 0) {
+      cleanup.scheduleWithFixedDelay(
+          this::cleanup, cleanupIntervalMs, cleanupIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    if (LOGGER.isDebugEnabled()) {
+      LOGGER.debug("Started {} cache", getType());
+    }
+    return true;
+  }
+
+  /** Stops the compaction, the mappings are released with the driver, see class comment. */
+  void close() {
+    cleanup.shutdownNow();
+  }
+
+  @Override
+  public boolean has(String key) {
+    return read(key, null, false, false).isPresent();
+  }
+
+  @Override
+  public boolean has(String key, String validator) {
+    return read(key, validator, true, false).isPresent();
+  }
+
+  @Override
+  public <T> Optional<T> get(String key, Class<T> clazz) {
+    return read(key, null, false, true).map(record -> decode(record, clazz));
+  }
+
+  @Override
+  public <T> Optional<T> get(String key, String validator, Class<T> clazz) {
+    return read(key, validator, true, true).map(record -> decode(record, clazz));
+  }
+
+  @Override
+  public void put(String key, Object value) {
+    write(key, null, value, 0);
+  }
+
+  @Override
+  public void put(String key, Object value, int ttl) {
+    write(key, null, value, ttl);
+  }
+
+  @Override
+  public void put(String key, String validator, Object value) {
+    write(key, validator, value, 0);
+  }
+
+  @Override
+  public void put(String key, String validator, Object value, int ttl) {
+    write(key, validator, value, ttl);
+  }
+
+  @Override
+  public void del(String key) {
+    long hash = hash(key);
+
+    writeLock.lock();
+    try {
+      release(index.remove(hash));
+    } finally {
+      writeLock.unlock();
+    }
+  }
+
+  private Optional<Record> read(
+      String key, String validator, boolean checkValidator, boolean withPayload) {
+    long hash = hash(key);
+    byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+    long now = Instant.now().toEpochMilli();
+
+    readLock.lock();
+    try {
+      long location = index.get(hash);
+      if (location == SegmentIndex.NONE) {
+        return Optional.empty();
+      }
+
+      ByteBuffer buffer = segments.get(SegmentIndex.segment(location)).buffer;
+      int offset = SegmentIndex.offset(location);
+      long expires = buffer.getLong(offset + Integer.BYTES);
+
+      if ((expires > 0 && expires < now) || !keyEquals(buffer, offset, keyBytes)) {
+        return Optional.empty();
+      }
+      if (checkValidator && !Objects.equals(validator(buffer, offset), validator)) {
+        return Optional.empty();
+      }
+
+      return Optional.of(withPayload ? payload(buffer, offset) : Record.EMPTY);
+    } finally {
+      readLock.unlock();
+    }
+  }
+
+  private <T> T decode(Record record, Class<T> clazz) {
+    try {
+      if (record.type == TYPE_RAW) {
+        if (ByteBuffer.class.equals(clazz)) {
+          return clazz.cast(record.payload);
+        }
+        if (byte[].class.equals(clazz)) {
+          byte[] bytes = new byte[record.payload.remaining()];
+          record.payload.duplicate().get(bytes);
+          return clazz.cast(bytes);
+        }
+      }
+
+      byte[] bytes = new byte[record.payload.remaining()];
+      record.payload.duplicate().get(bytes);
+
+      if (String.class.equals(clazz)) {
+        return clazz.cast(new String(bytes, StandardCharsets.UTF_8));
+      }
+
+      return valueEncoding.getMapper(FORMAT.SMILE).readValue(bytes, clazz);
+    } catch (IOException e) {
+      LOGGER.error("CACHE DESER", e);
+      return null;
+    }
+  }
+
+  private void write(String key, String validator, Object value, int ttl) {
+    long hash = hash(key);
+    byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+    byte[] validatorBytes =
+        Objects.nonNull(validator) ? validator.getBytes(StandardCharsets.UTF_8) : new byte[0];
+    long expires = ttl > 0 ? Instant.now().toEpochMilli() + (ttl * 1000L) : 0;
+    byte type;
+    byte[] payload;
+
+    try {
+      if (value instanceof String) {
+        type = TYPE_STRING;
+        payload = ((String) value).getBytes(StandardCharsets.UTF_8);
+      } else if (value instanceof byte[]) {
+        type = TYPE_RAW;
+        payload = (byte[]) value;
+      } else if (value instanceof ByteBuffer) {
+        type = TYPE_RAW;
+        payload = new byte[((ByteBuffer) value).remaining()];
+        ((ByteBuffer) value).duplicate().get(payload);
+      } else {
+        type = TYPE_SMILE;
+        payload = valueEncoding.serialize(value, FORMAT.SMILE);
+      }
+    } catch (IOException e) {
+      return;
+    }
+
+    long length = (long) HEADER_SIZE + keyBytes.length + validatorBytes.length + payload.length;
+
+    writeLock.lock();
+    try {
+      if (length > segmentSize) {
+        if (LOGGER.isDebugEnabled()) {
+          LOGGER.debug("Entry for {} is too large for the {} cache", key, getType());
+        }
+        release(index.remove(hash));
+        return;
+      }
+
+      if (active.position + length > segmentSize) {
+        this.active = createSegment(active.id + 1);
+        evictIfNeeded();
+      }
+      while (index.isFull() && segments.size() > 1) {
+        dropSegment(segments.firstEntry().getValue());
+      }
+
+      int offset = active.position;
+      ByteBuffer buffer = active.buffer;
+
+      buffer.putInt(offset, (int) length);
+      buffer.putLong(offset + Integer.BYTES, expires);
+      buffer.put(offset + Integer.BYTES + Long.BYTES, type);
+      buffer.putInt(offset + Integer.BYTES + Long.BYTES + Byte.BYTES, keyBytes.length);
+      buffer.putInt(
+          offset + Integer.BYTES + Long.BYTES + Byte.BYTES + Integer.BYTES,
+          Objects.nonNull(validator) ? validatorBytes.length : -1);
+      buffer.put(offset + HEADER_SIZE, keyBytes);
+      buffer.put(offset + HEADER_SIZE + keyBytes.length, validatorBytes);
+      buffer.put(offset + HEADER_SIZE + keyBytes.length + validatorBytes.length, payload);
+
+      active.position += (int) length;
+      active.live += length;
+
+      release(index.put(hash, SegmentIndex.location(active.id, offset)));
+    } catch (IOException e) {
+      LogContext.errorAsWarn(LOGGER, e, "Could not write to {} cache", getType());
+    } finally {
+      writeLock.unlock();
+    }
+  }
+
+  // guarded by writeLock
+  private void release(long location) {
+    if (location == SegmentIndex.NONE) {
+      return;
+    }
+
+    Segment segment = segments.get(SegmentIndex.segment(location));
+    if (Objects.nonNull(segment)) {
+      segment.live -= segment.buffer.getInt(SegmentIndex.offset(location));
+    }
+  }
+
+  // guarded by writeLock
+  private Segment createSegment(int id) throws IOException {
+    Path path = directory.resolve(String.format("%010d%s", id, SEGMENT_SUFFIX));
+
+    try (FileChannel channel =
+        FileChannel.open(
+            path,
+            StandardOpenOption.CREATE_NEW,
+            StandardOpenOption.READ,
+            StandardOpenOption.WRITE)) {
+      MappedByteBuffer buffer = channel.map(MapMode.READ_WRITE, 0, segmentSize);
+      Segment segment = new Segment(id, path, buffer);
+      segments.put(id, segment);
+
+      return segment;
+    }
+  }
+
+  // guarded by writeLock
+  private void evictIfNeeded() {
+    if (maxSize.isEmpty()) {
+      return;
+    }
+
+    while (segments.size() > 1 && (long) segments.size() * segmentSize > maxSize.get()) {
+      dropSegment(segments.firstEntry().getValue());
+    }
+  }
+
+  // guarded by writeLock
+  private void dropSegment(Segment segment) {
+    forEachRecord(
+        segment, (offset, hash) -> index.remove(hash, SegmentIndex.location(segment.id, offset)));
+
+    discard(segment);
+
+    if (LOGGER.isDebugEnabled()) {
+      LOGGER.debug("Dropped segment {} of {} cache", segment.id, getType());
+    }
+  }
+
+  private void cleanup() {
+    List<Segment> candidates;
+
+    readLock.lock();
+    try {
+      candidates =
+          segments.values().stream()
+              .filter(segment -> segment != active)
+              .filter(segment -> segment.live < segment.position * COMPACTION_THRESHOLD)
+              .collect(Collectors.toList());
+    } finally {
+      readLock.unlock();
+    }
+
+    for (Segment segment : candidates) {
+      writeLock.lock();
+      try {
+        if (segments.containsKey(segment.id)) {
+          compact(segment);
+        }
+      } catch (IOException e) {
+        LogContext.errorAsWarn(LOGGER, e, "Could not compact {} cache", getType());
+      } finally {
+        writeLock.unlock();
+      }
+    }
+  }
+
+  // guarded by writeLock
+  private void compact(Segment segment) throws IOException {
+    long now = Instant.now().toEpochMilli();
+    ByteBuffer source = segment.buffer;
+    int offset = 0;
+
+    while (offset < segment.position) {
+      int length = source.getInt(offset);
+      long hash = recordHash(source, offset);
+      long location = SegmentIndex.location(segment.id, offset);
+
+      if (index.get(hash) == location) {
+        long expires = source.getLong(offset + Integer.BYTES);
+
+        if (expires > 0 && expires < now) {
+          index.remove(hash, location);
+        } else {
+          if (active.position + length > segmentSize) {
+            this.active = createSegment(active.id + 1);
+          }
+          int target = active.position;
+          active.buffer.put(target, source, offset, length);
+          active.position += length;
+          active.live += length;
+          index.replace(hash, location, SegmentIndex.location(active.id, target));
+        }
+      }
+
+      offset += length;
+    }
+
+    discard(segment);
+
+    if (LOGGER.isDebugEnabled()) {
+      LOGGER.debug("Compacted segment {} of {} cache", segment.id, getType());
+    }
+  }
+
+  // guarded by writeLock, the mapping is left to the garbage collector, see class comment
+  private void discard(Segment segment) {
+    segments.remove(segment.id);
+    deleteQuietly(segment.path);
+  }
+
+  private void forEachRecord(Segment segment, RecordConsumer consumer) {
+    ByteBuffer buffer = segment.buffer;
+    int offset = 0;
+
+    while (offset < segment.position) {
+      consumer.accept(offset, recordHash(buffer, offset));
+      offset += buffer.getInt(offset);
+    }
+  }
+
+  private static long recordHash(ByteBuffer buffer, int offset) {
+    int keyLength = buffer.getInt(offset + Integer.BYTES + Long.BYTES + Byte.BYTES);
+    byte[] keyBytes = new byte[keyLength];
+    buffer.get(offset + HEADER_SIZE, keyBytes);
+
+    return Hashing.murmur3_128().hashBytes(keyBytes).asLong();
+  }
+
+  private static boolean keyEquals(ByteBuffer buffer, int offset, byte[] keyBytes) {
+    int keyLength = buffer.getInt(offset + Integer.BYTES + Long.BYTES + Byte.BYTES);
+    if (keyLength != keyBytes.length) {
+      return false;
+    }
+
+    byte[] stored = new byte[keyLength];
+    buffer.get(offset + HEADER_SIZE, stored);
+
+    return Arrays.equals(stored, keyBytes);
+  }
+
+  private static String validator(ByteBuffer buffer, int offset) {
+    int keyLength = buffer.getInt(offset + Integer.BYTES + Long.BYTES + Byte.BYTES);
+    int validatorLength =
+        buffer.getInt(offset + Integer.BYTES + Long.BYTES + Byte.BYTES + Integer.BYTES);
+    if (validatorLength < 0) {
+      return null;
+    }
+
+    byte[] validatorBytes = new byte[validatorLength];
+    buffer.get(offset + HEADER_SIZE + keyLength, validatorBytes);
+
+    return new String(validatorBytes, StandardCharsets.UTF_8);
+  }
+
+  private static Record payload(ByteBuffer buffer, int offset) {
+    int length = buffer.getInt(offset);
+    byte type = buffer.get(offset + Integer.BYTES + Long.BYTES);
+    int keyLength = buffer.getInt(offset + Integer.BYTES + Long.BYTES + Byte.BYTES);
+    int validatorOffset = offset + Integer.BYTES + Long.BYTES + Byte.BYTES + Integer.BYTES;
+    int validatorLength = Math.max(0, buffer.getInt(validatorOffset));
+    int start = offset + HEADER_SIZE + keyLength + validatorLength;
+
+    return new Record(type, buffer.slice(start, offset + length - start).asReadOnlyBuffer());
+  }
+
+  private static long hash(String key) {
+    return Hashing.murmur3_128().hashString(key, StandardCharsets.UTF_8).asLong();
+  }
+
+  private static void deleteQuietly(Path path) {
+    try {
+      Files.deleteIfExists(path);
+    } catch (IOException e) {
+      // ignore
+    }
+  }
+
+  private static void deleteRecursively(Path path) {
+    if (!Files.exists(path)) {
+      return;
+    }
+    try (Stream<Path> entries = Files.walk(path)) {
+      entries.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+    } catch (IOException e) {
+      // ignore
+    }
+  }
+
+  @FunctionalInterface
+  private interface RecordConsumer {
+    void accept(int offset, long hash);
+  }
+
+  private static final class Segment {
+    private final int id;
+    private final Path path;
+    private final ByteBuffer buffer;
+    private int position;
+    private long live;
+
+    private Segment(int id, Path path, ByteBuffer buffer) {
+      this.id = id;
+      this.path = path;
+      this.buffer = buffer;
+    }
+  }
+
+  private static final class Record {
+    private static final Record EMPTY = new Record(TYPE_RAW, ByteBuffer.allocate(0));
+
+    private final byte type;
+    private final ByteBuffer payload;
+
+    private Record(byte type, ByteBuffer payload) {
+      this.type = type;
+      this.payload = payload;
+    }
+  }
+}
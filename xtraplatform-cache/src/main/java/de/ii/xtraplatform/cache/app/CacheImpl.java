@@ -7,18 +7,30 @@
  */
 package de.ii.xtraplatform.cache.app;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.github.azahnen.dagger.annotations.AutoBind;
+import com.google.common.collect.ObjectArrays;
 import dagger.Lazy;
 import de.ii.xtraplatform.base.domain.AppContext;
 import de.ii.xtraplatform.base.domain.AppLifeCycle;
+import de.ii.xtraplatform.base.domain.Jackson;
 import de.ii.xtraplatform.cache.domain.Cache;
+import de.ii.xtraplatform.cache.domain.CacheCodec;
+import de.ii.xtraplatform.cache.domain.CacheCodecs;
 import de.ii.xtraplatform.cache.domain.CacheDriver;
+import de.ii.xtraplatform.values.api.ValueEncodingJackson;
+import de.ii.xtraplatform.values.domain.ValueEncoding.FORMAT;
 import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -30,13 +42,28 @@ public class CacheImpl implements Cache, AppLifeCycle {
 
   private final Lazy<Set<CacheDriver>> drivers;
   private final String type;
+  private final ObjectMapper smileMapper;
+  private final Map<Class<?>, CacheCodec<?>> codecs;
+  private final CacheCompute compute;
 
   private CacheDriver driver;
 
   @Inject
-  public CacheImpl(Lazy<Set<CacheDriver>> drivers, AppContext appContext) {
+  public CacheImpl(Lazy<Set<CacheDriver>> drivers, AppContext appContext, Jackson jackson) {
     this.drivers = drivers;
-    this.type = appContext.getConfiguration().getRedis().getNodes().isEmpty() ? "FS" : "REDIS";
+    this.type =
+        appContext
+            .getConfiguration()
+            .getCache()
+            .getType()
+            .orElse(appContext.getConfiguration().getRedis().getNodes().isEmpty() ? "FS" : "REDIS");
+    this.smileMapper = new ValueEncodingJackson<>(jackson, null, false).getMapper(FORMAT.SMILE);
+    this.codecs = new ConcurrentHashMap<>();
+    codecs.put(byte[].class, CacheCodecs.identity());
+    codecs.put(String.class, CacheCodecs.utf8());
+    this.compute =
+        new CacheCompute(
+            appContext.getConfiguration().getCache().getLeaseTimeout().toMilliseconds());
   }
 
   @Override
@@ -100,6 +127,47 @@ public class CacheImpl implements Cache, AppLifeCycle {
     driver.del(key(key));
   }
 
+  @Override
+  public <T> Optional<T> getOrCompute(
+      Class<T> clazz, int ttl, int staleTtl, Supplier<T> loader, String... key) {
+    return compute.getOrCompute(driver, key(key), clazz, ttl, staleTtl, loader);
+  }
+
+  @Override
+  public <T> Map<String, T> getAll(Class<T> clazz, Collection<String> keys, String... prefix) {
+    Map<String, String> driverKeys = new LinkedHashMap<>();
+    for (String key : keys) {
+      driverKeys.put(key(ObjectArrays.concat(prefix, key)), key);
+    }
+
+    Map<String, T> values = new LinkedHashMap<>();
+    driver
+        .getAll(driverKeys.keySet(), clazz)
+        .forEach((driverKey, value) -> values.put(driverKeys.get(driverKey), value));
+
+    return values;
+  }
+
+  @Override
+  public void putAll(Map<String, ?> values, int ttl, String... prefix) {
+    Map<String, Object> driverValues = new LinkedHashMap<>();
+    values.forEach((key, value) -> driverValues.put(key(ObjectArrays.concat(prefix, key)), value));
+
+    driver.putAll(driverValues, ttl);
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public <T> CacheCodec<T> getCodec(Class<T> clazz) {
+    return (CacheCodec<T>)
+        codecs.computeIfAbsent(clazz, c -> CacheCodecs.jackson(smileMapper, clazz));
+  }
+
+  @Override
+  public <T> void registerCodec(Class<T> clazz, CacheCodec<T> codec) {
+    codecs.put(clazz, codec);
+  }
+
   private static String key(String... key) {
     return String.join(":", key);
   }
@@ -0,0 +1,189 @@
+/*
+ * Copyright 2026 interactive instruments GmbH
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package de.ii.xtraplatform.cache.app;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Off-heap open addressing hash table that maps 64-bit key hashes to packed record locations
+ * (segment id and offset). Every slot takes 16 bytes in a direct buffer, so the index does not
+ * create any objects per entry. Not thread-safe, access is guarded by CacheDriverSegment.
+ */
+class SegmentIndex {
+
+  static final long NONE = -1;
+
+  private static final int SLOT_SIZE = Long.BYTES + Long.BYTES;
+  private static final long EMPTY = 0;
+  private static final long DELETED = 1;
+  private static final double MAX_LOAD = 0.7;
+  private static final int MAX_CAPACITY = 1 << 26;
+
+  private ByteBuffer table;
+  private int capacity;
+  private int size;
+  private int used;
+
+  SegmentIndex(int initialCapacity) {
+    this.capacity = Integer.highestOneBit(Math.max(16, initialCapacity - 1) << 1);
+    this.table = ByteBuffer.allocateDirect(capacity * SLOT_SIZE);
+  }
+
+  static long location(int segment, int offset) {
+    return ((long) segment << 32) | (offset & 0xffffffffL);
+  }
+
+  static int segment(long location) {
+    return (int) (location >>> 32);
+  }
+
+  static int offset(long location) {
+    return (int) location;
+  }
+
+  int size() {
+    return size;
+  }
+
+  boolean isFull() {
+    return capacity == MAX_CAPACITY && size + 1 > capacity * MAX_LOAD;
+  }
+
+  long get(long hash) {
+    int slot = find(normalize(hash));
+
+    return slot >= 0 ? table.getLong(slot * SLOT_SIZE + Long.BYTES) : NONE;
+  }
+
+  long put(long hash, long location) {
+    long key = normalize(hash);
+    int slot = find(key);
+
+    if (slot >= 0) {
+      long previous = table.getLong(slot * SLOT_SIZE + Long.BYTES);
+      table.putLong(slot * SLOT_SIZE + Long.BYTES, location);
+      return previous;
+    }
+
+    if (used + 1 > capacity * MAX_LOAD) {
+      resize(
+          size + 1 > capacity * MAX_LOAD / 2 && capacity < MAX_CAPACITY ? capacity * 2 : capacity);
+    }
+
+    insert(key, location);
+    size++;
+
+    return NONE;
+  }
+
+  long remove(long hash) {
+    int slot = find(normalize(hash));
+
+    if (slot < 0) {
+      return NONE;
+    }
+
+    long previous = table.getLong(slot * SLOT_SIZE + Long.BYTES);
+    table.putLong(slot * SLOT_SIZE, DELETED);
+    size--;
+
+    return previous;
+  }
+
+  boolean remove(long hash, long location) {
+    int slot = find(normalize(hash));
+
+    if (slot < 0 || table.getLong(slot * SLOT_SIZE + Long.BYTES) != location) {
+      return false;
+    }
+
+    table.putLong(slot * SLOT_SIZE, DELETED);
+    size--;
+
+    return true;
+  }
+
+  boolean replace(long hash, long expected, long location) {
+    int slot = find(normalize(hash));
+
+    if (slot < 0 || table.getLong(slot * SLOT_SIZE + Long.BYTES) != expected) {
+      return false;
+    }
+
+    table.putLong(slot * SLOT_SIZE + Long.BYTES, location);
+
+    return true;
+  }
+
+  void clear() {
+    this.table = ByteBuffer.allocateDirect(capacity * SLOT_SIZE);
+    this.size = 0;
+    this.used = 0;
+  }
+
+  private int find(long key) {
+    int mask = capacity - 1;
+    int slot = spread(key) & mask;
+
+    for (int i = 0; i < capacity; i++) {
+      long current = table.getLong(slot * SLOT_SIZE);
+      if (current == EMPTY) {
+        return -1;
+      }
+      if (current == key) {
+        return slot;
+      }
+      slot = (slot + 1) & mask;
+    }
+
+    return -1;
+  }
+
+  private void insert(long key, long location) {
+    int mask = capacity - 1;
+    int slot = spread(key) & mask;
+
+    while (true) {
+      long current = table.getLong(slot * SLOT_SIZE);
+      if (current == EMPTY || current == DELETED) {
+        if (current == EMPTY) {
+          used++;
+        }
+        table.putLong(slot * SLOT_SIZE, key);
+        table.putLong(slot * SLOT_SIZE + Long.BYTES, location);
+        return;
+      }
+      slot = (slot + 1) & mask;
+    }
+  }
+
+  private void resize(int newCapacity) {
+    ByteBuffer old = this.table;
+    int oldCapacity = this.capacity;
+
+    this.capacity = newCapacity;
+    this.table = ByteBuffer.allocateDirect(newCapacity * SLOT_SIZE);
+    this.used = 0;
+
+    for (int slot = 0; slot < oldCapacity; slot++) {
+      long key = old.getLong(slot * SLOT_SIZE);
+      if (key != EMPTY && key != DELETED) {
+        insert(key, old.getLong(slot * SLOT_SIZE + Long.BYTES));
+      }
+    }
+  }
+
+  private static long normalize(long hash) {
+    return hash == EMPTY || hash == DELETED ? hash + 2 : hash;
+  }
+
+  private static int spread(long key) {
+    long h = key ^ (key >>> 32);
+    return (int) (h ^ (h >>> 16));
+  }
+}
@@ -8,7 +8,12 @@
 package de.ii.xtraplatform.cache.domain;
 
 import com.google.common.collect.ObjectArrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Supplier;
 
 public interface Cache {
 
@@ -38,6 +43,103 @@ public interface Cache {
 
   void del(String... key);
 
+  /**
+   * Returns the cached value or computes, caches and returns it. Concurrent calls for the same key
+   * on the same instance share a single computation. If the driver is shared between instances
+   * and CacheConfiguration.getLeaseTimeout() is set, only one instance computes at a time.
+   */
+  default <T> Optional<T> getOrCompute(
+      Class<T> clazz, int ttl, Supplier<T> loader, String... key) {
+    return getOrCompute(clazz, ttl, 0, loader, key);
+  }
+
+  /**
+   * Like {@link #getOrCompute(Class, int, Supplier, String...)}, but an entry is kept for another
+   * {@code staleTtl} seconds after it expired. During that time the stale value is returned
+   * immediately while a fresh value is computed in the background.
+   *
+   * <p>The default implementation neither shares computations nor keeps stale entries, it computes
+   * and caches the value with the given ttl on every miss.
+   */
+  default <T> Optional<T> getOrCompute(
+      Class<T> clazz, int ttl, int staleTtl, Supplier<T> loader, String... key) {
+    Optional<T> cached = get(clazz, key);
+
+    if (cached.isPresent()) {
+      return cached;
+    }
+
+    T value = loader.get();
+
+    if (Objects.nonNull(value)) {
+      put(value, ttl, key);
+    }
+
+    return Optional.ofNullable(value);
+  }
+
+  /**
+   * Batch variant of {@link #get(Class, String...)}. Every key is resolved relative to the given
+   * prefix, the returned map only contains the keys that were found. The default implementation
+   * calls {@link #get(Class, String...)} for every key.
+   */
+  default <T> Map<String, T> getAll(Class<T> clazz, Collection<String> keys, String... prefix) {
+    Map<String, T> values = new LinkedHashMap<>();
+
+    for (String key : keys) {
+      get(clazz, ObjectArrays.concat(prefix, key)).ifPresent(value -> values.put(key, value));
+    }
+
+    return values;
+  }
+
+  /**
+   * Batch variant of {@link #put(Object, int, String...)}. Every key is resolved relative to the
+   * given prefix, a ttl of 0 means no expiry. The default implementation calls {@link
+   * #put(Object, int, String...)} for every key.
+   */
+  default void putAll(Map<String, ?> values, int ttl, String... prefix) {
+    values.forEach((key, value) -> put(value, ttl, ObjectArrays.concat(prefix, key)));
+  }
+
+  /**
+   * The codec registered for the given type. If none was registered, a Jackson SMILE codec with a
+   * reader and writer resolved once for the type is created and registered.
+   *
+   * <p>The default implementation only knows the codecs for byte arrays and strings.
+   */
+  @SuppressWarnings("unchecked")
+  default <T> CacheCodec<T> getCodec(Class<T> clazz) {
+    if (byte[].class.equals(clazz)) {
+      return (CacheCodec<T>) CacheCodecs.identity();
+    }
+    if (String.class.equals(clazz)) {
+      return (CacheCodec<T>) CacheCodecs.utf8();
+    }
+
+    throw new IllegalArgumentException("No cache codec registered for " + clazz.getName());
+  }
+
+  /** The default implementation does not support registering codecs. */
+  default <T> void registerCodec(Class<T> clazz, CacheCodec<T> codec) {
+    throw new UnsupportedOperationException(
+        getClass().getSimpleName() + " does not support registering cache codecs");
+  }
+
+  /** Typed view that uses the registered codec for the given type, s. {@link #getCodec(Class)}. */
+  default <T> TypedCache<T> typed(Class<T> clazz) {
+    return withCodec(clazz, getCodec(clazz));
+  }
+
+  /**
+   * Typed view that converts values with the given codec and passes them to the driver as raw
+   * bytes, e.g. {@code withCodec(byte[].class, CacheCodecs.identity())} stores byte arrays without
+   * any serialization. Drivers might still copy the bytes, e.g. to prefix them with a marker.
+   */
+  default <T> TypedCache<T> withCodec(Class<T> clazz, CacheCodec<T> codec) {
+    return new CodecCache<>(this, codec);
+  }
+
   default Cache withPrefix(String... prefix) {
     Cache delegate = this;
 
@@ -86,6 +188,34 @@ public interface Cache {
       public void del(String... key) {
         delegate.del(ObjectArrays.concat(prefix, key, String.class));
       }
+
+      @Override
+      public <T> Optional<T> getOrCompute(
+          Class<T> clazz, int ttl, int staleTtl, Supplier<T> loader, String... key) {
+        return delegate.getOrCompute(
+            clazz, ttl, staleTtl, loader, ObjectArrays.concat(prefix, key, String.class));
+      }
+
+      @Override
+      public <T> CacheCodec<T> getCodec(Class<T> clazz) {
+        return delegate.getCodec(clazz);
+      }
+
+      @Override
+      public <T> void registerCodec(Class<T> clazz, CacheCodec<T> codec) {
+        delegate.registerCodec(clazz, codec);
+      }
+
+      @Override
+      public <T> Map<String, T> getAll(
+          Class<T> clazz, Collection<String> keys, String... subPrefix) {
+        return delegate.getAll(clazz, keys, ObjectArrays.concat(prefix, subPrefix, String.class));
+      }
+
+      @Override
+      public void putAll(Map<String, ?> values, int ttl, String... subPrefix) {
+        delegate.putAll(values, ttl, ObjectArrays.concat(prefix, subPrefix, String.class));
+      }
     };
   }
 }
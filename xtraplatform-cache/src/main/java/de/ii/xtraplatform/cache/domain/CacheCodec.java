@@ -0,0 +1,22 @@
+/*
+ * Copyright 2026 interactive instruments GmbH
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package de.ii.xtraplatform.cache.domain;
+
+import java.io.IOException;
+
+/**
+ * Converts values of a single type to and from the raw bytes stored by a {@link CacheDriver}.
+ * Drivers store byte arrays as is, so a value that is passed through a codec is never touched by
+ * the generic databinding of the driver.
+ */
+public interface CacheCodec<T> {
+
+  byte[] encode(T value) throws IOException;
+
+  T decode(byte[] bytes) throws IOException;
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright 2026 interactive instruments GmbH
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package de.ii.xtraplatform.cache.domain;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+public final class CacheCodecs {
+
+  private static final CacheCodec<byte[]> IDENTITY =
+      new CacheCodec<>() {
+        @Override
+        public byte[] encode(byte[] value) {
+          return value;
+        }
+
+        @Override
+        public byte[] decode(byte[] bytes) {
+          return bytes;
+        }
+      };
+
+  private static final CacheCodec<String> UTF8 =
+      new CacheCodec<>() {
+        @Override
+        public byte[] encode(String value) {
+          return value.getBytes(StandardCharsets.UTF_8);
+        }
+
+        @Override
+        public String decode(byte[] bytes) {
+          return new String(bytes, StandardCharsets.UTF_8);
+        }
+      };
+
+  private CacheCodecs() {}
+
+  /** Passes byte arrays through without copying. */
+  public static CacheCodec<byte[]> identity() {
+    return IDENTITY;
+  }
+
+  public static CacheCodec<String> utf8() {
+    return UTF8;
+  }
+
+  /**
+   * Uses a reader and writer that are resolved once for the given type, so the type does not have
+   * to be looked up again for every value.
+   */
+  public static <T> CacheCodec<T> jackson(ObjectMapper mapper, Class<T> clazz) {
+    ObjectReader reader = mapper.readerFor(clazz);
+    ObjectWriter writer = mapper.writerFor(clazz);
+
+    return new CacheCodec<>() {
+      @Override
+      public byte[] encode(T value) throws IOException {
+        return writer.writeValueAsBytes(value);
+      }
+
+      @Override
+      public T decode(byte[] bytes) throws IOException {
+        return reader.readValue(bytes);
+      }
+    };
+  }
+}
@@ -8,6 +8,9 @@
 package de.ii.xtraplatform.cache.domain;
 
 import com.github.azahnen.dagger.annotations.AutoMultiBind;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Optional;
 
 @AutoMultiBind
@@ -33,4 +36,33 @@ public interface CacheDriver {
   void put(String key, String validator, Object value, int ttl);
 
   void del(String key);
+
+  default <T> Map<String, T> getAll(Collection<String> keys, Class<T> clazz) {
+    Map<String, T> values = new LinkedHashMap<>();
+
+    for (String key : keys) {
+      get(key, clazz).ifPresent(value -> values.put(key, value));
+    }
+
+    return values;
+  }
+
+  default void putAll(Map<String, ?> values, int ttl) {
+    values.forEach((key, value) -> put(key, value, ttl));
+  }
+
+  /**
+   * Tries to take a lease for computing the entry for the given key, s. Cache.getOrCompute. Returns
+   * a token for releasing the lease if it was taken, an empty optional if another instance holds
+   * it. Drivers that are not shared between instances do not need leases.
+   */
+  default Optional<String> acquireLease(String key, long ttlMs) {
+    return Optional.of(key);
+  }
+
+  default void releaseLease(String key, String token) {}
+
+  default Optional<CacheStats> getStats() {
+    return Optional.empty();
+  }
 }
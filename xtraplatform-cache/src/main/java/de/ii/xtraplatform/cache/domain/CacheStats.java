@@ -0,0 +1,22 @@
+/*
+ * Copyright 2026 interactive instruments GmbH
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package de.ii.xtraplatform.cache.domain;
+
+import org.immutables.value.Value;
+
+@Value.Immutable
+public interface CacheStats {
+
+  long getHits();
+
+  long getMisses();
+
+  long getEvictions();
+
+  long getSize();
+}
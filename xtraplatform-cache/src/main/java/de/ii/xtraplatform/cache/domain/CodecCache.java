@@ -0,0 +1,79 @@
+/*
+ * Copyright 2026 interactive instruments GmbH
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package de.ii.xtraplatform.cache.domain;
+
+import java.io.IOException;
+import java.util.Optional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+final class CodecCache<T> implements TypedCache<T> {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(CodecCache.class);
+
+  private final Cache delegate;
+  private final CacheCodec<T> codec;
+
+  CodecCache(Cache delegate, CacheCodec<T> codec) {
+    this.delegate = delegate;
+    this.codec = codec;
+  }
+
+  @Override
+  public boolean has(String... key) {
+    return delegate.has(key);
+  }
+
+  @Override
+  public boolean hasValid(String validator, String... key) {
+    return delegate.hasValid(validator, key);
+  }
+
+  @Override
+  public Optional<T> get(String... key) {
+    return delegate.get(byte[].class, key).flatMap(this::decode);
+  }
+
+  @Override
+  public Optional<T> getValid(String validator, String... key) {
+    return delegate.get(validator, byte[].class, key).flatMap(this::decode);
+  }
+
+  @Override
+  public void put(T value, int ttl, String... key) {
+    encode(value).ifPresent(bytes -> delegate.put(bytes, ttl, key));
+  }
+
+  @Override
+  public void putValid(String validator, T value, int ttl, String... key) {
+    encode(value).ifPresent(bytes -> delegate.put(validator, bytes, ttl, key));
+  }
+
+  @Override
+  public void del(String... key) {
+    delegate.del(key);
+  }
+
+  private Optional<T> decode(byte[] bytes) {
+    try {
+      return Optional.ofNullable(codec.decode(bytes));
+    } catch (IOException e) {
+      LOGGER.error("CACHE DESER", e);
+      return Optional.empty();
+    }
+  }
+
+  private Optional<byte[]> encode(T value) {
+    try {
+      return Optional.ofNullable(codec.encode(value));
+    } catch (IOException e) {
+      LOGGER.error("CACHE SER", e);
+      return Optional.empty();
+    }
+  }
+}
@@ -0,0 +1,31 @@
+/*
+ * Copyright 2026 interactive instruments GmbH
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package de.ii.xtraplatform.cache.domain;
+
+import java.util.Optional;
+
+/**
+ * View of a {@link Cache} for values of a single type that are converted by a {@link CacheCodec}.
+ * A ttl of 0 means no expiry.
+ */
+public interface TypedCache<T> {
+
+  boolean has(String... key);
+
+  boolean hasValid(String validator, String... key);
+
+  Optional<T> get(String... key);
+
+  Optional<T> getValid(String validator, String... key);
+
+  void put(T value, int ttl, String... key);
+
+  void putValid(String validator, T value, int ttl, String... key);
+
+  void del(String... key);
+}
@@ -0,0 +1,200 @@
+package de.ii.xtraplatform.cache.app
+
+import spock.lang.Specification
+
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.Executors
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicInteger
+import java.util.function.Supplier
+
+class CacheComputeSpec extends Specification {
+
+    def 'Test compute on miss and cache the result'() {
+        given:
+        CacheDriverMem driver = new CacheDriverMem()
+        CacheCompute compute = new CacheCompute(0)
+        AtomicInteger calls = new AtomicInteger()
+        Supplier<String> loader = { "value" + calls.incrementAndGet() }
+
+        when:
+        Optional<String> first = compute.getOrCompute(driver, "key", String, 0, 0, loader)
+        Optional<String> second = compute.getOrCompute(driver, "key", String, 0, 0, loader)
+
+        then:
+        first.get() == "value1"
+        second.get() == "value1"
+        calls.get() == 1
+        driver.get("key", String).get() == "value1"
+    }
+
+    def 'Test concurrent misses share a single computation'() {
+        given:
+        CacheDriverMem driver = new CacheDriverMem()
+        CacheCompute compute = new CacheCompute(0)
+        AtomicInteger calls = new AtomicInteger()
+        CountDownLatch started = new CountDownLatch(1)
+        CountDownLatch release = new CountDownLatch(1)
+        Supplier<String> loader = {
+            calls.incrementAndGet()
+            started.countDown()
+            release.await(5, TimeUnit.SECONDS)
+            "value"
+        }
+        def executor = Executors.newFixedThreadPool(4)
+
+        when:
+        def futures = (1..4).collect {
+            executor.submit({ compute.getOrCompute(driver, "shared", String, 0, 0, loader) } as java.util.concurrent.Callable)
+        }
+        started.await(5, TimeUnit.SECONDS)
+        Thread.sleep(100)
+        release.countDown()
+        def results = futures.collect { it.get(5, TimeUnit.SECONDS) }
+
+        then:
+        calls.get() == 1
+        results.every { it.get() == "value" }
+
+        cleanup:
+        executor.shutdownNow()
+    }
+
+    def 'Test loader exceptions are propagated'() {
+        given:
+        CacheDriverMem driver = new CacheDriverMem()
+        CacheCompute compute = new CacheCompute(0)
+
+        when:
+        compute.getOrCompute(driver, "failing", String, 0, 0, { throw new IllegalStateException("boom") } as Supplier<String>)
+
+        then:
+        thrown(IllegalStateException)
+        !driver.has("failing")
+    }
+
+    def 'Test late arrivers use the entry computed before they took the slot'() {
+        given:
+        MissingOnceDriver driver = new MissingOnceDriver()
+        driver.put("late", "computed")
+        CacheCompute compute = new CacheCompute(0)
+        AtomicInteger calls = new AtomicInteger()
+
+        when:
+        Optional<String> result = compute.getOrCompute(driver, "late", String, 0, 0, { "value" + calls.incrementAndGet() } as Supplier<String>)
+
+        then:
+        result.get() == "computed"
+        calls.get() == 0
+    }
+
+    def 'Test stale entries are returned and refreshed in the background'() {
+        given:
+        CacheDriverMem driver = new CacheDriverMem()
+        CacheCompute compute = new CacheCompute(0)
+        AtomicInteger calls = new AtomicInteger()
+        Supplier<String> loader = { "value" + calls.incrementAndGet() }
+        compute.getOrCompute(driver, "stale", String, 60, 60, loader)
+
+        when:
+        driver.del("stale:_fresh")
+        Optional<String> stale = compute.getOrCompute(driver, "stale", String, 60, 60, loader)
+
+        then:
+        stale.get() == "value1"
+
+        when:
+        long deadline = System.currentTimeMillis() + 5000
+        while (driver.get("stale", String).get() != "value2" && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10)
+        }
+
+        then:
+        driver.get("stale", String).get() == "value2"
+        driver.has("stale:_fresh")
+        calls.get() == 2
+    }
+
+    def 'Test misses do not join a background refresh'() {
+        given:
+        CacheDriverMem driver = new CacheDriverMem()
+        CacheCompute compute = new CacheCompute(0)
+        compute.refreshing.put("refreshing", new java.util.concurrent.CompletableFuture<Object>())
+
+        when:
+        Optional<String> result = compute.getOrCompute(driver, "refreshing", String, 60, 60, { "value" } as Supplier<String>)
+
+        then:
+        result.get() == "value"
+    }
+
+    def 'Test the lease is taken and released around the computation'() {
+        given:
+        LeaseDriver driver = new LeaseDriver(true)
+        CacheCompute compute = new CacheCompute(1000)
+
+        when:
+        Optional<String> result = compute.getOrCompute(driver, "leased", String, 0, 0, { "value" } as Supplier<String>)
+
+        then:
+        result.get() == "value"
+        driver.acquired == ["leased"]
+        driver.released == ["leased"]
+    }
+
+    def 'Test the result of the lease holder is awaited'() {
+        given:
+        LeaseDriver driver = new LeaseDriver(false)
+        CacheCompute compute = new CacheCompute(2000)
+        AtomicInteger calls = new AtomicInteger()
+        Thread.start {
+            Thread.sleep(200)
+            driver.put("awaited", "elsewhere")
+        }
+
+        when:
+        Optional<String> result = compute.getOrCompute(driver, "awaited", String, 0, 0, { "value" + calls.incrementAndGet() } as Supplier<String>)
+
+        then:
+        result.get() == "elsewhere"
+        calls.get() == 0
+        driver.released.isEmpty()
+    }
+
+    // misses once for every key, like a lookup that happened before another computation finished
+    static class MissingOnceDriver extends CacheDriverMem {
+        Set<String> missed = new HashSet<>()
+
+        @Override
+        <T> Optional<T> get(String key, Class<T> clazz) {
+            if (missed.add(key)) {
+                return Optional.empty()
+            }
+            return super.get(key, clazz)
+        }
+    }
+
+    static class LeaseDriver extends CacheDriverMem {
+        final boolean grant
+        List<String> acquired = []
+        List<String> released = []
+
+        LeaseDriver(boolean grant) {
+            this.grant = grant
+        }
+
+        @Override
+        Optional<String> acquireLease(String key, long ttlMs) {
+            if (!grant) {
+                return Optional.empty()
+            }
+            acquired << key
+            return Optional.of(key)
+        }
+
+        @Override
+        void releaseLease(String key, String token) {
+            released << token
+        }
+    }
+}
@@ -4,6 +4,8 @@ import de.ii.xtraplatform.base.domain.AppConfiguration
 import de.ii.xtraplatform.base.domain.AppContext
 import de.ii.xtraplatform.base.domain.Constants
 import de.ii.xtraplatform.base.domain.JacksonProvider
+import de.ii.xtraplatform.base.domain.ModifiableAppConfiguration
+import de.ii.xtraplatform.base.domain.ModifiableCacheConfiguration
 import spock.lang.Shared
 import spock.lang.Specification
 
@@ -41,7 +43,9 @@ class CacheDriverFsSpec extends Specification{
 
         @Override
         AppConfiguration getConfiguration() {
-            return null
+            ModifiableAppConfiguration config = new ModifiableAppConfiguration()
+            config.setCache(new ModifiableCacheConfiguration())
+            return config
         }
 
         @Override
@@ -255,4 +259,60 @@ class CacheDriverFsSpec extends Specification{
         cacheDriverFs.has(key)
         cacheDriverFs.get(key, Integer).isEmpty()
     }
+
+    def 'Test several validators'() {
+        given:
+        String key = "validators"
+
+        when:
+        cacheDriverFs.put(key, "validator1", "first")
+        cacheDriverFs.put(key, "validator2", "second")
+
+        then:
+        cacheDriverFs.get(key, "validator1", String).map("first"::equals).orElse(false)
+        cacheDriverFs.get(key, "validator2", String).map("second"::equals).orElse(false)
+        !cacheDriverFs.has(key)
+
+        when:
+        cacheDriverFs.put(key, "content")
+
+        then:
+        cacheDriverFs.get(key, String).map("content"::equals).orElse(false)
+        cacheDriverFs.has(key, "validator1")
+
+        when:
+        cacheDriverFs.del(key)
+
+        then:
+        !cacheDriverFs.has(key)
+        !cacheDriverFs.has(key, "validator1")
+        !cacheDriverFs.has(key, "validator2")
+    }
+
+    def 'Test expired'() {
+        given:
+        String key = "key"
+        String value = "Test Object String"
+
+        when:
+        cacheDriverFs.put(key, (Object) value, -1)
+        cacheDriverFs.put("other", (Object) value, 1)
+        sleep(1100)
+
+        then:
+        cacheDriverFs.has(key)
+        !cacheDriverFs.has("other")
+    }
+
+    def 'Test put get bytes'() {
+        given:
+        String key = "key"
+        byte[] value = [1, 2, 3] as byte[]
+
+        when:
+        cacheDriverFs.put(key, value)
+
+        then:
+        cacheDriverFs.get(key, byte[]).map { Arrays.equals(it, value) }.orElse(false)
+    }
 }
@@ -1,5 +1,7 @@
 package de.ii.xtraplatform.cache.app
 
+import de.ii.xtraplatform.base.domain.ImmutableCacheConfiguration
+import io.dropwizard.util.DataSize
 import spock.lang.Shared
 import spock.lang.Specification
 
@@ -194,4 +196,54 @@ class CacheDriverMemSpec extends Specification{
         cacheDriverMem.has(key)
         cacheDriverMem.get(key, String).isEmpty()
     }
+
+    def 'Test max entries'() {
+        given:
+        CacheDriverMem bounded = new CacheDriverMem(new ImmutableCacheConfiguration.Builder().maxEntries(10).build())
+
+        when:
+        (1..100).each { bounded.put("key" + it, "value" + it) }
+        bounded.cleanUp()
+
+        then:
+        bounded.getStats().get().size <= 10
+        bounded.getStats().get().evictions >= 90
+    }
+
+    def 'Test max size'() {
+        given:
+        CacheDriverMem bounded = new CacheDriverMem(new ImmutableCacheConfiguration.Builder().maxSize(DataSize.kilobytes(10)).build())
+
+        when:
+        (1..100).each { bounded.put("key" + it, new byte[1024]) }
+        bounded.cleanUp()
+
+        then:
+        bounded.getStats().get().size < 10
+    }
+
+    def 'Test stats'() {
+        given:
+        CacheDriverMem fresh = new CacheDriverMem()
+
+        when:
+        fresh.put("key", "value")
+        fresh.get("key", String)
+        fresh.get("other", String)
+
+        then:
+        fresh.getStats().get().hits == 1
+        fresh.getStats().get().misses == 1
+    }
+
+    def 'Test putAll getAll'() {
+        given:
+        Map<String, String> values = ["key1": "value1", "key2": "value2"]
+
+        when:
+        cacheDriverMem.putAll(values, 0)
+
+        then:
+        cacheDriverMem.getAll(["key1", "key2", "key3"], String) == values
+    }
 }
@@ -0,0 +1,249 @@
+package de.ii.xtraplatform.cache.app
+
+import de.ii.xtraplatform.base.domain.AppConfiguration
+import de.ii.xtraplatform.base.domain.AppContext
+import de.ii.xtraplatform.base.domain.Constants
+import de.ii.xtraplatform.base.domain.JacksonProvider
+import de.ii.xtraplatform.base.domain.ModifiableAppConfiguration
+import de.ii.xtraplatform.base.domain.ModifiableCacheConfiguration
+import io.dropwizard.util.DataSize
+import io.dropwizard.util.Duration
+import spock.lang.Shared
+import spock.lang.Specification
+
+import java.nio.ByteBuffer
+import java.nio.file.Files
+import java.nio.file.Path
+
+
+class CacheDriverSegmentSpec extends Specification{
+
+    @Shared CacheDriverSegment cacheDriver = new CacheDriverSegment(new AppContext() {
+        @Override
+        String getName() {
+            return null
+        }
+
+        @Override
+        String getVersion() {
+            return null
+        }
+
+        @Override
+        Constants.ENV getEnvironment() {
+            return null
+        }
+
+        @Override
+        Path getDataDir() {
+            return null
+        }
+
+        @Override
+        Path getTmpDir() {
+            return Files.createTempDirectory("foo")
+        }
+
+        @Override
+        AppConfiguration getConfiguration() {
+            ModifiableAppConfiguration config = new ModifiableAppConfiguration()
+            config.setCache(new ModifiableCacheConfiguration())
+            return config
+        }
+
+        @Override
+        URI getUri() {
+            return null
+        }
+
+        @Override
+        String getInstanceName() {
+            return null
+        }
+    }, new JacksonProvider(Set::of))
+
+    def setupSpec() {
+        cacheDriver.init()
+    }
+
+    def 'Test put get has String'() {
+        given:
+        String key = "key"
+        String value = "Test Object String"
+
+        when:
+        cacheDriver.put(key, value)
+
+        then:
+        cacheDriver.has(key)
+        cacheDriver.get(key, String).map(value::equals).orElse(false)
+    }
+
+    def 'Test put get has List'() {
+        given:
+        String key = "key"
+        List<Integer> value = List.of(10,20,30)
+
+        when:
+        cacheDriver.put(key, value)
+
+        then:
+        cacheDriver.has(key)
+        cacheDriver.get(key, List<Integer>).map(value::equals).orElse(false)
+    }
+
+    def 'Test put get bytes'() {
+        given:
+        String key = "key"
+        byte[] value = [1, 2, 3] as byte[]
+
+        when:
+        cacheDriver.put(key, value)
+
+        then:
+        cacheDriver.get(key, byte[]).map { Arrays.equals(it, value) }.orElse(false)
+        cacheDriver.get(key, ByteBuffer).map { it.remaining() == 3 && it.isReadOnly() }.orElse(false)
+    }
+
+    def 'Test put get has with validator'() {
+        given:
+        String key = "key"
+        String validator = "validator"
+        String value = "Test Object String"
+
+        when:
+        cacheDriver.put(key, (String) validator, value)
+
+        then:
+        cacheDriver.has(key, validator)
+        !cacheDriver.has(key, "other")
+        cacheDriver.get(key, validator, String).map(value::equals).orElse(false)
+    }
+
+    def 'Test overwrite'() {
+        given:
+        String key = "key"
+
+        when:
+        cacheDriver.put(key, "first")
+        cacheDriver.put(key, "second")
+
+        then:
+        cacheDriver.get(key, String).map("second"::equals).orElse(false)
+    }
+
+    def 'Test delete'() {
+        given:
+        String key = "key"
+        String value = "Test Object String"
+
+        when:
+        cacheDriver.put(key, value)
+        cacheDriver.del(key)
+
+        then:
+        !cacheDriver.has(key)
+        !cacheDriver.get(key, String).isPresent()
+    }
+
+    def 'Test expired'() {
+        given:
+        String key = "expiring"
+        String value = "Test Object String"
+
+        when:
+        cacheDriver.put(key, (Object) value, 1)
+        sleep(1100)
+
+        then:
+        !cacheDriver.has(key)
+    }
+
+    def 'Test many entries'() {
+        when:
+        (1..10000).each { cacheDriver.put("key" + it, "value" + it) }
+
+        then:
+        (1..10000).every { cacheDriver.get("key" + it, String).map(("value" + it)::equals).orElse(false) }
+    }
+
+    def 'Test compaction'() {
+        given:
+        Path tmpDir = Files.createTempDirectory("segments")
+        CacheDriverSegment driver = smallDriver(tmpDir, null)
+        driver.init()
+        String value = "x" * 1000
+
+        when:
+        (1..200).each { driver.put("key" + it, value + "first") }
+        int before = driver.segments.size()
+        (1..200).each { driver.put("key" + it, value + "second") }
+        int written = driver.segments.size()
+        driver.cleanup()
+
+        then:
+        before > 1
+        driver.segments.size() < written
+        segmentFiles(tmpDir) == driver.segments.size()
+        (1..200).every { driver.get("key" + it, String).map((value + "second")::equals).orElse(false) }
+    }
+
+    def 'Test maxSize eviction'() {
+        given:
+        Path tmpDir = Files.createTempDirectory("segments")
+        CacheDriverSegment driver = smallDriver(tmpDir, DataSize.kibibytes(128))
+        driver.init()
+        String value = "x" * 1000
+
+        when:
+        (1..400).each { driver.put("key" + it, value + it) }
+
+        then:
+        driver.segments.size() <= 2
+        segmentFiles(tmpDir) == driver.segments.size()
+        !driver.has("key1")
+        driver.get("key400", String).map((value + 400)::equals).orElse(false)
+    }
+
+    def 'Test reopen discards entries'() {
+        given:
+        Path tmpDir = Files.createTempDirectory("segments")
+        CacheDriverSegment first = smallDriver(tmpDir, null)
+        first.init()
+        (1..200).each { first.put("key" + it, "x" * 1000) }
+
+        when:
+        CacheDriverSegment second = smallDriver(tmpDir, null)
+        second.init()
+
+        then:
+        segmentFiles(tmpDir) == 1
+        !second.has("key1")
+        !second.get("key200", String).isPresent()
+
+        when:
+        second.put("key1", "value")
+
+        then:
+        second.get("key1", String).map("value"::equals).orElse(false)
+    }
+
+    private CacheDriverSegment smallDriver(Path tmpDir, DataSize maxSize) {
+        ModifiableCacheConfiguration cache = new ModifiableCacheConfiguration()
+                .setCleanupInterval(Duration.milliseconds(0))
+        if (maxSize != null) {
+            cache.setMaxSize(maxSize)
+        }
+        ModifiableAppConfiguration config = new ModifiableAppConfiguration().setCache(cache)
+        AppContext appContext = Stub(AppContext) {
+            getTmpDir() >> tmpDir
+            getConfiguration() >> config
+        }
+
+        return new CacheDriverSegment(appContext, new JacksonProvider(Set::of), 64 * 1024)
+    }
+
+    private static long segmentFiles(Path tmpDir) {
+        return Files.list(tmpDir.resolve("cache-segments")).withCloseable { it.count() }
+    }
+}
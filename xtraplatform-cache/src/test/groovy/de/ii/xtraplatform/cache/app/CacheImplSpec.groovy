@@ -0,0 +1,116 @@
+package de.ii.xtraplatform.cache.app
+
+import dagger.Lazy
+import de.ii.xtraplatform.base.domain.AppContext
+import de.ii.xtraplatform.base.domain.JacksonProvider
+import de.ii.xtraplatform.base.domain.ModifiableAppConfiguration
+import de.ii.xtraplatform.base.domain.ModifiableCacheConfiguration
+import de.ii.xtraplatform.base.domain.ModifiableRedisConfiguration
+import de.ii.xtraplatform.cache.domain.CacheCodec
+import de.ii.xtraplatform.cache.domain.CacheDriver
+import de.ii.xtraplatform.cache.domain.TypedCache
+import spock.lang.Specification
+
+import java.nio.charset.StandardCharsets
+
+class CacheImplSpec extends Specification {
+
+    CacheImpl cache
+
+    def setup() {
+        ModifiableAppConfiguration config = new ModifiableAppConfiguration()
+        config.setCache(new ModifiableCacheConfiguration().setType("MEM"))
+        config.setRedis(new ModifiableRedisConfiguration())
+        AppContext appContext = Stub(AppContext) {
+            getConfiguration() >> config
+        }
+        Lazy<Set<CacheDriver>> drivers = { Set.of(new CacheDriverMem()) } as Lazy<Set<CacheDriver>>
+
+        cache = new CacheImpl(drivers, appContext, new JacksonProvider(Set::of))
+        cache.onStart(false)
+    }
+
+    def 'Test typed put get'() {
+        given:
+        TypedCache<Map> typed = cache.typed(Map)
+        Map value = [a: 1, b: [c: 'd']]
+
+        when:
+        typed.put(value, 0, "foo", "bar")
+
+        then:
+        typed.has("foo", "bar")
+        typed.get("foo", "bar").get() == value
+        !typed.get("foo", "other").isPresent()
+    }
+
+    def 'Test typed put get with validator'() {
+        given:
+        TypedCache<String> typed = cache.typed(String)
+
+        when:
+        typed.putValid("v1", "value", 0, "key")
+
+        then:
+        typed.hasValid("v1", "key")
+        typed.getValid("v1", "key").get() == "value"
+        !typed.getValid("v2", "key").isPresent()
+    }
+
+    def 'Test typed values are stored as raw bytes'() {
+        when:
+        cache.typed(String).put("value", 0, "key")
+
+        then:
+        new String(cache.get(byte[], "key").get(), StandardCharsets.UTF_8) == "value"
+    }
+
+    def 'Test codecs are resolved once per type'() {
+        expect:
+        cache.getCodec(Map).is(cache.getCodec(Map))
+        !cache.getCodec(Map).is(cache.getCodec(List))
+    }
+
+    def 'Test registered codec'() {
+        given:
+        CacheCodec<String> reversed = new CacheCodec<String>() {
+            @Override
+            byte[] encode(String value) {
+                return value.reverse().getBytes(StandardCharsets.UTF_8)
+            }
+
+            @Override
+            String decode(byte[] bytes) {
+                return new String(bytes, StandardCharsets.UTF_8).reverse()
+            }
+        }
+
+        when:
+        cache.registerCodec(String, reversed)
+        cache.typed(String).put("value", 0, "key")
+
+        then:
+        new String(cache.get(byte[], "key").get(), StandardCharsets.UTF_8) == "eulav"
+        cache.typed(String).get("key").get() == "value"
+    }
+
+    def 'Test undecodable values are a miss'() {
+        when:
+        cache.put([1, 2, 3] as byte[], "key")
+
+        then:
+        !cache.typed(Map).get("key").isPresent()
+    }
+
+    def 'Test typed del'() {
+        given:
+        TypedCache<String> typed = cache.typed(String)
+        typed.put("value", 0, "key")
+
+        when:
+        typed.del("key")
+
+        then:
+        !typed.has("key")
+    }
+}
@@ -0,0 +1,39 @@
+package de.ii.xtraplatform.cache.domain
+
+import com.fasterxml.jackson.databind.ObjectMapper
+import spock.lang.Specification
+
+import java.nio.charset.StandardCharsets
+
+class CacheCodecsSpec extends Specification {
+
+    def 'Test identity passes byte arrays through'() {
+        given:
+        byte[] value = [1, 2, 3] as byte[]
+
+        expect:
+        CacheCodecs.identity().encode(value).is(value)
+        CacheCodecs.identity().decode(value).is(value)
+    }
+
+    def 'Test utf8'() {
+        given:
+        String value = "Grüße"
+
+        when:
+        byte[] encoded = CacheCodecs.utf8().encode(value)
+
+        then:
+        encoded == value.getBytes(StandardCharsets.UTF_8)
+        CacheCodecs.utf8().decode(encoded) == value
+    }
+
+    def 'Test jackson'() {
+        given:
+        CacheCodec<Map> codec = CacheCodecs.jackson(new ObjectMapper(), Map)
+        Map value = [a: 1, b: [c: 'd']]
+
+        expect:
+        codec.decode(codec.encode(value)) == value
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright 2026 interactive instruments GmbH
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package de.ii.xtraplatform.entities.app;
+
+import de.ii.xtraplatform.base.domain.LogContext;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Coalesces bursts of changed paths. The target is called once the given window has passed without
+ * further changes, or at the latest when ten windows have passed since the first pending change,
+ * so that a steady stream of changes does not postpone the reload indefinitely.
+ */
+@SuppressWarnings("PMD.AvoidCatchingGenericException")
+class ChangeDebouncer implements Consumer<List<Path>> {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(ChangeDebouncer.class);
+  private static final int MAX_WINDOWS = 10;
+
+  private final ScheduledExecutorService scheduler;
+  private final long windowNs;
+  private final Consumer<List<Path>> target;
+  private final Set<Path> pending;
+  private ScheduledFuture<?> scheduled;
+  private long firstPending;
+
+  ChangeDebouncer(ScheduledExecutorService scheduler, long windowMs, Consumer<List<Path>> target) {
+    this.scheduler = scheduler;
+    this.windowNs = TimeUnit.MILLISECONDS.toNanos(windowMs);
+    this.target = target;
+    this.pending = new LinkedHashSet<>();
+  }
+
+  @Override
+  public synchronized void accept(List<Path> changes) {
+    if (windowNs <= 0) {
+      target.accept(changes);
+      return;
+    }
+
+    long now = System.nanoTime();
+
+    if (pending.isEmpty()) {
+      this.firstPending = now;
+    }
+    pending.addAll(changes);
+
+    if (Objects.nonNull(scheduled)) {
+      scheduled.cancel(false);
+    }
+
+    long delay = Math.min(windowNs, Math.max(0, firstPending + windowNs * MAX_WINDOWS - now));
+
+    this.scheduled = scheduler.schedule(this::flush, delay, TimeUnit.NANOSECONDS);
+  }
+
+  private void flush() {
+    List<Path> changes;
+
+    synchronized (this) {
+      changes = new ArrayList<>(pending);
+      pending.clear();
+      this.scheduled = null;
+    }
+
+    if (changes.isEmpty()) {
+      return;
+    }
+
+    // would otherwise be lost in the scheduled future
+    try {
+      target.accept(changes);
+    } catch (Throwable e) {
+      LogContext.error(LOGGER, e, "Processing store changes failed: {}", changes);
+    }
+  }
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright 2026 interactive instruments GmbH
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package de.ii.xtraplatform.entities.app;
+
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
+import de.ii.xtraplatform.streams.domain.Event;
+import de.ii.xtraplatform.streams.domain.EventBus;
+import de.ii.xtraplatform.streams.domain.EventBus.Backpressure;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+
+/**
+ * Dispatch lane for a single event type. Events of the same type are delivered to every subscriber
+ * in order, lanes for different types are dispatched independently. Reports the number of events
+ * the slowest subscriber still has to process (depth) and the time subscribers take per event
+ * (dispatch).
+ *
+ * <p>The complete history is retained until the replay is done, so every subscriber that arrives
+ * during startup receives all events. Subscribers that arrive later only receive the last {@code
+ * capacity} events.
+ */
+class DispatchLane {
+
+  private static final String METRICS_PREFIX = "xtraplatform.events";
+
+  private final String eventType;
+  private final EventBus<Event> bus;
+  private final Timer latency;
+
+  DispatchLane(String eventType, int capacity, Executor dispatcher) {
+    this.eventType = eventType;
+    this.bus = new EventBus<>(eventType, capacity, Backpressure.BLOCK, dispatcher, true);
+    this.latency = new Timer();
+  }
+
+  String getEventType() {
+    return eventType;
+  }
+
+  void releaseHistory() {
+    bus.releaseHistory();
+  }
+
+  void publish(Event event) {
+    bus.publish(event);
+  }
+
+  void subscribe(Consumer<Event> consumer) {
+    bus.subscribe(
+        event -> {
+          Timer.Context timer = latency.time();
+          try {
+            consumer.accept(event);
+          } finally {
+            timer.stop();
+          }
+        });
+  }
+
+  long getDepth() {
+    return bus.getLag();
+  }
+
+  Timer getLatency() {
+    return latency;
+  }
+
+  void registerMetrics(MetricRegistry metrics) {
+    metrics.register(
+        MetricRegistry.name(METRICS_PREFIX, eventType, "depth"), (Gauge<Long>) this::getDepth);
+    metrics.register(MetricRegistry.name(METRICS_PREFIX, eventType, "dispatch"), latency);
+  }
+}
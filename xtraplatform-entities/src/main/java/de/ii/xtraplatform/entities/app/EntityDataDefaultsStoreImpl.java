@@ -50,6 +50,7 @@ import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
 import java.io.IOException;
 import java.nio.file.Path;
+import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -58,6 +59,8 @@ import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -80,6 +83,8 @@ public class EntityDataDefaultsStoreImpl extends AbstractMergeableKeyValueStore<
   private final EventSourcing<Map<String, Object>> eventSourcing;
   private final EventStore eventStore;
   private final CompletableFuture<Void> ready;
+  private final Map<Identifier, Map<String, Object>> resolvedDefaults;
+  private final AtomicLong defaultsVersion;
 
   @Inject
   public EntityDataDefaultsStoreImpl(
@@ -93,6 +98,8 @@ public class EntityDataDefaultsStoreImpl extends AbstractMergeableKeyValueStore<
     this.entityFactories = new EntityFactoriesImpl(entityFactories);
     this.eventStore = eventStore;
     this.ready = new CompletableFuture<>();
+    this.resolvedDefaults = new ConcurrentHashMap<>();
+    this.defaultsVersion = new AtomicLong();
     this.valueEncoding =
         new ValueEncodingJacksonWithNesting<>(
             jackson, store.getMaxYamlFileSize(), store.isFailOnUnknownProperties());
@@ -107,6 +114,7 @@ public class EntityDataDefaultsStoreImpl extends AbstractMergeableKeyValueStore<
             Optional.empty(),
             Optional.empty(),
             Optional.of(biConsumerMayThrow(this::validateDefaults)));
+    eventSourcing.addChangeListener(identifier -> invalidateResolvedDefaults());
 
     valueEncoding.addDecoderPreProcessor(new ValueDecoderEnvVarSubstitution(substitutions));
     valueEncoding.addDecoderMiddleware(new ValueDecoderBase<>(this::getDefaults, eventSourcing));
@@ -212,6 +220,8 @@ public class EntityDataDefaultsStoreImpl extends AbstractMergeableKeyValueStore<
       return Stream.empty();
     }
 
+    invalidateResolvedDefaults();
+
     EntityDataDefaultsPath defaultsPath =
         EntityDataDefaultsPath.from(event.identifier(), entityFactories.getTypes());
 
@@ -262,12 +272,13 @@ public class EntityDataDefaultsStoreImpl extends AbstractMergeableKeyValueStore<
             subTypes.stream()
                 .map(
                     subType ->
-                        ImmutableIdentifier.builder()
-                            .addAllPath(Lists.reverse(defaultsPath.getGroups()))
-                            .addPath(defaultsPath.getEntityType())
-                            .addPath(subType)
-                            .id(EVENT_TYPE)
-                            .build())
+                        Identifier.intern(
+                            ImmutableIdentifier.builder()
+                                .addAllPath(Lists.reverse(defaultsPath.getGroups()))
+                                .addPath(defaultsPath.getEntityType())
+                                .addPath(subType)
+                                .id(EVENT_TYPE)
+                                .build()))
                 .collect(Collectors.toList()))
         .build();
   }
@@ -278,15 +289,8 @@ public class EntityDataDefaultsStoreImpl extends AbstractMergeableKeyValueStore<
 
     Identifier defaultsIdentifier = EntityDataStore.defaults(identifier, subType);
 
-    EntityDataBuilder<EntityData> newBuilder =
-        getBuilder(defaultsIdentifier).fillRequiredFieldsWithPlaceholders();
-
     try {
-      byte[] payload = valueEncodingEntity.serialize(newBuilder.build());
-
-      Map<String, Object> defaults =
-          valueEncodingMap.deserialize(
-              defaultsIdentifier, payload, valueEncodingBuilder.getDefaultFormat(), false);
+      Map<String, Object> defaults = getResolvedDefaults(defaultsIdentifier);
       EntityFactory factory = getFactory(defaultsIdentifier);
 
       return MapSubtractor.subtract(
@@ -314,11 +318,7 @@ public class EntityDataDefaultsStoreImpl extends AbstractMergeableKeyValueStore<
     Optional<String> subType = entityData.getEntitySubType();
     Identifier defaultsIdentifier = EntityDataStore.defaults(identifier, subType);
 
-    return valueEncodingMap.deserialize(
-        defaultsIdentifier,
-        valueEncodingEntity.serialize(entityData),
-        valueEncoding.getDefaultFormat(),
-        false);
+    return valueEncodingEntity.asMap(entityData);
   }
 
   @Override
@@ -327,32 +327,50 @@ public class EntityDataDefaultsStoreImpl extends AbstractMergeableKeyValueStore<
 
     Identifier defaultsIdentifier = EntityDataStore.defaults(identifier, subType);
 
-    Optional<EntityDataBuilder<EntityData>> newBuilder =
-        Optional.ofNullable(getBuilder(defaultsIdentifier).fillRequiredFieldsWithPlaceholders());
+    try {
+      Map<String, Object> defaults =
+          getResolvedDefaults(defaultsIdentifier).entrySet().stream()
+              .filter(entry -> !Objects.equals(entry.getValue(), "__DEFAULT__"))
+              .collect(ImmutableMap.toImmutableMap(Map.Entry::getKey, Map.Entry::getValue));
 
-    if (newBuilder.isPresent()) {
-      try {
-        EntityData data = newBuilder.get().build();
+      return Optional.of(defaults);
 
-        byte[] payload = valueEncodingEntity.serialize(data);
+    } catch (Throwable e) {
+      // ignore
+    }
 
-        Map<String, Object> defaults =
-            valueEncodingMap.deserialize(
-                defaultsIdentifier, payload, valueEncodingBuilder.getDefaultFormat(), false);
+    return Optional.empty();
+  }
 
-        defaults =
-            defaults.entrySet().stream()
-                .filter(entry -> !Objects.equals(entry.getValue(), "__DEFAULT__"))
-                .collect(ImmutableMap.toImmutableMap(Map.Entry::getKey, Map.Entry::getValue));
+  // the defaults with placeholders for required fields as map, memoized until the next defaults
+  // event, the version guards against storing a result that was computed during an update. During
+  // the replay, nothing is memoized, so it is only invalidated once when the replay is done.
+  private Map<String, Object> getResolvedDefaults(Identifier defaultsIdentifier)
+      throws IOException {
+    Map<String, Object> cached = resolvedDefaults.get(defaultsIdentifier);
 
-        return Optional.ofNullable(defaults);
+    if (Objects.nonNull(cached)) {
+      return cached;
+    }
 
-      } catch (Throwable e) {
-        // ignore
-      }
+    long version = defaultsVersion.get();
+    EntityData data = getBuilder(defaultsIdentifier).fillRequiredFieldsWithPlaceholders().build();
+    Map<String, Object> defaults = Collections.unmodifiableMap(valueEncodingEntity.asMap(data));
+
+    if (ready.isDone() && defaultsVersion.get() == version) {
+      resolvedDefaults.putIfAbsent(defaultsIdentifier, defaults);
     }
 
-    return Optional.empty();
+    return defaults;
+  }
+
+  private void invalidateResolvedDefaults() {
+    if (!ready.isDone()) {
+      return;
+    }
+
+    defaultsVersion.incrementAndGet();
+    resolvedDefaults.clear();
   }
 
   private Map<String, Object> getDefaults(Identifier identifier) {
@@ -367,11 +385,8 @@ public class EntityDataDefaultsStoreImpl extends AbstractMergeableKeyValueStore<
     }
 
     for (int i = 1; i < identifier.path().size(); i++) {
-      ImmutableIdentifier parent =
-          ImmutableIdentifier.builder()
-              .from(identifier)
-              .path(identifier.path().subList(i, identifier.path().size()))
-              .build();
+      Identifier parent =
+          Identifier.from(identifier.id(), identifier.path().subList(i, identifier.path().size()));
       if (eventSourcing.has(parent)) {
         if (LOGGER.isTraceEnabled()) {
           LOGGER.trace(
@@ -382,11 +397,7 @@ public class EntityDataDefaultsStoreImpl extends AbstractMergeableKeyValueStore<
         }
         try {
 
-          return valueEncodingMap.deserialize(
-              parent,
-              valueEncodingEntity.serialize(eventSourcing.get(parent)),
-              valueEncoding.getDefaultFormat(),
-              false);
+          return valueEncodingMap.asMap(eventSourcing.get(parent));
         } catch (IOException e) {
           throw new IllegalStateException("Error deserializing defaults", e);
         }
@@ -471,6 +482,7 @@ public class EntityDataDefaultsStoreImpl extends AbstractMergeableKeyValueStore<
             });
 
     ready.complete(null);
+    invalidateResolvedDefaults();
 
     return super.onListenStart();
   }
@@ -497,11 +509,7 @@ public class EntityDataDefaultsStoreImpl extends AbstractMergeableKeyValueStore<
 
           mapper.readerForUpdating(newBuilder.get()).readValue(serialize);
 
-          byte[] payload = valueEncodingEntity.serialize(newBuilder.get().build());
-
-          defaults =
-              valueEncodingMap.deserialize(
-                  defaultsIdentifier, payload, valueEncodingBuilder.getDefaultFormat(), false);
+          defaults = valueEncodingEntity.asMap(newBuilder.get().build());
 
         } catch (Throwable e) {
           LogContext.error(LOGGER, e, "Deserialization error");
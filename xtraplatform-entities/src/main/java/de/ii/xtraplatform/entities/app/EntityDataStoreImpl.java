@@ -35,12 +35,10 @@ import de.ii.xtraplatform.entities.domain.EventStore;
 import de.ii.xtraplatform.entities.domain.ImmutableReplayEvent;
 import de.ii.xtraplatform.entities.domain.KeyPathAlias;
 import de.ii.xtraplatform.entities.domain.ReplayEvent;
-import de.ii.xtraplatform.values.api.ValueDecoderBase;
 import de.ii.xtraplatform.values.api.ValueDecoderEnvVarSubstitution;
 import de.ii.xtraplatform.values.api.ValueDecoderWithBuilder;
 import de.ii.xtraplatform.values.domain.Identifier;
 import de.ii.xtraplatform.values.domain.ImmutableIdentifier;
-import de.ii.xtraplatform.values.domain.ValueCache;
 import de.ii.xtraplatform.values.domain.ValueEncoding;
 import de.ii.xtraplatform.values.domain.ValueStore;
 import jakarta.inject.Inject;
@@ -50,7 +48,6 @@ import java.nio.charset.StandardCharsets;
 import java.time.Instant;
 import java.util.AbstractMap;
 import java.util.ArrayList;
-import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -63,6 +60,7 @@ import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
 import org.slf4j.Logger;
@@ -88,7 +86,6 @@ public class EntityDataStoreImpl extends AbstractMergeableKeyValueStore<EntityDa
   private final EntityFactoriesImpl entityFactories;
   private final Queue<Map.Entry<Identifier, EntityData>> additionalEvents;
   private final ValueEncodingJacksonWithNesting<EntityData> valueEncoding;
-  private final ValueEncodingJacksonWithNesting<Map<String, Object>> valueEncodingMap;
   private final EventSourcing<EntityData> eventSourcing;
   private final EntityDataDefaultsStore defaultsStore;
   private final Supplier<Void> blobStoreReady;
@@ -138,9 +135,6 @@ public class EntityDataStoreImpl extends AbstractMergeableKeyValueStore<EntityDa
     this.valueEncoding =
         new ValueEncodingJacksonWithNesting<>(
             jackson, store.getMaxYamlFileSize(), store.isFailOnUnknownProperties());
-    this.valueEncodingMap =
-        new ValueEncodingJacksonWithNesting<>(
-            jackson, store.getMaxYamlFileSize(), store.isFailOnUnknownProperties());
     this.eventSourcing =
         new EventSourcing<>(
             eventStore,
@@ -173,26 +167,6 @@ public class EntityDataStoreImpl extends AbstractMergeableKeyValueStore<EntityDa
     valueEncoding.addDecoderMiddleware(new ValueDecoderIdValidator());
     valueEncoding.addDecoderMiddleware(
         new ValueDecoderEntityPreHash(this::getBuilder, valueEncoding::hash));
-
-    valueEncodingMap.addDecoderMiddleware(
-        new ValueDecoderBase<>(
-            identifier -> new LinkedHashMap<>(),
-            new ValueCache<>() {
-              @Override
-              public boolean has(Identifier identifier) {
-                return false;
-              }
-
-              @Override
-              public boolean has(Predicate<Identifier> keyMatcher) {
-                return false;
-              }
-
-              @Override
-              public Map<String, Object> get(Identifier identifier) {
-                return new LinkedHashMap<>();
-              }
-            }));
   }
 
   @Override
@@ -519,6 +493,14 @@ public class EntityDataStoreImpl extends AbstractMergeableKeyValueStore<EntityDa
   @Override
   protected CompletableFuture<Void> onUpdate(
       Identifier identifier, EntityData entityData, boolean force) {
+    return onUpdate(identifier, entityData, force, Optional.empty());
+  }
+
+  private CompletableFuture<Void> onUpdate(
+      Identifier identifier,
+      EntityData entityData,
+      boolean force,
+      Optional<Set<String>> changes) {
     try (MDC.MDCCloseable ignored =
         LogContext.putCloseable(LogContext.CONTEXT.SERVICE, identifier.id())) {
       if (LOGGER.isDebugEnabled()) {
@@ -530,7 +512,7 @@ public class EntityDataStoreImpl extends AbstractMergeableKeyValueStore<EntityDa
 
         return entityFactories
             .get(EntityDataStore.entityType(identifier), entityData.getEntitySubType())
-            .updateInstance(hydratedData, force)
+            .updateInstance(hydratedData, force, changes)
             .thenAccept(ignore -> CompletableFuture.completedFuture(null));
       } catch (Throwable e) {
         return CompletableFuture.completedFuture(null);
@@ -584,8 +566,7 @@ public class EntityDataStoreImpl extends AbstractMergeableKeyValueStore<EntityDa
   @Override
   public Map<String, Object> asMap(Identifier identifier, EntityData entityData)
       throws IOException {
-    return valueEncodingMap.deserialize(
-        identifier, valueEncoding.serialize(entityData), valueEncoding.getDefaultFormat(), false);
+    return valueEncoding.asMap(entityData);
   }
 
   @Override
@@ -670,12 +651,16 @@ public class EntityDataStoreImpl extends AbstractMergeableKeyValueStore<EntityDa
               entityFactories.get(
                   EntityDataStore.entityType(identifier), merged.getEntitySubType()));
 
+      // the data the update is applied to, known once preceding writes for the entity are done
+      AtomicReference<Optional<EntityData>> previous = new AtomicReference<>(Optional.empty());
+
       return getEventSourcing()
-          .pushPartialMutationEvent(identifier, withoutResetted)
+          .pushPartialMutationEvent(identifier, withoutResetted, previous::set)
           .whenComplete(
               (entityData, throwable) -> {
                 if (Objects.nonNull(entityData)) {
-                  onUpdate(identifier, entityData, false).join();
+                  onUpdate(identifier, entityData, false, changedPaths(previous.get(), entityData))
+                      .join();
                 } else if (Objects.nonNull(throwable)) {
                   onFailure(identifier, throwable);
                 }
@@ -686,6 +671,22 @@ public class EntityDataStoreImpl extends AbstractMergeableKeyValueStore<EntityDa
     }
   }
 
+  // the changes are only a hint for reloading, so any failure means they are unknown
+  private Optional<Set<String>> changedPaths(
+      Optional<EntityData> previous, EntityData entityData) {
+    if (previous.isEmpty()) {
+      return Optional.empty();
+    }
+
+    try {
+      return Optional.of(
+          MapDiffer.changedPaths(
+              valueEncoding.asMap(previous.get()), valueEncoding.asMap(entityData)));
+    } catch (Throwable e) {
+      return Optional.empty();
+    }
+  }
+
   private EntityData hydrateData(Identifier identifier, EntityData entityData) {
     if (LOGGER.isDebugEnabled(MARKER.DUMP)) {
       try {
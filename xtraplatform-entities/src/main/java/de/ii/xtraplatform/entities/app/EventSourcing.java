@@ -7,7 +7,6 @@
  */
 package de.ii.xtraplatform.entities.app;
 
-import com.google.common.collect.ImmutableList;
 import com.google.common.util.concurrent.MoreExecutors;
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import de.ii.xtraplatform.base.domain.LogContext;
@@ -23,9 +22,13 @@ import de.ii.xtraplatform.entities.domain.ReplayEvent;
 import de.ii.xtraplatform.entities.domain.StateChangeEvent;
 import de.ii.xtraplatform.streams.domain.Event;
 import de.ii.xtraplatform.values.domain.Identifier;
+import de.ii.xtraplatform.values.domain.IdentifierIndex;
 import de.ii.xtraplatform.values.domain.ValueCache;
 import de.ii.xtraplatform.values.domain.ValueEncoding;
 import de.ii.xtraplatform.values.domain.ValueEncoding.FORMAT;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Locale;
@@ -37,11 +40,14 @@ import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import java.util.function.BiConsumer;
 import java.util.function.BiFunction;
+import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
@@ -59,9 +65,12 @@ import org.slf4j.LoggerFactory;
 public class EventSourcing<T> implements EventStoreSubscriber, ValueCache<T> {
 
   private static final Logger LOGGER = LoggerFactory.getLogger(EventSourcing.class);
+  private static final long WRITE_TIMEOUT_S = 60;
 
   private final Map<Identifier, T> cache;
+  private final IdentifierIndex index;
   private final Map<Identifier, CompletableFuture<T>> queue;
+  private final Map<Identifier, Deque<PendingWrite<T>>> writes;
   private final EventStore eventStore;
   private final List<String> eventTypes;
   private final ValueEncoding<T> valueEncoding;
@@ -71,6 +80,7 @@ public class EventSourcing<T> implements EventStoreSubscriber, ValueCache<T> {
   private final Optional<BiFunction<Identifier, T, CompletableFuture<Void>>> updateHook;
   private final Optional<BiFunction<Identifier, T, CompletableFuture<Void>>> forceUpdateHook;
   private final Optional<BiConsumer<Identifier, T>> valueValidator;
+  private final List<Consumer<Identifier>> changeListeners;
   private final Set<String> started;
   private final ExecutorService executorService;
 
@@ -112,10 +122,13 @@ public class EventSourcing<T> implements EventStoreSubscriber, ValueCache<T> {
     this.updateHook = updateHook;
     this.forceUpdateHook = forceUpdateHook;
     this.cache = new ConcurrentSkipListMap<>();
+    this.index = new IdentifierIndex();
     this.queue = new ConcurrentHashMap<>();
+    this.writes = new ConcurrentHashMap<>();
     this.valueEncoding = valueEncoding;
     this.onStart = onStart;
     this.valueValidator = valueValidator;
+    this.changeListeners = new CopyOnWriteArrayList<>();
     this.started = new HashSet<>();
     this.executorService =
         MoreExecutors.getExitingExecutorService(
@@ -128,6 +141,11 @@ public class EventSourcing<T> implements EventStoreSubscriber, ValueCache<T> {
     eventStore.subscribe(this);
   }
 
+  /** Called with the identifier of every value after it was added, changed or removed. */
+  public void addChangeListener(Consumer<Identifier> listener) {
+    changeListeners.add(listener);
+  }
+
   @Override
   public List<String> getEventTypes() {
     return eventTypes;
@@ -226,34 +244,129 @@ public class EventSourcing<T> implements EventStoreSubscriber, ValueCache<T> {
     return cache.keySet().stream().anyMatch(keyMatcher);
   }
 
+  public boolean hasAny(String... path) {
+    return index.has(List.of(path));
+  }
+
   @Override
   public T get(Identifier identifier) {
     return cache.get(identifier);
   }
 
   public List<Identifier> getIdentifiers(String... path) {
-    return cache.keySet().stream()
-        .filter(
-            identifier ->
-                path.length == 0 || Objects.equals(ImmutableList.copyOf(path), identifier.path()))
-        .collect(Collectors.toList());
+    if (path.length == 0) {
+      return new ArrayList<>(cache.keySet());
+    }
+
+    return index.get(List.of(path));
   }
 
   public CompletableFuture<T> pushMutationEvent(Identifier identifier, T data) {
     final byte[] payload = valueEncoding.serialize(data);
 
-    return pushMutationEventRaw(identifier, payload, Objects.isNull(data));
+    return enqueueMutation(identifier, payload, Objects.isNull(data), false, previous -> {});
   }
 
   public CompletableFuture<T> pushPartialMutationEvent(
       Identifier identifier, Map<String, Object> data) {
+    return pushPartialMutationEvent(identifier, data, previous -> {});
+  }
+
+  /**
+   * Like {@link #pushPartialMutationEvent(Identifier, Map)}, but {@code onApply} is called with the
+   * value the update is applied to, once all preceding writes for the identifier are done.
+   */
+  public CompletableFuture<T> pushPartialMutationEvent(
+      Identifier identifier, Map<String, Object> data, Consumer<Optional<T>> onApply) {
     final byte[] payload = valueEncoding.serialize(data);
 
-    return pushMutationEventRaw(identifier, payload, Objects.isNull(data));
+    return enqueueMutation(identifier, payload, Objects.isNull(data), true, onApply);
   }
 
   public CompletableFuture<T> pushMutationEventRaw(Identifier identifier, byte[] payload) {
-    return pushMutationEventRaw(identifier, payload, false);
+    return enqueueMutation(identifier, payload, false, false, previous -> {});
+  }
+
+  // Only one write per identifier is in flight at a time, the others are queued. A full write or
+  // delete supersedes all queued writes, those are dropped and their callers get the result of the
+  // superseding write. Partial writes depend on the previous state and are never dropped.
+  private CompletableFuture<T> enqueueMutation(
+      Identifier identifier,
+      byte[] payload,
+      boolean isDelete,
+      boolean isPartial,
+      Consumer<Optional<T>> onApply) {
+    if (eventStore.isReadOnly()) {
+      return CompletableFuture.failedFuture(
+          new IllegalStateException(
+              "Store is operating in read-only mode, write operations are not allowed."));
+    }
+
+    final CompletableFuture<T> completableFuture = new CompletableFuture<>();
+    final PendingWrite<T> write = new PendingWrite<>(payload, isDelete, onApply, completableFuture);
+    final boolean[] start = {false};
+
+    writes.compute(
+        identifier,
+        (id, pending) -> {
+          if (Objects.isNull(pending)) {
+            start[0] = true;
+            return new ArrayDeque<>();
+          }
+          if (!isPartial) {
+            pending.forEach(superseded -> write.waiters.addAll(superseded.waiters));
+            if (LOGGER.isDebugEnabled() && !pending.isEmpty()) {
+              LOGGER.debug("Coalescing {} pending writes for {}", pending.size(), identifier);
+            }
+            pending.clear();
+          }
+          pending.add(write);
+          return pending;
+        });
+
+    if (start[0]) {
+      startWrite(identifier, write);
+    }
+
+    return completableFuture;
+  }
+
+  private void startWrite(Identifier identifier, PendingWrite<T> write) {
+    write.onApply.accept(Optional.ofNullable(cache.get(identifier)));
+
+    CompletableFuture<T> written =
+        pushMutationEventRaw(identifier, write.payload, write.isDelete);
+
+    // the next write must not wait forever if this one is never emitted, the waiters of this one
+    // then fail with a TimeoutException
+    written
+        .orTimeout(WRITE_TIMEOUT_S, TimeUnit.SECONDS)
+        .whenComplete(
+            (value, error) -> {
+              if (Objects.nonNull(error)) {
+                queue.remove(identifier, written);
+              }
+              write.complete(value, error);
+              startNextWrite(identifier);
+            });
+  }
+
+  private void startNextWrite(Identifier identifier) {
+    final List<PendingWrite<T>> next = new ArrayList<>(1);
+
+    writes.computeIfPresent(
+        identifier,
+        (id, pending) -> {
+          if (pending.isEmpty()) {
+            return null;
+          }
+          next.add(pending.poll());
+          return pending;
+        });
+
+    if (!next.isEmpty()) {
+      startWrite(identifier, next.get(0));
+    }
   }
 
   private CompletableFuture<T> pushMutationEventRaw(
@@ -261,7 +374,6 @@ public class EventSourcing<T> implements EventStoreSubscriber, ValueCache<T> {
     final CompletableFuture<T> completableFuture = new CompletableFuture<>();
 
     try {
-      // NOPMD - TODO: if already in queue, pipeline to existing future
       final EntityEvent entityEvent =
           ImmutableMutationEvent.builder()
               .type(eventTypes.get(0))
@@ -276,6 +388,7 @@ public class EventSourcing<T> implements EventStoreSubscriber, ValueCache<T> {
       eventStore.push(entityEvent);
 
     } catch (Throwable e) {
+      queue.remove(identifier, completableFuture);
       completableFuture.completeExceptionally(e);
       return completableFuture;
     }
@@ -322,10 +435,14 @@ public class EventSourcing<T> implements EventStoreSubscriber, ValueCache<T> {
 
     if (Objects.isNull(value)) {
       cache.remove(key);
+      index.remove(key);
     } else {
       cache.put(key, value);
+      index.add(key);
     }
 
+    changeListeners.forEach(listener -> listener.accept(key));
+
     if (queue.containsKey(key)) {
       T finalValue = value;
       // need to use async, otherwise may produce deadlock
@@ -340,4 +457,33 @@ public class EventSourcing<T> implements EventStoreSubscriber, ValueCache<T> {
   private List<Identifier> getIdentifiers(EventFilter filter) {
     return getIdentifiers().stream().filter(filter::matches).collect(Collectors.toList());
   }
+
+  private static final class PendingWrite<T> {
+    private final byte[] payload;
+    private final boolean isDelete;
+    private final Consumer<Optional<T>> onApply;
+    private final List<CompletableFuture<T>> waiters;
+
+    private PendingWrite(
+        byte[] payload,
+        boolean isDelete,
+        Consumer<Optional<T>> onApply,
+        CompletableFuture<T> waiter) {
+      this.payload = payload;
+      this.isDelete = isDelete;
+      this.onApply = onApply;
+      this.waiters = new ArrayList<>();
+      waiters.add(waiter);
+    }
+
+    private void complete(T value, Throwable error) {
+      for (CompletableFuture<T> waiter : waiters) {
+        if (Objects.nonNull(error)) {
+          waiter.completeExceptionally(error);
+        } else {
+          waiter.complete(value);
+        }
+      }
+    }
+  }
 }
@@ -7,11 +7,12 @@
  */
 package de.ii.xtraplatform.entities.app;
 
-import com.google.common.collect.ImmutableList;
 import de.ii.xtraplatform.entities.domain.EntityEvent;
 import de.ii.xtraplatform.entities.domain.EventStore;
 import de.ii.xtraplatform.entities.domain.ImmutableMutationEvent;
 import de.ii.xtraplatform.values.domain.Identifier;
+import de.ii.xtraplatform.values.domain.IdentifierIndex;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -19,13 +20,13 @@ import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 import java.util.function.Supplier;
-import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 public class EventSourcingCache<T> {
 
   private final Map<Identifier, T> cache;
+  private final IdentifierIndex index;
   private final Map<Identifier, CompletableFuture<T>> queue;
   private final EventStore eventStore;
   private final String eventType;
@@ -48,6 +49,7 @@ public class EventSourcingCache<T> {
     this.eventStore = eventStore;
     this.eventType = eventType;
     this.cache = new ConcurrentHashMap<>();
+    this.index = new IdentifierIndex();
     this.queue = new ConcurrentHashMap<>();
     this.serializer = serializer;
     this.deserializer = deserializer;
@@ -63,11 +65,11 @@ public class EventSourcingCache<T> {
   }
 
   public List<Identifier> getIdentifiers(String... path) {
-    return cache.keySet().stream()
-        .filter(
-            identifier ->
-                path.length == 0 || Objects.equals(ImmutableList.copyOf(path), identifier.path()))
-        .collect(Collectors.toList());
+    if (path.length == 0) {
+      return new ArrayList<>(cache.keySet());
+    }
+
+    return index.get(List.of(path));
   }
 
   public CompletableFuture<T> pushMutationEvent(Identifier identifier, T data) {
@@ -117,8 +119,10 @@ public class EventSourcingCache<T> {
 
     if (Objects.isNull(value)) {
       cache.remove(event.identifier());
+      index.remove(event.identifier());
     } else {
       cache.put(event.identifier(), value);
+      index.add(event.identifier());
     }
 
     if (queue.containsKey(event.identifier())) {
@@ -11,13 +11,16 @@ import static de.ii.xtraplatform.entities.domain.EntityDataStore.entityType;
 
 import com.github.azahnen.dagger.annotations.AutoBind;
 import com.google.common.collect.Lists;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import dagger.Lazy;
+import de.ii.xtraplatform.base.domain.AppConfiguration;
 import de.ii.xtraplatform.base.domain.AppLifeCycle;
 import de.ii.xtraplatform.base.domain.Store;
 import de.ii.xtraplatform.base.domain.StoreFilters;
 import de.ii.xtraplatform.base.domain.StoreSource;
 import de.ii.xtraplatform.base.domain.StoreSource.Content;
 import de.ii.xtraplatform.base.domain.StoreSource.Mode;
+import de.ii.xtraplatform.base.domain.util.Tuple;
 import de.ii.xtraplatform.entities.domain.EntityDataDefaultsStore;
 import de.ii.xtraplatform.entities.domain.EntityEvent;
 import de.ii.xtraplatform.entities.domain.EventFilter;
@@ -28,13 +31,16 @@ import de.ii.xtraplatform.entities.domain.ImmutableEventFilter;
 import de.ii.xtraplatform.entities.domain.ImmutableReloadEvent;
 import de.ii.xtraplatform.entities.domain.ImmutableReplayEvent;
 import de.ii.xtraplatform.entities.infra.EventStoreDriverAdHoc;
-import de.ii.xtraplatform.streams.domain.Reactive;
 import de.ii.xtraplatform.values.api.ValueEncodingJackson;
+import de.ii.xtraplatform.values.domain.Identifier;
 import de.ii.xtraplatform.values.domain.ImmutableIdentifier;
 import de.ii.xtraplatform.values.domain.ValueEncoding.FORMAT;
+import de.ii.xtraplatform.web.domain.DropwizardPlugin;
+import io.dropwizard.core.setup.Environment;
 import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.HashSet;
 import java.util.List;
@@ -43,28 +49,40 @@ import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 @Singleton
 @AutoBind
-public class EventStoreDefault implements EventStore, AppLifeCycle {
+public class EventStoreDefault implements EventStore, AppLifeCycle, DropwizardPlugin {
 
   private static final Logger LOGGER = LoggerFactory.getLogger(EventStoreDefault.class);
 
   private final Store store;
   private final Lazy<Set<EventStoreDriver>> drivers;
   private final EventSubscriptions subscriptions;
+  private final ExecutorService watchExecutor;
+  private final ScheduledExecutorService debounceExecutor;
   private Optional<StoreSource> writableSource;
   private final boolean isReadOnly;
   private static final String EVENT_TYPE_ENTITIES = "entities";
+  private static final int MAX_LOAD_THREADS = 4;
 
   @Inject
-  EventStoreDefault(Store store, Lazy<Set<EventStoreDriver>> drivers, Reactive reactive) {
+  EventStoreDefault(Store store, Lazy<Set<EventStoreDriver>> drivers) {
     this.store = store;
     this.drivers = drivers;
-    this.subscriptions = new EventSubscriptionsImpl(reactive.runner("events"));
+    this.subscriptions = new EventSubscriptionsImpl();
+    this.watchExecutor =
+        Executors.newCachedThreadPool(
+            new ThreadFactoryBuilder().setNameFormat("store.watch-%d").setDaemon(true).build());
+    this.debounceExecutor =
+        Executors.newSingleThreadScheduledExecutor(
+            new ThreadFactoryBuilder().setNameFormat("store.reload-%d").setDaemon(true).build());
     this.writableSource = Optional.empty();
     this.isReadOnly = !store.isWritable();
   }
@@ -74,6 +92,12 @@ public class EventStoreDefault implements EventStore, AppLifeCycle {
     this.store = store;
     this.drivers = () -> Set.of(eventStoreDriver);
     this.subscriptions = subscriptions;
+    this.watchExecutor =
+        Executors.newCachedThreadPool(
+            new ThreadFactoryBuilder().setNameFormat("store.watch-%d").setDaemon(true).build());
+    this.debounceExecutor =
+        Executors.newSingleThreadScheduledExecutor(
+            new ThreadFactoryBuilder().setNameFormat("store.reload-%d").setDaemon(true).build());
     this.isReadOnly = !store.isWritable();
   }
 
@@ -82,6 +106,11 @@ public class EventStoreDefault implements EventStore, AppLifeCycle {
     return 10;
   }
 
+  @Override
+  public void init(AppConfiguration configuration, Environment environment) {
+    subscriptions.registerMetrics(environment.metrics());
+  }
+
   @Override
   public CompletionStage<Void> onStart(boolean isStartupAsync) {
     EventFilter startupFilter = getStartupFilter();
@@ -90,13 +119,7 @@ public class EventStoreDefault implements EventStore, AppLifeCycle {
     this.writableSource =
         Lists.reverse(sources).stream().filter(source -> source.getMode() == Mode.RW).findFirst();
 
-    sources.forEach(
-        source -> {
-          Optional<EventStoreDriver> driver =
-              findDriver(source, source.getContent() != Content.ALL);
-
-          driver.ifPresent(eventStoreDriver -> load(source, eventStoreDriver, startupFilter));
-        });
+    loadAll(sources, startupFilter);
 
     // replay done
     subscriptions.startListening();
@@ -119,40 +142,101 @@ public class EventStoreDefault implements EventStore, AppLifeCycle {
     return CompletableFuture.completedFuture(null);
   }
 
-  private void load(StoreSource storeSource, EventStoreDriver driver, EventFilter startupFilter) {
-    driver
-        .load(storeSource)
-        .peek(
-            event -> {
-              if (LOGGER.isTraceEnabled()) {
-                LOGGER.trace(
-                    "{} {}", startupFilter.matches(event) ? "Loading" : "Skipping", event.asPath());
-              }
-            })
-        .filter(startupFilter::matches)
-        .forEach(subscriptions::emitEvent);
+  @Override
+  public void onStop() {
+    watchExecutor.shutdownNow();
+    debounceExecutor.shutdownNow();
+  }
+
+  // sources are read and filtered in parallel, but emitted one after the other in the
+  // configured order, since later sources may override earlier ones
+  private void loadAll(List<StoreSource> sources, EventFilter startupFilter) {
+    ExecutorService executor =
+        Executors.newFixedThreadPool(
+            Math.max(1, Math.min(sources.size(), MAX_LOAD_THREADS)),
+            new ThreadFactoryBuilder().setNameFormat("store.load-%d").build());
+    List<Tuple<StoreSource, CompletableFuture<List<EntityEvent>>>> loading = new ArrayList<>();
+
+    try {
+      for (StoreSource source : sources) {
+        Optional<EventStoreDriver> driver = findDriver(source, source.getContent() != Content.ALL);
+
+        driver.ifPresent(
+            eventStoreDriver ->
+                loading.add(
+                    Tuple.of(
+                        source,
+                        CompletableFuture.supplyAsync(
+                            () -> read(source, eventStoreDriver, startupFilter), executor))));
+      }
+
+      for (Tuple<StoreSource, CompletableFuture<List<EntityEvent>>> sourceAndEvents : loading) {
+        List<EntityEvent> events = sourceAndEvents.second().join();
+        long start = System.nanoTime();
+
+        events.forEach(subscriptions::emitEvent);
+
+        if (LOGGER.isDebugEnabled()) {
+          LOGGER.debug(
+              "Emitted {} events from store source {} in {}ms",
+              events.size(),
+              sourceAndEvents.first().getLabel(),
+              (System.nanoTime() - start) / 1_000_000);
+        }
+      }
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  private List<EntityEvent> read(
+      StoreSource storeSource, EventStoreDriver driver, EventFilter startupFilter) {
+    long start = System.nanoTime();
+
+    List<EntityEvent> events =
+        driver
+            .load(storeSource)
+            .peek(
+                event -> {
+                  if (LOGGER.isTraceEnabled()) {
+                    LOGGER.trace(
+                        "{} {}",
+                        startupFilter.matches(event) ? "Loading" : "Skipping",
+                        event.asPath());
+                  }
+                })
+            .filter(startupFilter::matches)
+            .collect(Collectors.toList());
+
+    if (LOGGER.isDebugEnabled()) {
+      LOGGER.debug(
+          "Read {} events from store source {} in {}ms",
+          events.size(),
+          storeSource.getLabel(),
+          (System.nanoTime() - start) / 1_000_000);
+    }
+
+    return events;
   }
 
   private void watch(StoreSource storeSource, EventStoreDriver driver) {
     if (store.isWatchable() && storeSource.isWatchable() && driver.canWatch()) {
-      // NOPMD - TODO: executor
-      new Thread(
-              () ->
-                  driver
-                      .watcher()
-                      .listen(
-                          storeSource,
-                          changedFiles -> {
-                            LOGGER.info("Store changes detected: {}", changedFiles);
-                            EventFilter replayFilter = EventFilter.fromPaths(changedFiles);
-
-                            if (LOGGER.isTraceEnabled()) {
-                              LOGGER.trace("Replay filter {}", replayFilter);
-                            }
-
-                            replay(replayFilter, false, List.of());
-                          }))
-          .start();
+      ChangeDebouncer debouncer =
+          new ChangeDebouncer(
+              debounceExecutor,
+              store.getWatchDebounce().toMilliseconds(),
+              changedFiles -> {
+                LOGGER.info("Store changes detected: {}", changedFiles);
+                EventFilter replayFilter = EventFilter.fromPaths(changedFiles);
+
+                if (LOGGER.isTraceEnabled()) {
+                  LOGGER.trace("Replay filter {}", replayFilter);
+                }
+
+                replay(replayFilter, false, List.of());
+              });
+
+      watchExecutor.execute(() -> driver.watcher().listen(storeSource, debouncer));
     }
   }
 
@@ -317,11 +401,12 @@ public class EventStoreDefault implements EventStore, AppLifeCycle {
                                   .type(EntityDataDefaultsStore.EVENT_TYPE)
                                   .deleted(true)
                                   .identifier(
-                                      ImmutableIdentifier.builder()
-                                          .id(id)
-                                          .path(event.identifier().path())
-                                          .addPath(event.identifier().id())
-                                          .build())
+                                      Identifier.intern(
+                                          ImmutableIdentifier.builder()
+                                              .id(id)
+                                              .path(event.identifier().path())
+                                              .addPath(event.identifier().id())
+                                              .build()))
                                   .payload(ValueEncodingJackson.YAML_NULL)
                                   .format(FORMAT.YAML.name())
                                   .build());
@@ -333,11 +418,7 @@ public class EventStoreDefault implements EventStore, AppLifeCycle {
                           ImmutableReplayEvent.builder()
                               .type(EntityDataDefaultsStore.EVENT_TYPE)
                               .deleted(true)
-                              .identifier(
-                                  ImmutableIdentifier.builder()
-                                      .id(id)
-                                      .path(event.identifier().path())
-                                      .build())
+                              .identifier(Identifier.from(id, event.identifier().path()))
                               .payload(ValueEncodingJackson.YAML_NULL)
                               .format(FORMAT.YAML.name())
                               .build());
@@ -352,27 +433,18 @@ public class EventStoreDefault implements EventStore, AppLifeCycle {
             .sorted(Comparator.naturalOrder())
             .collect(Collectors.toList());
 
-    if (doDelete) {
-      deleteEvents.forEach(
-          event -> {
-            subscriptions.emitEvent(event);
-            try {
-              Thread.sleep(50);
-            } catch (InterruptedException e) {
-              // ignore
-            }
-          });
+    if (doDelete && !deleteEvents.isEmpty()) {
+      subscriptions.emitBatch(deleteEvents.stream().sorted().collect(Collectors.toList()));
+    }
+
+    if (LOGGER.isDebugEnabled()) {
+      LOGGER.debug(
+          "Replaying {} events{}",
+          eventStream.size(),
+          doDelete ? String.format(" after %d deletes", deleteEvents.size()) : "");
     }
 
-    eventStream.forEach(
-        event -> {
-          subscriptions.emitEvent(event);
-          try {
-            Thread.sleep(50);
-          } catch (InterruptedException e) {
-            // ignore
-          }
-        });
+    subscriptions.emitBatch(eventStream);
   }
 
   private EventFilter getStartupFilter() {
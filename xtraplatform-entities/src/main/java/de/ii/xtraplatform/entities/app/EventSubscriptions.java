@@ -7,8 +7,10 @@
  */
 package de.ii.xtraplatform.entities.app;
 
+import com.codahale.metrics.MetricRegistry;
 import de.ii.xtraplatform.entities.domain.EventStoreSubscriber;
 import de.ii.xtraplatform.entities.domain.TypedEvent;
+import java.util.List;
 
 public interface EventSubscriptions {
 
@@ -16,5 +18,16 @@ public interface EventSubscriptions {
 
   void emitEvent(TypedEvent event);
 
+  /**
+   * Emits the given events, every run of consecutive events with the same type is framed by
+   * BatchEvent markers. Blocks until all subscribers have processed a run before emitting the next
+   * one, so the order between different types is preserved.
+   */
+  default void emitBatch(List<? extends TypedEvent> events) {
+    events.forEach(this::emitEvent);
+  }
+
   void startListening();
+
+  default void registerMetrics(MetricRegistry metrics) {}
 }
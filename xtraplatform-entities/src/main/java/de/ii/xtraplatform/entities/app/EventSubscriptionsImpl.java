@@ -7,24 +7,32 @@
  */
 package de.ii.xtraplatform.entities.app;
 
+import com.codahale.metrics.MetricRegistry;
 import com.google.common.util.concurrent.MoreExecutors;
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import de.ii.xtraplatform.base.domain.LogContext;
 import de.ii.xtraplatform.base.domain.LogContext.MARKER;
+import de.ii.xtraplatform.entities.domain.BatchEvent;
 import de.ii.xtraplatform.entities.domain.EntityEvent;
 import de.ii.xtraplatform.entities.domain.EventStoreSubscriber;
+import de.ii.xtraplatform.entities.domain.ImmutableBatchEvent;
 import de.ii.xtraplatform.entities.domain.ImmutableStateChangeEvent;
 import de.ii.xtraplatform.entities.domain.StateChangeEvent;
 import de.ii.xtraplatform.entities.domain.TypedEvent;
-import de.ii.xtraplatform.streams.domain.Event;
-import de.ii.xtraplatform.streams.domain.EventStream;
-import de.ii.xtraplatform.streams.domain.Reactive;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
 import org.slf4j.Logger;
@@ -33,26 +41,42 @@ import org.slf4j.LoggerFactory;
 public class EventSubscriptionsImpl implements EventSubscriptions {
 
   private static final Logger LOGGER = LoggerFactory.getLogger(EventSubscriptionsImpl.class);
+  private static final long BATCH_TIMEOUT_S = 60;
+  private static final int BUS_CAPACITY = 1024;
 
-  private final Map<String, EventStream<Event>> eventStreams;
-  private final Reactive.Runner streamRunner;
+  private final Map<String, DispatchLane> lanes;
+  private final Map<String, AtomicInteger> subscriberCounts;
+  private final Map<Long, PendingBatch> pendingBatches;
+  private final AtomicLong batchIds;
   private final ExecutorService executorService;
-  private final Lock instanceLock;
-  private boolean isStarted;
+  private final ExecutorService dispatcher;
+  private volatile boolean isStarted;
+  private volatile Optional<MetricRegistry> metrics;
 
-  protected EventSubscriptionsImpl(Reactive.Runner streamRunner) {
-    this.eventStreams = new ConcurrentHashMap<>();
-    this.streamRunner = streamRunner;
+  protected EventSubscriptionsImpl() {
+    this.lanes = new ConcurrentHashMap<>();
+    this.subscriberCounts = new ConcurrentHashMap<>();
+    this.pendingBatches = new ConcurrentHashMap<>();
+    this.batchIds = new AtomicLong();
     this.executorService =
         MoreExecutors.getExitingExecutorService(
             (ThreadPoolExecutor)
                 Executors.newFixedThreadPool(
                     1, new ThreadFactoryBuilder().setNameFormat("events-%d").build()));
-    this.instanceLock = new ReentrantLock();
+    this.dispatcher =
+        MoreExecutors.getExitingExecutorService(
+            (ThreadPoolExecutor)
+                Executors.newCachedThreadPool(
+                    new ThreadFactoryBuilder().setNameFormat("events.dispatch-%d").build()));
+    this.metrics = Optional.empty();
   }
 
   @Override
-  @SuppressWarnings({"PMD.AvoidInstantiatingObjectsInLoops", "PMD.CognitiveComplexity"})
+  @SuppressWarnings({
+    "PMD.AvoidInstantiatingObjectsInLoops",
+    "PMD.CognitiveComplexity",
+    "PMD.AvoidCatchingGenericException"
+  })
   public void addSubscriber(EventStoreSubscriber subscriber) {
     executorService.submit(
         () -> {
@@ -66,10 +90,15 @@ public class EventSubscriptionsImpl implements EventSubscriptions {
                 subscriber);
           }
 
+          // the event types of one subscriber share its state, so they are never dispatched
+          // concurrently, but different subscribers are
+          Lock subscriberLock = new ReentrantLock();
+
           for (String eventType : subscriber.getEventTypes()) {
-            EventStream<Event> eventStream = getEventStream(eventType);
+            DispatchLane lane = getLane(eventType);
             CompletableFuture<Void> cmp = new CompletableFuture<>();
-            eventStream.foreach(
+            subscriberCounts.computeIfAbsent(eventType, t -> new AtomicInteger()).incrementAndGet();
+            lane.subscribe(
                 event -> {
                   if (event instanceof StateChangeEvent
                       && ((StateChangeEvent) event).state() == StateChangeEvent.STATE.LISTENING) {
@@ -81,9 +110,9 @@ public class EventSubscriptionsImpl implements EventSubscriptions {
                     return;
                   }
 
-                  // only emit one event at a time
+                  // only emit one event at a time per subscriber
                   try {
-                    instanceLock.lock();
+                    subscriberLock.lock();
 
                     if (LOGGER.isTraceEnabled() && event instanceof EntityEvent) {
                       LOGGER.trace(
@@ -98,8 +127,15 @@ public class EventSubscriptionsImpl implements EventSubscriptions {
                           ((EntityEvent) event).type(),
                           ((EntityEvent) event).identifier());
                     }
+                  } catch (RuntimeException e) {
+                    LogContext.error(LOGGER, e, "Processing event of type {} failed", eventType);
                   } finally {
-                    instanceLock.unlock();
+                    subscriberLock.unlock();
+                  }
+
+                  if (event instanceof BatchEvent
+                      && ((BatchEvent) event).state() == BatchEvent.STATE.END) {
+                    acknowledge(((BatchEvent) event).batch());
                   }
                 });
             cmp.join();
@@ -110,57 +146,131 @@ public class EventSubscriptionsImpl implements EventSubscriptions {
 
   @Override
   public void emitEvent(TypedEvent event) {
-    try {
-      instanceLock.lock();
+    if (LOGGER.isTraceEnabled() && event instanceof EntityEvent) {
+      LOGGER.trace("Emitting event: {} {}", event.type(), ((EntityEvent) event).identifier());
+    }
+
+    getLane(event.type()).publish(event);
+  }
+
+  @Override
+  public void emitBatch(List<? extends TypedEvent> events) {
+    int start = 0;
 
-      if (LOGGER.isTraceEnabled() && event instanceof EntityEvent) {
-        LOGGER.trace("Emitting event: {} {}", event.type(), ((EntityEvent) event).identifier());
+    while (start < events.size()) {
+      String type = events.get(start).type();
+      int end = start + 1;
+      while (end < events.size() && Objects.equals(events.get(end).type(), type)) {
+        end++;
       }
-      final EventStream<Event> eventStream = getEventStream(event.type());
 
-      eventStream.queue(event);
+      emitRun(type, events.subList(start, end));
+      start = end;
+    }
+  }
+
+  private void emitRun(String type, List<? extends TypedEvent> events) {
+    long batch = batchIds.incrementAndGet();
+    int expected = subscriberCounts.getOrDefault(type, new AtomicInteger()).get();
+    PendingBatch pending = new PendingBatch(expected);
+
+    if (expected > 0) {
+      pendingBatches.put(batch, pending);
+    }
+
+    emitEvent(batchMarker(type, batch, events.size(), BatchEvent.STATE.START));
+    events.forEach(this::emitEvent);
+    emitEvent(batchMarker(type, batch, events.size(), BatchEvent.STATE.END));
+
+    if (expected == 0) {
+      return;
+    }
+
+    try {
+      pending.done.get(BATCH_TIMEOUT_S, TimeUnit.SECONDS);
+      if (LOGGER.isTraceEnabled()) {
+        LOGGER.trace("BATCH DONE: {} {} ({} events)", type, batch, events.size());
+      }
+    } catch (TimeoutException e) {
+      LOGGER.warn(
+          "Subscribers for '{}' did not process a batch of {} events within {}s, continuing",
+          type,
+          events.size(),
+          BATCH_TIMEOUT_S);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } catch (ExecutionException e) {
+      // never completed exceptionally
     } finally {
-      instanceLock.unlock();
+      pendingBatches.remove(batch);
+    }
+  }
+
+  private void acknowledge(long batch) {
+    PendingBatch pending = pendingBatches.get(batch);
+
+    if (Objects.nonNull(pending) && pending.remaining.decrementAndGet() <= 0) {
+      pending.done.complete(null);
     }
   }
 
+  private static BatchEvent batchMarker(
+      String type, long batch, int size, BatchEvent.STATE state) {
+    return ImmutableBatchEvent.builder().type(type).batch(batch).size(size).state(state).build();
+  }
+
   @Override
   public void startListening() {
-    eventStreams
+    lanes
         .values()
         .forEach(
-            eventStream ->
-                emitStateChange(
-                    eventStream, StateChangeEvent.STATE.LISTENING, eventStream.getEventType()));
+            lane -> {
+              emitStateChange(lane, StateChangeEvent.STATE.LISTENING, lane.getEventType());
+              // subscribers that arrive after the replay only get the recent events
+              lane.releaseHistory();
+            });
     this.isStarted = true;
   }
 
-  private EventStream<Event> getEventStream(String eventType) {
-    try {
-      instanceLock.lock();
+  @Override
+  public void registerMetrics(MetricRegistry metricRegistry) {
+    this.metrics = Optional.of(metricRegistry);
+    lanes.values().forEach(lane -> lane.registerMetrics(metricRegistry));
+  }
 
-      Objects.requireNonNull(eventType, "eventType may not be null");
-      return eventStreams.computeIfAbsent(eventType, prefix -> createEventStream(eventType));
-    } finally {
-      instanceLock.unlock();
-    }
+  private DispatchLane getLane(String eventType) {
+    Objects.requireNonNull(eventType, "eventType may not be null");
+
+    return lanes.computeIfAbsent(eventType, prefix -> createLane(eventType));
   }
 
-  private EventStream<Event> createEventStream(String eventType) {
-    EventStream<Event> eventStream = new EventStream<>(streamRunner, eventType);
+  private DispatchLane createLane(String eventType) {
+    DispatchLane lane = new DispatchLane(eventType, BUS_CAPACITY, dispatcher);
 
-    emitStateChange(eventStream, StateChangeEvent.STATE.REPLAYING, eventType);
+    emitStateChange(lane, StateChangeEvent.STATE.REPLAYING, eventType);
 
     // should only happen if there is no replay, so order would be correct
     if (isStarted) {
-      emitStateChange(eventStream, StateChangeEvent.STATE.LISTENING, eventType);
+      emitStateChange(lane, StateChangeEvent.STATE.LISTENING, eventType);
+      lane.releaseHistory();
     }
 
-    return eventStream;
+    metrics.ifPresent(lane::registerMetrics);
+
+    return lane;
   }
 
-  private void emitStateChange(
-      EventStream<Event> eventStream, StateChangeEvent.STATE state, String type) {
-    eventStream.queue(ImmutableStateChangeEvent.builder().state(state).type(type).build());
+  private void emitStateChange(DispatchLane lane, StateChangeEvent.STATE state, String type) {
+    lane.publish(ImmutableStateChangeEvent.builder().state(state).type(type).build());
+  }
+
+  private static final class PendingBatch {
+    private final AtomicInteger remaining;
+    private final CompletableFuture<Void> done;
+
+    private PendingBatch(int expected) {
+      this.remaining = new AtomicInteger(expected);
+      this.done = new CompletableFuture<>();
+    }
   }
 }
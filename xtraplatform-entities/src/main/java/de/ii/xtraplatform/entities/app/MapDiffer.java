@@ -8,14 +8,51 @@
 package de.ii.xtraplatform.entities.app;
 
 import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 
 public final class MapDiffer {
 
   private MapDiffer() {}
 
+  /**
+   * The dot-separated key paths that were added, removed or changed from source to other. Nested
+   * maps are compared key by key, anything else, including lists, is compared as a whole.
+   */
+  public static Set<String> changedPaths(Map<String, Object> source, Map<String, Object> other) {
+    Set<String> result = new LinkedHashSet<>();
+
+    changedPaths(source, other, "", result);
+
+    return result;
+  }
+
+  @SuppressWarnings("unchecked")
+  private static void changedPaths(
+      Map<String, Object> source, Map<String, Object> other, String prefix, Set<String> result) {
+    source.forEach(
+        (key, value) -> {
+          String path = prefix + key;
+          Object otherValue = other.get(key);
+
+          if (!other.containsKey(key)) {
+            result.add(path);
+          } else if (value instanceof Map && otherValue instanceof Map) {
+            changedPaths(
+                (Map<String, Object>) value, (Map<String, Object>) otherValue, path + ".", result);
+          } else if (!Objects.equals(value, otherValue)) {
+            result.add(path);
+          }
+        });
+
+    other.keySet().stream()
+        .filter(key -> !source.containsKey(key))
+        .forEach(key -> result.add(prefix + key));
+  }
+
   @SuppressWarnings("PMD.ConfusingTernary")
   public static Map<String, String> diff(Map<String, Object> source, Map<String, Object> other) {
     Map<String, String> result = new LinkedHashMap<>();
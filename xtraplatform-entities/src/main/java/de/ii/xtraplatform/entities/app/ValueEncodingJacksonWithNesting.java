@@ -7,8 +7,10 @@
  */
 package de.ii.xtraplatform.entities.app;
 
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
 import com.google.common.collect.ImmutableMap;
 import de.ii.xtraplatform.base.domain.Jackson;
 import de.ii.xtraplatform.entities.domain.KeyPathAlias;
@@ -16,6 +18,8 @@ import de.ii.xtraplatform.entities.domain.ValueEncodingWithNesting;
 import de.ii.xtraplatform.values.api.ValueEncodingJackson;
 import io.dropwizard.util.DataSize;
 import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -37,6 +41,54 @@ public class ValueEncodingJacksonWithNesting<T> extends ValueEncodingJackson<T>
         .registerModule(EntityDeserialization.DESERIALIZE_API_BUILDINGBLOCK_MIGRATION);
   }
 
+  /**
+   * Converts a value to a plain map using the mapper of the default format, but without writing
+   * and parsing the intermediate text. Numbers get the same types as when parsing the text, i.e.
+   * Integer, Long or BigInteger depending on the size for integers and Double otherwise.
+   */
+  @SuppressWarnings("PMD.LooseCoupling")
+  public Map<String, Object> asMap(Object data) throws IOException {
+    ObjectMapper mapper = getMapper(getDefaultFormat());
+    TokenBuffer buffer = new TokenBuffer(mapper, false);
+
+    mapper.writeValue(buffer, data);
+
+    try (JsonParser parser = buffer.asParser()) {
+      Map<String, Object> map =
+          mapper.readerForUpdating(new LinkedHashMap<String, Object>()).readValue(parser);
+      map.replaceAll((key, value) -> asParsed(value));
+
+      return map;
+    }
+  }
+
+  // the token buffer keeps the Java types of numbers, e.g. Long or Float
+  @SuppressWarnings("unchecked")
+  private static Object asParsed(Object value) {
+    if (value instanceof Map) {
+      ((Map<String, Object>) value).replaceAll((key, nested) -> asParsed(nested));
+    } else if (value instanceof List) {
+      ((List<Object>) value).replaceAll(ValueEncodingJacksonWithNesting::asParsed);
+    } else if (value instanceof Float || value instanceof BigDecimal) {
+      // like the text that would be parsed
+      return Double.parseDouble(value.toString());
+    } else if (value instanceof Long || value instanceof Short || value instanceof Byte) {
+      long number = ((Number) value).longValue();
+      if (number >= Integer.MIN_VALUE && number <= Integer.MAX_VALUE) {
+        return (int) number;
+      }
+      return number;
+    } else if (value instanceof BigInteger) {
+      BigInteger number = (BigInteger) value;
+      if (number.bitLength() < Integer.SIZE) {
+        return number.intValue();
+      }
+      return number.bitLength() < Long.SIZE ? number.longValue() : number;
+    }
+
+    return value;
+  }
+
   @Override
   @SuppressWarnings({
     "PMD.AvoidCatchingGenericException",
@@ -79,8 +79,14 @@ public abstract class AbstractEntityFactory<
   }
 
   @Override
-  @SuppressWarnings("PMD.AvoidCatchingGenericException")
   public CompletableFuture<PersistentEntity> updateInstance(EntityData entityData, boolean force) {
+    return updateInstance(entityData, force, Optional.empty());
+  }
+
+  @Override
+  @SuppressWarnings("PMD.AvoidCatchingGenericException")
+  public CompletableFuture<PersistentEntity> updateInstance(
+      EntityData entityData, boolean force, Optional<Set<String>> changes) {
     String id = entityData.getId();
     String entityTypeSingular = type().substring(0, type().length() - 1);
     U instance = instances.get(id);
@@ -113,7 +119,7 @@ public abstract class AbstractEntityFactory<
 
       if (Objects.nonNull(instance)) {
         try {
-          instance.setData((T) entityData, force);
+          instance.setData((T) entityData, force, changes);
           try {
             instanceLock.lock();
 
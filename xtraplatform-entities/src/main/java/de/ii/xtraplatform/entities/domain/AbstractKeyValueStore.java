@@ -57,6 +57,11 @@ public abstract class AbstractKeyValueStore<T> extends AbstractVolatile
     return getEventSourcing().has(matcher);
   }
 
+  @Override
+  public boolean hasAny(String... path) {
+    return getEventSourcing().hasAny(path);
+  }
+
   @Override
   public T get(Identifier identifier) {
     return getEventSourcing().get(identifier);
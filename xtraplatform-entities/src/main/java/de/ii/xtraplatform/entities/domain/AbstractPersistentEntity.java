@@ -7,6 +7,7 @@
  */
 package de.ii.xtraplatform.entities.domain;
 
+import com.google.common.collect.Sets;
 import com.google.common.util.concurrent.MoreExecutors;
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import de.ii.xtraplatform.base.domain.LogContext;
@@ -15,6 +16,8 @@ import de.ii.xtraplatform.base.domain.resiliency.VolatileRegistry;
 import de.ii.xtraplatform.entities.app.ChangingDataImpl;
 import java.util.List;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
@@ -53,6 +56,8 @@ public abstract class AbstractPersistentEntity<T extends EntityData>
   private EntityState.STATE state;
   private EntityState.STATE previousState;
   private boolean forceReload;
+  private Optional<Set<String>> changes;
+  private boolean changesPending;
 
   public AbstractPersistentEntity(
       T data, VolatileRegistry volatileRegistry, String... capabilities) {
@@ -68,6 +73,8 @@ public abstract class AbstractPersistentEntity<T extends EntityData>
     this.data = data;
     this.previousState = STATE.UNKNOWN;
     this.forceReload = false;
+    this.changes = Optional.empty();
+    this.changesPending = false;
     this.state = STATE.LOADING;
   }
 
@@ -84,22 +91,53 @@ public abstract class AbstractPersistentEntity<T extends EntityData>
   // @Property(name = Entity.DATA_KEY) // is ignored here, but added by @Entity handler
   @SuppressWarnings("PMD.InvalidLogMessageFormat")
   public final void setData(T data, boolean force) {
+    setData(data, force, Optional.empty());
+  }
+
+  /** @param changes the key paths that were changed, empty if unknown */
+  @SuppressWarnings("PMD.InvalidLogMessageFormat")
+  public final void setData(T data, boolean force, Optional<Set<String>> changes) {
     if (LOGGER.isTraceEnabled()) {
       LOGGER.trace("GOT DATA {}" /*, data*/);
     }
     T previous = this.data;
     this.data = data;
-    this.forceReload = force;
 
     if (force
         || Objects.nonNull(previous) && !Objects.equals(previous.hashCode(), data.hashCode())) {
       if (LOGGER.isTraceEnabled()) {
         LOGGER.trace("RELOAD DATA {} {}", previous.hashCode(), data.hashCode());
       }
+      addPendingChanges(force, changes);
       onReload();
     }
   }
 
+  // a reload might cancel a previous one that did not finish yet, so the changes of all pending
+  // reloads are merged, if one of them is unknown the merged changes are unknown as well
+  private synchronized void addPendingChanges(boolean force, Optional<Set<String>> changes) {
+    if (!changesPending) {
+      this.forceReload = force;
+      this.changes = changes;
+      this.changesPending = true;
+      return;
+    }
+
+    this.forceReload = forceReload || force;
+    this.changes =
+        this.changes.isPresent() && changes.isPresent()
+            ? Optional.of(Sets.union(this.changes.get(), changes.get()).immutableCopy())
+            : Optional.empty();
+  }
+
+  private synchronized Optional<Set<String>> takePendingChanges() {
+    Optional<Set<String>> pending = changes;
+    this.changes = Optional.empty();
+    this.changesPending = false;
+
+    return pending;
+  }
+
   // @Validate // is ignored here, but added by @EntityComponent stereotype
   public final void onValidate() {
     try (MDC.MDCCloseable ignored = LogContext.putCloseable(LogContext.CONTEXT.SERVICE, getId())) {
@@ -190,6 +228,7 @@ public abstract class AbstractPersistentEntity<T extends EntityData>
     if (LOGGER.isTraceEnabled()) {
       LOGGER.trace("MANUAL RELOAD");
     }
+    addPendingChanges(false, Optional.empty());
 
     executorService.submit(
         () -> {
@@ -206,8 +245,15 @@ public abstract class AbstractPersistentEntity<T extends EntityData>
         LOGGER.trace("RELOADED {} {} {} {}", getType(), getId(), shouldRegister(), register);
       }
 
+      boolean force;
+      Optional<Set<String>> reloadedChanges;
+      synchronized (this) {
+        force = forceReload;
+        reloadedChanges = takePendingChanges();
+      }
+
       if (register) {
-        onReloaded(forceReload);
+        onReloaded(force, reloadedChanges);
         setState(STATE.ACTIVE);
         onVolatileStarted();
       } else {
@@ -271,6 +317,14 @@ public abstract class AbstractPersistentEntity<T extends EntityData>
 
   protected void onReloaded(boolean forceReload) {}
 
+  /**
+   * Like {@link #onReloaded(boolean)}, but with the key paths that were changed, so only the
+   * affected parts have to be updated. {@code changes} is empty if they are not known.
+   */
+  protected void onReloaded(boolean forceReload, Optional<Set<String>> changes) {
+    onReloaded(forceReload);
+  }
+
   protected void onShutdown() {}
 
   protected void onStopped() {}
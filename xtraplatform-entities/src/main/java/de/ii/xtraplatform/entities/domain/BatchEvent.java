@@ -0,0 +1,30 @@
+/*
+ * Copyright 2026 interactive instruments GmbH
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package de.ii.xtraplatform.entities.domain;
+
+import org.immutables.value.Value;
+
+/**
+ * Marks the start and the end of a batch of events of the same type, e.g. during a replay. The
+ * emitter waits until every subscriber has processed the END marker before emitting the next
+ * batch.
+ */
+@Value.Immutable
+@Value.Style(get = "*")
+public interface BatchEvent extends TypedEvent {
+  enum STATE {
+    START,
+    END
+  }
+
+  STATE state();
+
+  long batch();
+
+  int size();
+}
@@ -56,6 +56,12 @@ public interface EntityFactory {
 
   CompletableFuture<PersistentEntity> updateInstance(EntityData entityData, boolean force);
 
+  /** @param changes the key paths that were changed, empty if unknown */
+  default CompletableFuture<PersistentEntity> updateInstance(
+      EntityData entityData, boolean force, Optional<Set<String>> changes) {
+    return updateInstance(entityData, force);
+  }
+
   void deleteInstance(String id);
 
   default EntityData hydrateData(EntityData entityData) {
@@ -89,6 +89,11 @@ public interface EntityStoreDecorator<T extends EntityData, U extends T>
     return getDecorated().has(matcher);
   }
 
+  @Override
+  default boolean hasAny(String... path) {
+    return getDecorated().hasAny(transformPath(path));
+  }
+
   @Override
   default U get(Identifier identifier) {
     return (U) getDecorated().get(identifier);
@@ -11,11 +11,13 @@ import com.google.common.base.Joiner;
 import com.google.common.base.Splitter;
 import com.google.common.base.Strings;
 import com.google.common.collect.ImmutableList;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import de.ii.xtraplatform.base.domain.LogContext;
 import de.ii.xtraplatform.base.domain.StoreSource;
 import de.ii.xtraplatform.base.domain.StoreSource.Content;
+import de.ii.xtraplatform.base.domain.util.Tuple;
 import de.ii.xtraplatform.values.domain.Identifier;
-import de.ii.xtraplatform.values.domain.ImmutableIdentifier;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
@@ -24,6 +26,11 @@ import java.util.List;
 import java.util.Locale;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.function.Function;
 import java.util.function.Supplier;
 import java.util.regex.Matcher;
@@ -46,6 +53,14 @@ public class EventSource {
   private static final String PATH_GROUP = "path";
   private static final String ID_GROUP = "id";
   private static final String FORMAT_GROUP = "format";
+  private static final int MAX_READ_THREADS = 8;
+  // shared by all sources, reading the payloads is blocking I/O, so it must not use the common pool
+  private static final ExecutorService READ_EXECUTOR =
+      MoreExecutors.getExitingExecutorService(
+          (ThreadPoolExecutor)
+              Executors.newFixedThreadPool(
+                  MAX_READ_THREADS,
+                  new ThreadFactoryBuilder().setNameFormat("entities.read-%d").build()));
 
   private final Path path;
 
@@ -86,13 +101,31 @@ public class EventSource {
         .flatMap(
             pathPattern -> {
               try {
-                return reader
-                    .load(getPath(), source.getIncludes(), source.getExcludes())
-                    .map(
-                        pathAndPayload ->
-                            pathToEvent(
-                                pathPattern, pathAndPayload.first(), pathAndPayload.second()))
-                    .filter(Objects::nonNull);
+                List<Tuple<Path, Supplier<byte[]>>> files =
+                    reader
+                        .load(getPath(), source.getIncludes(), source.getExcludes())
+                        .collect(Collectors.toList());
+
+                // listing is sequential, reading the payloads is done in parallel
+                List<CompletableFuture<EntityEvent>> events =
+                    files.stream()
+                        .map(
+                            pathAndPayload ->
+                                CompletableFuture.supplyAsync(
+                                        () ->
+                                            pathToEvent(
+                                                pathPattern,
+                                                pathAndPayload.first(),
+                                                pathAndPayload.second()),
+                                        READ_EXECUTOR)
+                                    .exceptionally(e -> skipFile(pathAndPayload.first(), e)))
+                        .collect(Collectors.toList());
+
+                return events.stream()
+                    .map(CompletableFuture::join)
+                    .filter(Objects::nonNull)
+                    .collect(Collectors.toList())
+                    .stream();
               } catch (Throwable e) {
                 LogContext.error(LOGGER, e, "Loading {} failed.", getSource().getLabel());
               }
@@ -101,6 +134,18 @@ public class EventSource {
         .sorted(Comparator.naturalOrder());
   }
 
+  // a single unreadable or malformed file only skips that file, not the whole source
+  private EntityEvent skipFile(Path file, Throwable error) {
+    Throwable cause =
+        error instanceof CompletionException && Objects.nonNull(error.getCause())
+            ? error.getCause()
+            : error;
+    LogContext.error(
+        LOGGER, cause, "Loading {} failed, skipping {}.", getSource().getLabel(), file);
+
+    return null;
+  }
+
   public Path getSavePath(EntityEvent event) {
     return getEventPath(event.type(), event.identifier(), event.format(), mainPathPatternWrite);
   }
@@ -163,7 +208,7 @@ public class EventSource {
 
     return ImmutableReplayEvent.builder()
         .type(eventType)
-        .identifier(ImmutableIdentifier.builder().id(eventId).path(eventPathSegments).build())
+        .identifier(Identifier.from(eventId, eventPathSegments))
         .payload(bytes)
         .format(eventPayloadFormat.orElse(null))
         .source(source.getLabel())
@@ -16,12 +16,24 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.PathMatcher;
+import java.nio.file.attribute.BasicFileAttributes;
 import java.util.List;
+import java.util.Optional;
 import java.util.function.Supplier;
 import java.util.stream.Stream;
 
 class EventReaderDir implements EventReader {
 
+  private final Optional<EventSnapshot> snapshot;
+
+  EventReaderDir() {
+    this(Optional.empty());
+  }
+
+  EventReaderDir(Optional<EventSnapshot> snapshot) {
+    this.snapshot = snapshot;
+  }
+
   @Override
   public Stream<Tuple<Path, Supplier<byte[]>>> load(
       Path sourcePath, List<String> includes, List<String> excludes) throws IOException {
@@ -44,7 +56,21 @@ class EventReaderDir implements EventReader {
                 && excludes.stream().noneMatch(exclude -> exclude.matches(path)));
   }
 
-  private static byte[] readPayload(Path path) throws IOException {
-    return Files.readAllBytes(path);
+  private byte[] readPayload(Path path) throws IOException {
+    if (snapshot.isEmpty()) {
+      return Files.readAllBytes(path);
+    }
+
+    BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+    Optional<byte[]> unchanged = snapshot.get().get(path, attributes);
+
+    if (unchanged.isPresent()) {
+      return unchanged.get();
+    }
+
+    byte[] payload = Files.readAllBytes(path);
+    snapshot.get().record(path, attributes, payload);
+
+    return payload;
   }
 }
@@ -0,0 +1,262 @@
+/*
+ * Copyright 2026 interactive instruments GmbH
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package de.ii.xtraplatform.entities.infra;
+
+import com.google.common.io.CountingInputStream;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Binary snapshot of the payloads of a store source directory. Every entry carries the
+ * fingerprint (modification time and size) of the file it was read from, so on the next start
+ * only files that were added or changed since have to be read again. The snapshot as a whole is
+ * stale if an entry changed or if the set of paths seen during the last load differs from the
+ * paths in the snapshot, i.e. files were added or removed.
+ *
+ * <p>Modification times have a coarse granularity on some filesystems, so a file that is rewritten
+ * with the same size shortly after it was read might keep its mtime. Like git does for its index,
+ * entries whose mtime is not older than the time they were read minus {@link #MTIME_GRANULARITY_MS}
+ * are treated as unverified and read again.
+ *
+ * <p>Only reading the file contents is saved, every file is still checked for changes and all
+ * events are still parsed and replayed on startup.
+ *
+ * <p>Layout: MAGIC and VERSION, then a sequence of records with path, mtime, size, read time,
+ * payload length and payload. A later record for the same path replaces an earlier one, a payload
+ * length of -1 marks a removed path. Changes are appended to the existing file, it is only
+ * rewritten when the replaced records outnumber the live ones or when it could not be read
+ * completely. A snapshot with a different magic or version is ignored.
+ */
+class EventSnapshot {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(EventSnapshot.class);
+
+  private static final int MAGIC = 0x78707373;
+  private static final int VERSION = 3;
+  private static final long MTIME_GRANULARITY_MS = 2000;
+  private static final int REMOVED = -1;
+
+  private final Path file;
+  private final Map<String, Entry> previous;
+  private final int records;
+  private final boolean appendable;
+  private final Map<String, Entry> changed;
+  private final Set<String> seen;
+  private final AtomicInteger hits;
+
+  EventSnapshot(Path file) {
+    Contents contents = read(file);
+
+    this.file = file;
+    this.previous = contents.entries;
+    this.records = contents.records;
+    this.appendable = contents.complete;
+    this.changed = new ConcurrentHashMap<>();
+    this.seen = ConcurrentHashMap.newKeySet();
+    this.hits = new AtomicInteger();
+  }
+
+  Optional<byte[]> get(Path path, BasicFileAttributes attributes) {
+    Entry entry = previous.get(path.toString());
+
+    if (Objects.isNull(entry)
+        || entry.mtime != attributes.lastModifiedTime().toMillis()
+        || entry.size != attributes.size()
+        || entry.mtime >= entry.readAt - MTIME_GRANULARITY_MS) {
+      return Optional.empty();
+    }
+
+    seen.add(path.toString());
+    hits.incrementAndGet();
+
+    return Optional.of(entry.payload);
+  }
+
+  void record(Path path, BasicFileAttributes attributes, byte[] payload) {
+    seen.add(path.toString());
+    changed.put(
+        path.toString(),
+        new Entry(
+            attributes.lastModifiedTime().toMillis(),
+            attributes.size(),
+            System.currentTimeMillis(),
+            payload));
+  }
+
+  void save() {
+    Set<String> removed =
+        previous.keySet().stream().filter(path -> !seen.contains(path)).collect(Collectors.toSet());
+
+    if (appendable && changed.isEmpty() && removed.isEmpty()) {
+      return;
+    }
+
+    int live = seen.size();
+    boolean rewrite =
+        !appendable || records + changed.size() + removed.size() > 2 * Math.max(live, 1);
+
+    try {
+      if (rewrite) {
+        rewrite();
+      } else {
+        append(removed);
+      }
+    } catch (IOException e) {
+      LOGGER.warn("Could not save store snapshot {}: {}", file, e.getMessage());
+    }
+
+    if (LOGGER.isDebugEnabled()) {
+      LOGGER.debug(
+          "Store snapshot {}: {} of {} files unchanged, {}",
+          file.getFileName(),
+          hits.get(),
+          live,
+          rewrite ? "rewritten" : "appended");
+    }
+  }
+
+  private void rewrite() throws IOException {
+    Files.createDirectories(file.getParent());
+    Path tmp = Files.createTempFile(file.getParent(), file.getFileName().toString(), ".tmp");
+
+    try (DataOutputStream out = open(Files.newOutputStream(tmp))) {
+      out.writeInt(MAGIC);
+      out.writeInt(VERSION);
+
+      for (String path : seen) {
+        Entry entry = changed.containsKey(path) ? changed.get(path) : previous.get(path);
+        write(out, path, entry);
+      }
+    }
+
+    Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+  }
+
+  private void append(Set<String> removed) throws IOException {
+    try (DataOutputStream out =
+        open(Files.newOutputStream(file, StandardOpenOption.WRITE, StandardOpenOption.APPEND))) {
+      for (Map.Entry<String, Entry> entry : changed.entrySet()) {
+        write(out, entry.getKey(), entry.getValue());
+      }
+      for (String path : removed) {
+        out.writeUTF(path);
+        out.writeLong(0);
+        out.writeLong(0);
+        out.writeLong(0);
+        out.writeInt(REMOVED);
+      }
+    }
+  }
+
+  private static DataOutputStream open(OutputStream outputStream) {
+    return new DataOutputStream(new BufferedOutputStream(outputStream));
+  }
+
+  private static void write(DataOutputStream out, String path, Entry entry) throws IOException {
+    out.writeUTF(path);
+    out.writeLong(entry.mtime);
+    out.writeLong(entry.size);
+    out.writeLong(entry.readAt);
+    out.writeInt(entry.payload.length);
+    out.write(entry.payload);
+  }
+
+  private static Contents read(Path file) {
+    if (!Files.isRegularFile(file)) {
+      return new Contents(Map.of(), 0, false);
+    }
+
+    Map<String, Entry> entries = new HashMap<>();
+    int records = 0;
+
+    try (CountingInputStream counting =
+            new CountingInputStream(new BufferedInputStream(Files.newInputStream(file)));
+        DataInputStream in = new DataInputStream(counting)) {
+      long fileSize = Files.size(file);
+
+      if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+        return new Contents(Map.of(), 0, false);
+      }
+
+      while (counting.getCount() < fileSize) {
+        String path = in.readUTF();
+        long mtime = in.readLong();
+        long size = in.readLong();
+        long readAt = in.readLong();
+        int length = in.readInt();
+
+        if (length == REMOVED) {
+          entries.remove(path);
+        } else if (length < 0) {
+          throw new IOException("invalid payload length " + length);
+        } else if (length > fileSize - counting.getCount()) {
+          throw new EOFException();
+        } else {
+          byte[] payload = new byte[length];
+          in.readFully(payload);
+          entries.put(path, new Entry(mtime, size, readAt, payload));
+        }
+        records++;
+      }
+
+      return new Contents(entries, records, true);
+    } catch (EOFException e) {
+      LOGGER.warn("Store snapshot {} is truncated, using the {} complete records", file, records);
+      return new Contents(entries, records, false);
+    } catch (IOException e) {
+      LOGGER.warn("Ignoring unreadable store snapshot {}: {}", file, e.getMessage());
+      return new Contents(Map.of(), 0, false);
+    }
+  }
+
+  private static final class Contents {
+    private final Map<String, Entry> entries;
+    private final int records;
+    private final boolean complete;
+
+    private Contents(Map<String, Entry> entries, int records, boolean complete) {
+      this.entries = entries;
+      this.records = records;
+      this.complete = complete;
+    }
+  }
+
+  private static final class Entry {
+    private final long mtime;
+    private final long size;
+    private final long readAt;
+    private final byte[] payload;
+
+    private Entry(long mtime, long size, long readAt, byte[] payload) {
+      this.mtime = mtime;
+      this.size = size;
+      this.readAt = readAt;
+      this.payload = payload;
+    }
+  }
+}
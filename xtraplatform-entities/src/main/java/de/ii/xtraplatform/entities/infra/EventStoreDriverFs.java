@@ -14,7 +14,7 @@ import static java.nio.file.StandardWatchEventKinds.ENTRY_DELETE;
 import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
 
 import com.github.azahnen.dagger.annotations.AutoBind;
-import com.google.common.collect.ImmutableList;
+import com.google.common.hash.Hashing;
 import de.ii.xtraplatform.base.domain.AppContext;
 import de.ii.xtraplatform.base.domain.LogContext;
 import de.ii.xtraplatform.base.domain.StoreSource;
@@ -30,6 +30,8 @@ import de.ii.xtraplatform.values.domain.Identifier;
 import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.ClosedWatchServiceException;
 import java.nio.file.FileSystems;
 import java.nio.file.FileVisitResult;
 import java.nio.file.Files;
@@ -40,10 +42,12 @@ import java.nio.file.WatchEvent;
 import java.nio.file.WatchKey;
 import java.nio.file.WatchService;
 import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -56,18 +60,29 @@ import org.slf4j.LoggerFactory;
 public class EventStoreDriverFs implements EventStoreDriver, Watcher, Writer {
 
   private static final Logger LOGGER = LoggerFactory.getLogger(EventStoreDriverFs.class);
+  private static final String SNAPSHOT_DIR = "store-snapshots";
 
   private final Path dataDirectory;
+  private final Optional<Path> snapshotDirectory;
   private final EventReader eventReaderDir;
   private final EventReader eventReaderZip;
 
   @Inject
   EventStoreDriverFs(AppContext appContext) {
-    this(appContext.getDataDir());
+    this(
+        appContext.getDataDir(),
+        appContext.getConfiguration().getStore().isSnapshot()
+            ? Optional.of(appContext.getTmpDir().resolve(SNAPSHOT_DIR))
+            : Optional.empty());
   }
 
   public EventStoreDriverFs(Path dataDirectory) {
+    this(dataDirectory, Optional.empty());
+  }
+
+  private EventStoreDriverFs(Path dataDirectory, Optional<Path> snapshotDirectory) {
     this.dataDirectory = dataDirectory;
+    this.snapshotDirectory = snapshotDirectory;
     this.eventReaderDir = new EventReaderDir();
     this.eventReaderZip = new EventReaderZip();
   }
@@ -110,13 +125,29 @@ public class EventStoreDriverFs implements EventStoreDriver, Watcher, Writer {
       return Stream.empty();
     }
 
+    if (!storeSource.isArchive() && snapshotDirectory.isPresent()) {
+      EventSnapshot snapshot = new EventSnapshot(snapshotFile(source.getPath()));
+      List<EntityEvent> events =
+          source.load(new EventReaderDir(Optional.of(snapshot))).collect(Collectors.toList());
+      snapshot.save();
+
+      return events.stream();
+    }
+
     EventReader eventReader = storeSource.isArchive() ? eventReaderZip : eventReaderDir;
 
     return source.load(eventReader);
   }
 
-  // NOPMD - TODO: stopWatching, move watchService to class, watch new directories, file extension
-  // filter
+  private Path snapshotFile(Path sourcePath) {
+    String name =
+        Hashing.murmur3_128()
+            .hashString(sourcePath.toAbsolutePath().toString(), StandardCharsets.UTF_8)
+            .toString();
+
+    return snapshotDirectory.orElseThrow().resolve(name);
+  }
+
   @Override
   @SuppressWarnings({"PMD.CyclomaticComplexity", "PMD.CognitiveComplexity"})
   public void listen(StoreSource storeSource, Consumer<List<Path>> watchEventConsumer) {
@@ -130,10 +161,11 @@ public class EventStoreDriverFs implements EventStoreDriver, Watcher, Writer {
     }
 
     try (WatchService watchService = FileSystems.getDefault().newWatchService()) {
-      final Map<WatchKey, List<Path>> keys = new HashMap<>();
+      final Path rootDir = source.getPath();
+      final Map<WatchKey, Path> keys = new HashMap<>();
 
       try {
-        keys.putAll(watchDirectory(watchService, source.getPath()));
+        watchDirectory(watchService, rootDir, keys, file -> {});
 
         if (LOGGER.isDebugEnabled()) {
           LOGGER.debug("Watching source {}.", source.getSource().getLabel());
@@ -142,62 +174,99 @@ public class EventStoreDriverFs implements EventStoreDriver, Watcher, Writer {
         LogContext.error(LOGGER, e, "Cannot watch source {}", source.getSource().getLabel());
       }
 
-      WatchKey key = watchService.take();
-      while (key != null) {
+      while (!Thread.currentThread().isInterrupted()) {
+        WatchKey key = watchService.take();
+
         if (!keys.containsKey(key)) {
           if (LOGGER.isDebugEnabled()) {
-            LOGGER.debug("WatchKey " + key + " not recognized!");
+            LOGGER.debug("WatchKey {} not recognized!", key);
           }
-          key = watchService.take();
+          key.cancel();
           continue;
         }
-        final Path rootDir = keys.get(key).get(0);
-        final Path watchDir = keys.get(key).get(1);
-        List<Path> changedFiles =
-            key.pollEvents().stream()
-                .filter(watchEvent -> watchEvent.context() instanceof Path)
-                .filter(
-                    watchEvent -> {
-                      String fileExtension = getFileExtension(watchEvent.context().toString());
-                      // NOPMD - TODO: either inject from store or filter at a later stage
-                      return Objects.equals(fileExtension, "yml")
-                          || Objects.equals(fileExtension, "yaml")
-                          || Objects.equals(fileExtension, "json");
-                    })
-                .map(
-                    watchEvent -> rootDir.relativize(watchDir.resolve((Path) watchEvent.context())))
-                .collect(Collectors.toList());
+
+        final Path watchDir = keys.get(key);
+        final List<Path> changedFiles = new ArrayList<>();
+
+        for (WatchEvent<?> watchEvent : key.pollEvents()) {
+          if (!(watchEvent.context() instanceof Path)) {
+            continue;
+          }
+          Path changed = watchDir.resolve((Path) watchEvent.context());
+
+          // directories created after the start have to be registered, files that were created
+          // before the registration completed are reported as changed
+          if (watchEvent.kind() == ENTRY_CREATE && Files.isDirectory(changed)) {
+            try {
+              watchDirectory(
+                  watchService,
+                  changed,
+                  keys,
+                  file -> {
+                    if (isEventFile(file)) {
+                      changedFiles.add(rootDir.relativize(file));
+                    }
+                  });
+            } catch (IOException e) {
+              LogContext.error(LOGGER, e, "Cannot watch directory {}", changed);
+            }
+            continue;
+          }
+
+          if (isEventFile(changed)) {
+            changedFiles.add(rootDir.relativize(changed));
+          }
+        }
 
         if (!changedFiles.isEmpty()) {
           watchEventConsumer.accept(changedFiles);
         }
 
-        key.reset();
+        if (!key.reset()) {
+          // directory was deleted
+          keys.remove(key);
+        }
       }
-    } catch (IOException | InterruptedException e) {
+    } catch (InterruptedException | ClosedWatchServiceException e) {
+      Thread.currentThread().interrupt();
+      if (LOGGER.isDebugEnabled()) {
+        LOGGER.debug("Stopped watching source {}.", source.getSource().getLabel());
+      }
+    } catch (IOException e) {
       LogContext.error(LOGGER, e, "Could not watch store.");
     }
   }
 
-  private Map<WatchKey, List<Path>> watchDirectory(WatchService watchService, Path rootDir)
-      throws IOException {
-    final Map<WatchKey, List<Path>> keys = new HashMap<>();
+  private static boolean isEventFile(Path file) {
+    String fileExtension = getFileExtension(file.toString());
+
+    return Objects.equals(fileExtension, "yml")
+        || Objects.equals(fileExtension, "yaml")
+        || Objects.equals(fileExtension, "json");
+  }
 
+  private void watchDirectory(
+      WatchService watchService, Path dir, Map<WatchKey, Path> keys, Consumer<Path> existingFiles)
+      throws IOException {
     Files.walkFileTree(
-        rootDir,
+        dir,
         new SimpleFileVisitor<>() {
           @Override
-          public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs)
+          public FileVisitResult preVisitDirectory(Path subDir, BasicFileAttributes attrs)
               throws IOException {
             WatchKey watchKey =
-                dir.register(
+                subDir.register(
                     watchService, new WatchEvent.Kind[] {ENTRY_CREATE, ENTRY_MODIFY, ENTRY_DELETE});
-            keys.put(watchKey, ImmutableList.of(rootDir, dir));
+            keys.put(watchKey, subDir);
             return FileVisitResult.CONTINUE;
           }
-        });
 
-    return keys;
+          @Override
+          public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+            existingFiles.accept(file);
+            return FileVisitResult.CONTINUE;
+          }
+        });
   }
 
   @Override
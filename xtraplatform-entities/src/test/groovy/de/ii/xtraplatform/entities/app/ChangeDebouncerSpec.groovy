@@ -0,0 +1,91 @@
+package de.ii.xtraplatform.entities.app
+
+import spock.lang.Specification
+
+import java.nio.file.Path
+import java.util.concurrent.CopyOnWriteArrayList
+import java.util.concurrent.Executors
+import java.util.concurrent.ScheduledExecutorService
+
+class ChangeDebouncerSpec extends Specification {
+
+    ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor()
+    List<List<Path>> flushed = new CopyOnWriteArrayList<>()
+
+    def cleanup() {
+        scheduler.shutdownNow()
+    }
+
+    def 'changes within the window are coalesced'() {
+        given:
+        ChangeDebouncer debouncer = new ChangeDebouncer(scheduler, 200, flushed::add)
+
+        when:
+        debouncer.accept([Path.of("a"), Path.of("b")])
+        debouncer.accept([Path.of("b"), Path.of("c")])
+
+        then: 'nothing is flushed before the window has passed'
+        flushed.isEmpty()
+
+        when:
+        waitFor { flushed.size() == 1 }
+        Thread.sleep(300)
+
+        then:
+        flushed == [[Path.of("a"), Path.of("b"), Path.of("c")]]
+    }
+
+    def 'a steady stream of changes is flushed after ten windows at the latest'() {
+        given:
+        ChangeDebouncer debouncer = new ChangeDebouncer(scheduler, 50, flushed::add)
+
+        when:
+        long start = System.nanoTime()
+        while (System.nanoTime() - start < 1_500_000_000L) {
+            debouncer.accept([Path.of("a")])
+            Thread.sleep(20)
+        }
+
+        then:
+        flushed.size() >= 2
+    }
+
+    def 'without a window changes are passed on immediately'() {
+        given:
+        ChangeDebouncer debouncer = new ChangeDebouncer(scheduler, 0, flushed::add)
+
+        when:
+        debouncer.accept([Path.of("a")])
+        debouncer.accept([Path.of("b")])
+
+        then:
+        flushed == [[Path.of("a")], [Path.of("b")]]
+    }
+
+    def 'a failing target does not stop later flushes'() {
+        given:
+        ChangeDebouncer debouncer = new ChangeDebouncer(scheduler, 50, { List<Path> changes ->
+            flushed.add(changes)
+            if (flushed.size() == 1) {
+                throw new IllegalStateException("failed")
+            }
+        })
+
+        when:
+        debouncer.accept([Path.of("a")])
+        waitFor { flushed.size() == 1 }
+        debouncer.accept([Path.of("b")])
+        waitFor { flushed.size() == 2 }
+
+        then:
+        flushed == [[Path.of("a")], [Path.of("b")]]
+    }
+
+    static void waitFor(Closure<Boolean> condition) {
+        long deadline = System.currentTimeMillis() + 5000
+        while (!condition() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10)
+        }
+        assert condition()
+    }
+}
@@ -0,0 +1,140 @@
+package de.ii.xtraplatform.entities.app
+
+import com.fasterxml.jackson.core.type.TypeReference
+import de.ii.xtraplatform.base.domain.JacksonProvider
+import de.ii.xtraplatform.entities.domain.EntityEvent
+import de.ii.xtraplatform.entities.domain.EventFilter
+import de.ii.xtraplatform.entities.domain.EventStore
+import de.ii.xtraplatform.entities.domain.EventStoreSubscriber
+import de.ii.xtraplatform.values.api.ValueEncodingJackson
+import de.ii.xtraplatform.values.domain.Identifier
+import de.ii.xtraplatform.values.domain.ValueDecoderMiddleware
+import spock.lang.Specification
+
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.CopyOnWriteArrayList
+import java.util.concurrent.ExecutionException
+import java.util.concurrent.TimeUnit
+
+class EventSourcingSpec extends Specification {
+
+    static final Identifier ID = Identifier.from("foo", "providers")
+
+    TestEventStore eventStore = new TestEventStore()
+    ValueEncodingJackson<Map<String, Object>> valueEncoding = valueEncoding()
+    EventSourcing<Map<String, Object>> eventSourcing = new EventSourcing<>(
+            eventStore,
+            ["entities"],
+            valueEncoding,
+            { CompletableFuture.completedFuture(null) },
+            Optional.empty(),
+            Optional.empty(),
+            Optional.empty(),
+            Optional.empty())
+
+    def 'queued writes are coalesced and superseded'() {
+        when:
+        def first = eventSourcing.pushMutationEvent(ID, [value: 'first'])
+        def partial1 = eventSourcing.pushPartialMutationEvent(ID, [value: 'partial1'])
+        def partial2 = eventSourcing.pushPartialMutationEvent(ID, [value: 'partial2'])
+        def full = eventSourcing.pushMutationEvent(ID, [value: 'full'])
+        def partial3 = eventSourcing.pushPartialMutationEvent(ID, [value: 'partial3'])
+
+        then: 'only one write is in flight'
+        eventStore.pushed.size() == 1
+
+        when:
+        emitNext(1)
+        emitNext(2)
+        emitNext(3)
+
+        then: 'the partial writes before the full write were dropped'
+        eventStore.pushed.collect { payload(it) } == ['first', 'full', 'partial3']
+
+        and: 'every waiter is completed, superseded ones with the result of the superseding write'
+        first.get(5, TimeUnit.SECONDS).value == 'first'
+        partial1.get(5, TimeUnit.SECONDS).value == 'full'
+        partial2.get(5, TimeUnit.SECONDS).value == 'full'
+        full.get(5, TimeUnit.SECONDS).value == 'full'
+        partial3.get(5, TimeUnit.SECONDS).value == 'partial3'
+    }
+
+    def 'partial writes see the value they are applied to'() {
+        given:
+        def previous = new CopyOnWriteArrayList<Optional<Map<String, Object>>>()
+
+        when:
+        def first = eventSourcing.pushPartialMutationEvent(ID, [value: 'first'], previous::add)
+        def second = eventSourcing.pushPartialMutationEvent(ID, [value: 'second'], previous::add)
+
+        then: 'the second write is not applied yet'
+        previous.size() == 1
+        previous[0].isEmpty()
+
+        when:
+        emitNext(1)
+        emitNext(2)
+
+        then: 'the second write is applied to the result of the first one'
+        first.get(5, TimeUnit.SECONDS).value == 'first'
+        second.get(5, TimeUnit.SECONDS).value == 'second'
+        previous.size() == 2
+        previous[1].get().value == 'first'
+    }
+
+    def 'writes to a read-only store fail'() {
+        given:
+        eventStore.readOnly = true
+
+        when:
+        eventSourcing.pushMutationEvent(ID, [value: 'first']).get(5, TimeUnit.SECONDS)
+
+        then:
+        def e = thrown(ExecutionException)
+        e.cause instanceof IllegalStateException
+        eventStore.pushed.isEmpty()
+    }
+
+    // emits the n-th pushed event as soon as it was pushed, the next write is started asynchronously
+    void emitNext(int n) {
+        long deadline = System.currentTimeMillis() + 5000
+        while (eventStore.pushed.size() < n && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10)
+        }
+        assert eventStore.pushed.size() >= n
+        eventSourcing.onEmit(eventStore.pushed[n - 1])
+    }
+
+    String payload(EntityEvent event) {
+        return valueEncoding.getMapper(valueEncoding.getDefaultFormat()).readValue(event.payload(), Map).value
+    }
+
+    static ValueEncodingJackson<Map<String, Object>> valueEncoding() {
+        def valueEncoding = new ValueEncodingJackson<Map<String, Object>>(new JacksonProvider(Set::of), null, false)
+        valueEncoding.addDecoderMiddleware({ identifier, payload, objectMapper, data, ignoreCache ->
+            objectMapper.readValue(payload, new TypeReference<Map<String, Object>>() {})
+        } as ValueDecoderMiddleware<Map<String, Object>>)
+        return valueEncoding
+    }
+
+    static class TestEventStore implements EventStore {
+        List<EntityEvent> pushed = new CopyOnWriteArrayList<>()
+        boolean readOnly = false
+
+        @Override
+        void subscribe(EventStoreSubscriber subscriber) {}
+
+        @Override
+        void push(EntityEvent event) {
+            pushed << event
+        }
+
+        @Override
+        boolean isReadOnly() {
+            return readOnly
+        }
+
+        @Override
+        void replay(EventFilter filter, boolean force, List<EntityEvent> additionalEvents) {}
+    }
+}
@@ -0,0 +1,22 @@
+package de.ii.xtraplatform.entities.app
+
+import spock.lang.Specification
+
+class MapDifferSpec extends Specification {
+
+    def 'changed paths'() {
+        expect:
+        MapDiffer.changedPaths(source, other) == expected as Set
+
+        where:
+        source                             | other                              || expected
+        [a: 1, b: 'x']                     | [a: 1, b: 'x']                     || []
+        [a: 1, b: 'x']                     | [a: 2, b: 'x']                     || ['a']
+        [a: 1]                             | [a: 1, b: 'x']                     || ['b']
+        [a: 1, b: 'x']                     | [a: 1]                             || ['b']
+        [a: [b: 1, c: [d: 2]]]             | [a: [b: 1, c: [d: 3]]]             || ['a.c.d']
+        [a: [b: 1]]                        | [a: [b: 1, c: 2]]                  || ['a.c']
+        [a: [b: 1]]                        | [a: 'x']                           || ['a']
+        [a: [1, 2]]                        | [a: [1, 3]]                        || ['a']
+    }
+}
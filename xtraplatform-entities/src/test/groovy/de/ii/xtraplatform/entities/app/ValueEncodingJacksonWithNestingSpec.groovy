@@ -0,0 +1,49 @@
+package de.ii.xtraplatform.entities.app
+
+import com.fasterxml.jackson.databind.ObjectMapper
+import de.ii.xtraplatform.base.domain.JacksonProvider
+import spock.lang.Specification
+
+class ValueEncodingJacksonWithNestingSpec extends Specification {
+
+    ValueEncodingJacksonWithNesting<Map<String, Object>> valueEncoding = new ValueEncodingJacksonWithNesting<>(new JacksonProvider(Set::of), null, false)
+
+    def 'asMap yields the same values and number types as a round trip through the text'() {
+        given:
+        Map<String, Object> data = [
+                int       : 1,
+                long      : 5L,
+                bigLong   : 5_000_000_000L,
+                bigInteger: new BigInteger("123456789012345678901234567890"),
+                short     : (short) 7,
+                float     : 0.1f,
+                double    : 0.25d,
+                bigDecimal: new BigDecimal("1.5"),
+                string    : "x",
+                bool      : true,
+                nested    : [list: [1L, 2.5f, [a: 3L]], empty: [:]],
+        ]
+        ObjectMapper mapper = valueEncoding.getMapper(valueEncoding.getDefaultFormat())
+
+        when:
+        Map<String, Object> expected = mapper.readValue(mapper.writeValueAsBytes(data), LinkedHashMap)
+        Map<String, Object> actual = valueEncoding.asMap(data)
+
+        then:
+        actual == expected
+        types(actual) == types(expected)
+        types(actual).float == 'Double'
+        types(actual).long == 'Integer'
+        types(actual).bigLong == 'Long'
+    }
+
+    static Object types(Object value) {
+        if (value instanceof Map) {
+            return value.collectEntries { key, nested -> [(key): types(nested)] }
+        }
+        if (value instanceof List) {
+            return value.collect { types(it) }
+        }
+        return value == null ? null : value.getClass().simpleName
+    }
+}
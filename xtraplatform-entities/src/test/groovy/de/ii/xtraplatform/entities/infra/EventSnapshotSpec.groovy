@@ -0,0 +1,171 @@
+package de.ii.xtraplatform.entities.infra
+
+import spock.lang.Specification
+
+import java.nio.charset.StandardCharsets
+import java.nio.file.Files
+import java.nio.file.Path
+import java.nio.file.attribute.FileTime
+
+class EventSnapshotSpec extends Specification {
+
+    Path source = Files.createTempDirectory("source")
+    Path file = Files.createTempDirectory("snapshots").resolve("snapshot")
+
+    def setup() {
+        write("a.yml", "one", 1000)
+        write("b.yml", "two", 1000)
+    }
+
+    def 'unchanged files are served from the snapshot'() {
+        given:
+        loadAndSave()
+
+        when: 'the content changes, but mtime and size do not'
+        write("a.yml", "ONE", 1000)
+
+        then:
+        loadAndSave() == ["a.yml": "one", "b.yml": "two"]
+    }
+
+    def 'files modified shortly before they were read are read again'() {
+        given:
+        long now = System.currentTimeMillis()
+        write("a.yml", "one", now)
+        loadAndSave()
+
+        when: 'the content changes within the mtime granularity'
+        write("a.yml", "ONE", now)
+
+        then:
+        loadAndSave() == ["a.yml": "ONE", "b.yml": "two"]
+    }
+
+    def 'changed files are read again'() {
+        given:
+        loadAndSave()
+
+        when:
+        write("a.yml", "changed", 2000)
+
+        then:
+        loadAndSave() == ["a.yml": "changed", "b.yml": "two"]
+        loadAndSave() == ["a.yml": "changed", "b.yml": "two"]
+    }
+
+    def 'a single change is appended to the snapshot'() {
+        given:
+        loadAndSave()
+        byte[] before = Files.readAllBytes(file)
+
+        when:
+        write("b.yml", "three", 2000)
+        loadAndSave()
+        byte[] after = Files.readAllBytes(file)
+
+        then:
+        after.length > before.length
+        Arrays.equals(Arrays.copyOf(after, before.length), before)
+        new EventSnapshot(file).previous.size() == 2
+    }
+
+    def 'removed files are dropped from the snapshot'() {
+        given:
+        loadAndSave()
+
+        when:
+        Files.delete(source.resolve("b.yml"))
+
+        then:
+        loadAndSave() == ["a.yml": "one"]
+        new EventSnapshot(file).previous.keySet() == [source.resolve("a.yml").toString()] as Set
+    }
+
+    def 'added files change the path set'() {
+        given:
+        loadAndSave()
+        byte[] before = Files.readAllBytes(file)
+
+        when:
+        write("c.yml", "three", 1000)
+
+        then:
+        loadAndSave() == ["a.yml": "one", "b.yml": "two", "c.yml": "three"]
+        Files.readAllBytes(file) != before
+        new EventSnapshot(file).previous.size() == 3
+    }
+
+    def 'an unchanged load does not touch the snapshot'() {
+        given:
+        loadAndSave()
+        FileTime saved = FileTime.fromMillis(5000)
+        Files.setLastModifiedTime(file, saved)
+
+        when:
+        loadAndSave()
+
+        then:
+        Files.getLastModifiedTime(file) == saved
+    }
+
+    def 'a corrupt snapshot falls back to reading the files'() {
+        given:
+        loadAndSave()
+        Files.write(file, "garbage".getBytes(StandardCharsets.UTF_8))
+
+        when:
+        EventSnapshot snapshot = new EventSnapshot(file)
+
+        then:
+        snapshot.previous.isEmpty()
+        load(snapshot) == ["a.yml": "one", "b.yml": "two"]
+
+        when:
+        snapshot.save()
+
+        then:
+        new EventSnapshot(file).previous.size() == 2
+    }
+
+    def 'a truncated snapshot keeps the complete records'() {
+        given:
+        loadAndSave()
+        byte[] bytes = Files.readAllBytes(file)
+        Files.write(file, Arrays.copyOf(bytes, bytes.length - 1))
+
+        when:
+        EventSnapshot snapshot = new EventSnapshot(file)
+
+        then:
+        snapshot.previous.size() == 1
+        !snapshot.appendable
+        load(snapshot) == ["a.yml": "one", "b.yml": "two"]
+
+        when:
+        snapshot.save()
+
+        then:
+        new EventSnapshot(file).previous.size() == 2
+        new EventSnapshot(file).appendable
+    }
+
+    private void write(String name, String content, long mtime) {
+        Path path = source.resolve(name)
+        Files.write(path, content.getBytes(StandardCharsets.UTF_8))
+        Files.setLastModifiedTime(path, FileTime.fromMillis(mtime))
+    }
+
+    private Map<String, String> loadAndSave() {
+        EventSnapshot snapshot = new EventSnapshot(file)
+        Map<String, String> contents = load(snapshot)
+        snapshot.save()
+
+        return contents
+    }
+
+    private Map<String, String> load(EventSnapshot snapshot) {
+        return new EventReaderDir(Optional.of(snapshot)).load(source, [], []).toList()
+                .collectEntries { [(it.first().fileName.toString()): new String(it.second().get(), StandardCharsets.UTF_8)] }
+                .sort()
+    }
+}
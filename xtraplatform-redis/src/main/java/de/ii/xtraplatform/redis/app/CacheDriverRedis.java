@@ -9,6 +9,7 @@ package de.ii.xtraplatform.redis.app;
 
 import com.github.azahnen.dagger.annotations.AutoBind;
 import de.ii.xtraplatform.base.domain.AppContext;
+import de.ii.xtraplatform.base.domain.CacheConfiguration;
 import de.ii.xtraplatform.base.domain.Jackson;
 import de.ii.xtraplatform.cache.domain.CacheDriver;
 import de.ii.xtraplatform.redis.domain.Redis;
@@ -19,20 +20,31 @@ import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.UUID;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import redis.clients.jedis.AbstractPipeline;
+import redis.clients.jedis.Response;
 import redis.clients.jedis.commands.JedisBinaryCommands;
+import redis.clients.jedis.commands.JedisCommands;
+import redis.clients.jedis.params.SetParams;
 
 /**
  * Redis-backed CacheDriver, sharing the same Redis connection as JobQueueBackendRedis (s. Redis,
- * injected). Mirrors CacheDriverFs's shape: one Hash per key, the "validator" argument is the Hash
- * field name (CONTENT for the plain 2-arg has/get/put), so a single key can hold several
- * independently addressable entries under different validators, same as CacheDriverFs's
- * one-file-per-validator directory layout.
+ * injected). One Hash per key, the "validator" argument is the Hash field name (CONTENT for the
+ * plain 2-arg has/get/put), so a single key can hold several independently addressable entries
+ * under different validators. CacheDriverFs has the same shape, with one file per validator in a
+ * directory per key, while CacheDriverMem keeps a single value per key.
  *
- * <p>Two deliberate deviations from CacheDriverFs, neither changes observable behavior:
+ * <p>Two deliberate deviations from CacheDriverFs:
  *
  * <ul>
  *   <li>No key hashing - CacheDriverFs hashes the key into a filesystem-safe directory name; Redis
@@ -41,13 +53,15 @@ import redis.clients.jedis.commands.JedisBinaryCommands;
  *   <li>No manual TTL bookkeeping/expiry check - CacheDriverFs stores an expiry timestamp itself
  *       and checks it on every access. expire/persist on the whole Hash key does the same job
  *       natively; once it elapses, Redis removes the key on its own, so has/get simply observe it
- *       as absent. TTL applies to the whole key (all validators together), exactly like
- *       CacheDriverFs's single ttl file per key directory, not per validator.
+ *       as absent. TTL applies to the whole key (all validators together), while CacheDriverFs
+ *       applies it per validator.
  * </ul>
  *
- * <p>Values are serialized identically to CacheDriverFs (String passthrough as UTF-8, everything
- * else via Jackson SMILE) and stored as raw bytes via Redis.binary() (JedisBinaryCommands), which
- * is binary-safe - no Base64 detour needed.
+ * <p>Values are serialized like in CacheDriverFs (String passthrough as UTF-8, everything else via
+ * Jackson SMILE) and stored as raw bytes via Redis.binary() (JedisBinaryCommands), which is
+ * binary-safe - no Base64 detour needed. byte[] values are not serialized, only prefixed with a
+ * marker byte, since entries written before byte[] passthrough contain SMILE-encoded byte arrays.
+ * Those are still decoded via SMILE.
  *
  * <p>Redis.binary() can legitimately return null - RedisImpl only actually connects lazily from its
  * periodic Volatile2 health check (s. RedisImpl's check()/connect()), not synchronously at startup,
@@ -60,6 +74,17 @@ import redis.clients.jedis.commands.JedisBinaryCommands;
  * AppContext.getInstanceName() if not set), so only instances sharing the same configuration - and
  * thus the same cluster id - share cache entries; instances pointed at the same Redis but with a
  * different/absent cluster id get their own separate key namespace.
+ *
+ * <p>If CacheConfiguration.getNearCacheMaxEntries() is greater than 0, a NearCache is consulted
+ * before Redis. It keeps deserialized values of recent reads and is invalidated cluster-wide on
+ * put/del, so repeated reads of hot keys do not cost a round trip or a deserialization.
+ *
+ * <p>A put is a single round trip, HSET and EXPIRE/PERSIST are combined in a small Lua script.
+ * getAll/putAll pipeline the commands for all keys, which also works across cluster slots.
+ *
+ * <p>Leases for Cache.getOrCompute are plain keys set with NX and PX, holding a random token. They
+ * are only released by the holder (compare-and-delete in Lua), otherwise they simply expire. If
+ * redis is not connected, a lease is always granted, since there is nothing to share anyway.
  */
 @Singleton
 @AutoBind
@@ -68,11 +93,25 @@ public class CacheDriverRedis implements CacheDriver {
   private static final Logger LOGGER = LoggerFactory.getLogger(CacheDriverRedis.class);
 
   private static final String KEY_PREFIX = "xtraplatform:cache:";
+  // SMILE values always start with the SMILE header, so they never start with this marker
+  private static final byte RAW_MARKER = 0;
   private static final String CONTENT = "content";
+  private static final String INVALIDATIONS = ":invalidations";
+  private static final String LEASE = ":lease:";
+  private static final String RELEASE_SCRIPT =
+      "if redis.call('GET', KEYS[1]) == ARGV[1] then return redis.call('DEL', KEYS[1]) "
+          + "else return 0 end";
+  private static final byte[] WRITE_SCRIPT =
+      ("redis.call('HSET', KEYS[1], ARGV[1], ARGV[2]) "
+              + "if tonumber(ARGV[3]) > 0 then redis.call('EXPIRE', KEYS[1], ARGV[3]) "
+              + "else redis.call('PERSIST', KEYS[1]) end "
+              + "return 1")
+          .getBytes(StandardCharsets.UTF_8);
 
   private final Redis redis;
   private final ValueEncoding<Object> valueEncoding;
   private final String clusterId;
+  private final Optional<NearCache> nearCache;
 
   @Inject
   public CacheDriverRedis(Redis redis, Jackson jackson, AppContext appContext) {
@@ -84,6 +123,17 @@ public class CacheDriverRedis implements CacheDriver {
             .getRedis()
             .getCluster()
             .orElseGet(appContext::getInstanceName);
+
+    CacheConfiguration cacheConfiguration = appContext.getConfiguration().getCache();
+    this.nearCache =
+        cacheConfiguration.getNearCacheMaxEntries() > 0
+            ? Optional.of(
+                new NearCache(
+                    redis,
+                    KEY_PREFIX + clusterId + INVALIDATIONS,
+                    cacheConfiguration.getNearCacheMaxEntries(),
+                    cacheConfiguration.getNearCacheTtl().toMilliseconds()))
+            : Optional.empty();
   }
 
   @Override
@@ -93,6 +143,8 @@ public class CacheDriverRedis implements CacheDriver {
 
   @Override
   public boolean init() {
+    nearCache.ifPresent(NearCache::start);
+
     if (LOGGER.isDebugEnabled()) {
       LOGGER.debug("Started {} cache", getType());
     }
@@ -106,6 +158,10 @@ public class CacheDriverRedis implements CacheDriver {
 
   @Override
   public boolean has(String key, String validator) {
+    if (nearCache.isPresent() && nearCache.get().has(key, validator)) {
+      return true;
+    }
+
     JedisBinaryCommands cmd = cmd();
     if (Objects.isNull(cmd)) {
       return false;
@@ -125,11 +181,19 @@ public class CacheDriverRedis implements CacheDriver {
 
   @Override
   public <T> Optional<T> get(String key, String validator, Class<T> clazz) {
+    if (nearCache.isPresent()) {
+      Optional<T> near = nearCache.get().get(key, validator, clazz);
+      if (near.isPresent()) {
+        return near;
+      }
+    }
+
     JedisBinaryCommands cmd = cmd();
     if (Objects.isNull(cmd)) {
       return Optional.empty();
     }
 
+    long version = nearCache.map(near -> near.version(key)).orElse(0L);
     byte[] value = cmd.hget(redisKey(key), validatorField(validator));
     if (Objects.isNull(value)) {
       if (LOGGER.isDebugEnabled()) {
@@ -143,6 +207,7 @@ public class CacheDriverRedis implements CacheDriver {
       if (LOGGER.isDebugEnabled()) {
         LOGGER.debug("Cache get({}, {}) -> hit ({})", key, validator, deserialized);
       }
+      nearCache.ifPresent(near -> near.remember(key, validator, deserialized, version));
       return Optional.ofNullable(deserialized);
     } catch (IOException e) {
       LOGGER.error("CACHE DESER", e);
@@ -181,6 +246,127 @@ public class CacheDriverRedis implements CacheDriver {
       LOGGER.debug("Cache del({})", key);
     }
     cmd.del(redisKey(key));
+    nearCache.ifPresent(near -> near.invalidate(key));
+  }
+
+  @Override
+  public <T> Map<String, T> getAll(Collection<String> keys, Class<T> clazz) {
+    Map<String, T> values = new LinkedHashMap<>();
+    List<String> remaining = new ArrayList<>();
+
+    for (String key : keys) {
+      Optional<T> near =
+          nearCache.isPresent() ? nearCache.get().get(key, CONTENT, clazz) : Optional.empty();
+      if (near.isPresent()) {
+        values.put(key, near.get());
+      } else {
+        remaining.add(key);
+      }
+    }
+
+    if (remaining.isEmpty()) {
+      return values;
+    }
+
+    AbstractPipeline pipeline = pipeline();
+    if (Objects.isNull(pipeline)) {
+      return values;
+    }
+
+    Map<String, Long> versions = new LinkedHashMap<>();
+    nearCache.ifPresent(near -> remaining.forEach(key -> versions.put(key, near.version(key))));
+
+    Map<String, Response<byte[]>> responses = new LinkedHashMap<>();
+    try (pipeline) {
+      byte[] field = validatorField(CONTENT);
+      for (String key : remaining) {
+        responses.put(key, pipeline.hget(redisKey(key), field));
+      }
+      pipeline.sync();
+    }
+
+    responses.forEach(
+        (key, response) -> {
+          byte[] value = response.get();
+          if (Objects.isNull(value)) {
+            return;
+          }
+          try {
+            T deserialized = deserialize(value, clazz);
+            if (Objects.nonNull(deserialized)) {
+              values.put(key, deserialized);
+              nearCache.ifPresent(
+                  near -> near.remember(key, CONTENT, deserialized, versions.get(key)));
+            }
+          } catch (IOException e) {
+            LOGGER.error("CACHE DESER", e);
+          }
+        });
+
+    if (LOGGER.isDebugEnabled()) {
+      LOGGER.debug("Cache getAll({}) -> {} hits", keys.size(), values.size());
+    }
+
+    return values;
+  }
+
+  @Override
+  public void putAll(Map<String, ?> values, int ttl) {
+    AbstractPipeline pipeline = pipeline();
+    if (Objects.isNull(pipeline)) {
+      return;
+    }
+
+    try (pipeline) {
+      byte[] field = validatorField(CONTENT);
+      for (Map.Entry<String, ?> entry : values.entrySet()) {
+        byte[] redisKey = redisKey(entry.getKey());
+
+        pipeline.hset(redisKey, field, serialize(entry.getValue()));
+        if (ttl > 0) {
+          pipeline.expire(redisKey, ttl);
+        } else {
+          pipeline.persist(redisKey);
+        }
+      }
+      pipeline.sync();
+
+      if (LOGGER.isDebugEnabled()) {
+        LOGGER.debug("Cache putAll({}, ttl={})", values.size(), ttl);
+      }
+    } catch (IOException e) {
+      // ignore, same as CacheDriverFs
+    }
+
+    nearCache.ifPresent(near -> values.keySet().forEach(near::invalidate));
+  }
+
+  @Override
+  public Optional<String> acquireLease(String key, long ttlMs) {
+    String token = UUID.randomUUID().toString();
+    JedisCommands cmd = redis.cmd();
+    if (Objects.isNull(cmd)) {
+      return Optional.of(token);
+    }
+
+    String result = cmd.set(leaseKey(key), token, SetParams.setParams().nx().px(ttlMs));
+    boolean acquired = Objects.equals(result, "OK");
+
+    if (LOGGER.isDebugEnabled()) {
+      LOGGER.debug("Cache lease({}) -> {}", key, acquired ? "acquired" : "held elsewhere");
+    }
+
+    return acquired ? Optional.of(token) : Optional.empty();
+  }
+
+  @Override
+  public void releaseLease(String key, String token) {
+    JedisCommands cmd = redis.cmd();
+    if (Objects.isNull(cmd)) {
+      return;
+    }
+
+    cmd.eval(RELEASE_SCRIPT, List.of(leaseKey(key)), List.of(token));
   }
 
   private void write(String key, String validator, Object value, int ttl) {
@@ -191,19 +377,19 @@ public class CacheDriverRedis implements CacheDriver {
 
     try {
       byte[] serialized = serialize(value);
-      byte[] redisKey = redisKey(key);
-
-      cmd.hset(redisKey, validatorField(validator), serialized);
 
-      if (ttl > 0) {
-        cmd.expire(redisKey, ttl);
-      } else {
-        cmd.persist(redisKey);
-      }
+      cmd.eval(
+          WRITE_SCRIPT,
+          List.of(redisKey(key)),
+          List.of(
+              validatorField(validator),
+              serialized,
+              Integer.toString(Math.max(ttl, 0)).getBytes(StandardCharsets.UTF_8)));
 
       if (LOGGER.isDebugEnabled()) {
         LOGGER.debug("Cache put({}, {}, ttl={})", key, validator, ttl);
       }
+      nearCache.ifPresent(near -> near.invalidate(key));
     } catch (IOException e) {
       // ignore, same as CacheDriverFs
     }
@@ -217,10 +403,22 @@ public class CacheDriverRedis implements CacheDriver {
     return cmd;
   }
 
+  private AbstractPipeline pipeline() {
+    AbstractPipeline pipeline = redis.pipelined();
+    if (Objects.isNull(pipeline) && LOGGER.isDebugEnabled()) {
+      LOGGER.debug("Cache unavailable, redis is not connected yet");
+    }
+    return pipeline;
+  }
+
   private byte[] redisKey(String key) {
     return (KEY_PREFIX + clusterId + ":" + key).getBytes(StandardCharsets.UTF_8);
   }
 
+  private String leaseKey(String key) {
+    return KEY_PREFIX + clusterId + LEASE + key;
+  }
+
   private byte[] validatorField(String validator) {
     return validator.getBytes(StandardCharsets.UTF_8);
   }
@@ -229,6 +427,13 @@ public class CacheDriverRedis implements CacheDriver {
     if (obj instanceof String) {
       return ((String) obj).getBytes(StandardCharsets.UTF_8);
     }
+    if (obj instanceof byte[]) {
+      byte[] bytes = (byte[]) obj;
+      byte[] marked = new byte[bytes.length + 1];
+      marked[0] = RAW_MARKER;
+      System.arraycopy(bytes, 0, marked, 1, bytes.length);
+      return marked;
+    }
 
     return valueEncoding.serialize(obj, FORMAT.SMILE);
   }
@@ -237,6 +442,9 @@ public class CacheDriverRedis implements CacheDriver {
     if (String.class.equals(clazz)) {
       return clazz.cast(new String(value, StandardCharsets.UTF_8));
     }
+    if (byte[].class.equals(clazz) && value.length > 0 && value[0] == RAW_MARKER) {
+      return clazz.cast(Arrays.copyOfRange(value, 1, value.length));
+    }
 
     return valueEncoding.getMapper(FORMAT.SMILE).readValue(value, clazz);
   }
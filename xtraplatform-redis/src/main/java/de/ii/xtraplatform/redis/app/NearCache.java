@@ -0,0 +1,235 @@
+/*
+ * Copyright 2026 interactive instruments GmbH
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package de.ii.xtraplatform.redis.app;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import de.ii.xtraplatform.base.domain.resiliency.Volatile2.State;
+import de.ii.xtraplatform.redis.domain.Redis;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLongArray;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Local on-heap tier in front of CacheDriverRedis. Holds deserialized values per key and validator,
+ * bounded by size and by a maximum age. Changes are announced on a pub/sub channel scoped by the
+ * cluster id, every instance drops the affected key from its own tier when it receives such a
+ * message. Messages are prefixed with a random node id, so an instance ignores its own.
+ *
+ * <p>A value read from redis might already be outdated when it is remembered, if an invalidation
+ * arrived in between. So every invalidation increments a version for the key (striped, so the
+ * versions need constant space), the caller takes the version before the read and the value is
+ * only remembered if it did not change.
+ *
+ * <p>The tier is only used while the subscription is confirmed by redis. If it is lost, it is
+ * re-established with a backoff. Since invalidations might have been missed while the subscription
+ * was down, the whole tier is cleared in that case.
+ */
+@SuppressWarnings("PMD.AvoidCatchingGenericException")
+class NearCache {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(NearCache.class);
+
+  private static final String SEPARATOR = "|";
+  private static final int VERSION_STRIPES = 256;
+  private static final long MIN_BACKOFF_MS = 500;
+  private static final long MAX_BACKOFF_MS = 10_000;
+
+  private final Redis redis;
+  private final String channel;
+  private final String nodeId;
+  private final Cache<String, Map<String, Object>> cache;
+  private final AtomicLongArray versions;
+  private final ExecutorService subscriber;
+  private final AtomicBoolean subscribing;
+  private final AtomicBoolean subscribed;
+
+  NearCache(Redis redis, String channel, long maxEntries, long ttlMs) {
+    this.redis = redis;
+    this.channel = channel;
+    this.nodeId = UUID.randomUUID().toString();
+    this.cache =
+        Caffeine.newBuilder()
+            .maximumSize(maxEntries)
+            .expireAfterWrite(ttlMs, TimeUnit.MILLISECONDS)
+            .build();
+    this.versions = new AtomicLongArray(VERSION_STRIPES);
+    this.subscriber =
+        MoreExecutors.getExitingExecutorService(
+            (ThreadPoolExecutor)
+                Executors.newFixedThreadPool(
+                    1, new ThreadFactoryBuilder().setNameFormat("cache.invalidations-%d").build()));
+    this.subscribing = new AtomicBoolean(false);
+    this.subscribed = new AtomicBoolean(false);
+  }
+
+  void start() {
+    redis.onStateChange(
+        (from, to) -> {
+          if (to == State.AVAILABLE) {
+            subscribe();
+          }
+        },
+        true);
+  }
+
+  boolean isSubscribed() {
+    return subscribed.get();
+  }
+
+  <T> Optional<T> get(String key, String validator, Class<T> clazz) {
+    if (!subscribed.get()) {
+      return Optional.empty();
+    }
+
+    Map<String, Object> entry = cache.getIfPresent(key);
+    if (Objects.isNull(entry)) {
+      return Optional.empty();
+    }
+
+    Object value = entry.get(validator);
+
+    return clazz.isInstance(value) ? Optional.of(clazz.cast(value)) : Optional.empty();
+  }
+
+  boolean has(String key, String validator) {
+    if (!subscribed.get()) {
+      return false;
+    }
+
+    Map<String, Object> entry = cache.getIfPresent(key);
+
+    return Objects.nonNull(entry) && entry.containsKey(validator);
+  }
+
+  /** Has to be taken before the value that is passed to {@link #remember} is read from redis. */
+  long version(String key) {
+    return versions.get(stripe(key));
+  }
+
+  void remember(String key, String validator, Object value, long version) {
+    if (!subscribed.get() || Objects.isNull(value)) {
+      return;
+    }
+
+    // atomic per key, an invalidation either changes the version first or removes the entry later
+    cache
+        .asMap()
+        .compute(
+            key,
+            (k, entry) -> {
+              if (versions.get(stripe(k)) != version) {
+                return entry;
+              }
+              Map<String, Object> validators =
+                  Objects.nonNull(entry) ? entry : new ConcurrentHashMap<>();
+              validators.put(validator, value);
+              return validators;
+            });
+  }
+
+  void invalidate(String key) {
+    invalidateLocal(key);
+
+    if (!subscribed.get()) {
+      return;
+    }
+
+    try {
+      redis.pubsub().publish(channel, nodeId + SEPARATOR + key);
+    } catch (Throwable e) {
+      LOGGER.warn("Could not publish cache invalidation for {}: {}", key, e.getMessage());
+    }
+  }
+
+  private void invalidateLocal(String key) {
+    versions.incrementAndGet(stripe(key));
+    cache.invalidate(key);
+  }
+
+  private void invalidateAll() {
+    for (int i = 0; i < VERSION_STRIPES; i++) {
+      versions.incrementAndGet(i);
+    }
+    cache.invalidateAll();
+  }
+
+  private static int stripe(String key) {
+    return Math.floorMod(key.hashCode(), VERSION_STRIPES);
+  }
+
+  private void subscribe() {
+    if (subscribing.getAndSet(true)) {
+      return;
+    }
+
+    subscriber.submit(this::subscribeUntilStopped);
+  }
+
+  // the subscription is retried until the executor is shut down, so it does not depend on another
+  // state change of redis
+  private void subscribeUntilStopped() {
+    long backoffMs = MIN_BACKOFF_MS;
+
+    while (!Thread.currentThread().isInterrupted()) {
+      try {
+        if (LOGGER.isDebugEnabled()) {
+          LOGGER.debug("Subscribing to cache invalidations on {}", channel);
+        }
+        // blocks until the connection is lost
+        redis.pubsub().subscribe(channel, this::onMessage, this::onSubscribed);
+      } catch (Throwable e) {
+        if (LOGGER.isDebugEnabled()) {
+          LOGGER.debug("Cache invalidation subscription lost: {}", e.getMessage());
+        }
+      }
+
+      if (subscribed.getAndSet(false)) {
+        backoffMs = MIN_BACKOFF_MS;
+      }
+      invalidateAll();
+
+      try {
+        Thread.sleep(backoffMs);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      backoffMs = Math.min(backoffMs * 2, MAX_BACKOFF_MS);
+    }
+  }
+
+  private void onSubscribed() {
+    invalidateAll();
+    subscribed.set(true);
+
+    if (LOGGER.isDebugEnabled()) {
+      LOGGER.debug("Subscribed to cache invalidations on {}", channel);
+    }
+  }
+
+  private void onMessage(String message) {
+    int separator = message.indexOf(SEPARATOR);
+    if (separator < 0 || Objects.equals(message.substring(0, separator), nodeId)) {
+      return;
+    }
+
+    invalidateLocal(message.substring(separator + 1));
+  }
+}
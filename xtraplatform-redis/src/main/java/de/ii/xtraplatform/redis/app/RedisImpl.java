@@ -27,6 +27,7 @@ import java.util.function.Consumer;
 import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import redis.clients.jedis.AbstractPipeline;
 import redis.clients.jedis.HostAndPort;
 import redis.clients.jedis.JedisPubSub;
 import redis.clients.jedis.RedisClient;
@@ -122,6 +123,11 @@ public class RedisImpl extends AbstractVolatilePolling implements Redis, AppLife
     return jedis;
   }
 
+  @Override
+  public AbstractPipeline pipelined() {
+    return Objects.nonNull(jedis) ? jedis.pipelined() : null;
+  }
+
   @Override
   public RedisPubSub pubsub() {
     return new RedisPubSub() {
@@ -132,9 +138,21 @@ public class RedisImpl extends AbstractVolatilePolling implements Redis, AppLife
 
       @Override
       public void subscribe(String channel, Consumer<String> subscriber) {
+        subscribe(channel, subscriber, () -> {});
+      }
+
+      @Override
+      public void subscribe(String channel, Consumer<String> subscriber, Runnable onSubscribed) {
         // LOGGER.debug("REDIS PUBSUB SUBSCRIBE {}", channel);
         jedis.subscribe(
             new JedisPubSub() {
+              @Override
+              public void onSubscribe(String ch, int subscribedChannels) {
+                if (Objects.equals(ch, channel)) {
+                  onSubscribed.run();
+                }
+              }
+
               @Override
               public void onMessage(String ch, String message) {
                 // LOGGER.debug("REDIS PUBSUB MESSAGE {} {}", ch, message);
@@ -8,6 +8,7 @@
 package de.ii.xtraplatform.redis.domain;
 
 import de.ii.xtraplatform.base.domain.resiliency.Volatile2;
+import redis.clients.jedis.AbstractPipeline;
 import redis.clients.jedis.commands.JedisBinaryCommands;
 import redis.clients.jedis.commands.JedisCommands;
 import redis.clients.jedis.json.commands.RedisJsonCommands;
@@ -20,5 +21,7 @@ public interface Redis extends Volatile2 {
 
   RedisJsonCommands json();
 
+  AbstractPipeline pipelined();
+
   RedisPubSub pubsub();
 }
@@ -13,4 +13,13 @@ public interface RedisPubSub {
   void publish(String channel, String message);
 
   void subscribe(String channel, Consumer<String> subscriber);
+
+  /**
+   * Like {@link #subscribe(String, Consumer)}, but {@code onSubscribed} is called as soon as the
+   * subscription is confirmed by redis.
+   */
+  default void subscribe(String channel, Consumer<String> subscriber, Runnable onSubscribed) {
+    onSubscribed.run();
+    subscribe(channel, subscriber);
+  }
 }
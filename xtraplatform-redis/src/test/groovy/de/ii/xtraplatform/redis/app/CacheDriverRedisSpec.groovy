@@ -0,0 +1,80 @@
+package de.ii.xtraplatform.redis.app
+
+import de.ii.xtraplatform.base.domain.AppContext
+import de.ii.xtraplatform.base.domain.JacksonProvider
+import de.ii.xtraplatform.base.domain.ModifiableAppConfiguration
+import de.ii.xtraplatform.base.domain.ModifiableCacheConfiguration
+import de.ii.xtraplatform.base.domain.ModifiableRedisConfiguration
+import de.ii.xtraplatform.redis.domain.Redis
+import de.ii.xtraplatform.values.api.ValueEncodingJackson
+import de.ii.xtraplatform.values.domain.ValueEncoding.FORMAT
+import redis.clients.jedis.commands.JedisBinaryCommands
+import spock.lang.Specification
+
+import java.nio.charset.StandardCharsets
+
+class CacheDriverRedisSpec extends Specification {
+
+    static final String REDIS_KEY = "xtraplatform:cache:test:key"
+
+    JacksonProvider jackson = new JacksonProvider(Set::of)
+    Map<String, byte[]> hashes = [:]
+    CacheDriverRedis cacheDriverRedis
+
+    def setup() {
+        JedisBinaryCommands cmd = Stub(JedisBinaryCommands) {
+            eval(_ as byte[], _ as List, _ as List) >> { byte[] script, List<byte[]> keys, List<byte[]> args ->
+                hashes.put(entry(keys[0], args[0]), args[1])
+                return 1L
+            }
+            hget(_ as byte[], _ as byte[]) >> { byte[] key, byte[] field ->
+                hashes.get(entry(key, field))
+            }
+        }
+        Redis redis = Stub(Redis) {
+            binary() >> cmd
+        }
+        ModifiableAppConfiguration config = new ModifiableAppConfiguration()
+        config.setCache(new ModifiableCacheConfiguration())
+        config.setRedis(new ModifiableRedisConfiguration().setCluster("test"))
+        AppContext appContext = Stub(AppContext) {
+            getConfiguration() >> config
+        }
+
+        cacheDriverRedis = new CacheDriverRedis(redis, jackson, appContext)
+    }
+
+    def 'Test put get bytes'() {
+        given:
+        byte[] value = [1, 2, 3] as byte[]
+
+        when:
+        cacheDriverRedis.put("key", value)
+
+        then: 'the bytes are stored without serialization, but with a marker'
+        hashes.get(REDIS_KEY + "/content") == [0, 1, 2, 3] as byte[]
+        cacheDriverRedis.get("key", byte[]).get() == value
+    }
+
+    def 'Test get bytes that were stored as SMILE'() {
+        given:
+        byte[] value = [1, 2, 3] as byte[]
+        hashes.put(REDIS_KEY + "/content", new ValueEncodingJackson<Object>(jackson, null, false).serialize(value, FORMAT.SMILE))
+
+        expect:
+        cacheDriverRedis.get("key", byte[]).get() == value
+    }
+
+    def 'Test put get String'() {
+        when:
+        cacheDriverRedis.put("key", "value")
+
+        then:
+        hashes.get(REDIS_KEY + "/content") == "value".getBytes(StandardCharsets.UTF_8)
+        cacheDriverRedis.get("key", String).get() == "value"
+    }
+
+    static String entry(byte[] key, byte[] field) {
+        return new String(key, StandardCharsets.UTF_8) + "/" + new String(field, StandardCharsets.UTF_8)
+    }
+}
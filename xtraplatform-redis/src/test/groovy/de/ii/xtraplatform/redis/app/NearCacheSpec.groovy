@@ -0,0 +1,171 @@
+package de.ii.xtraplatform.redis.app
+
+import de.ii.xtraplatform.base.domain.resiliency.Volatile2.State
+import de.ii.xtraplatform.redis.domain.Redis
+import de.ii.xtraplatform.redis.domain.RedisPubSub
+import spock.lang.Specification
+
+import java.util.concurrent.CopyOnWriteArrayList
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.atomic.AtomicInteger
+import java.util.function.Consumer
+
+class NearCacheSpec extends Specification {
+
+    static final String CONTENT = "content"
+
+    TestPubSub pubSub = new TestPubSub()
+    NearCache nearCache
+
+    def setup() {
+        Redis redis = Stub(Redis) {
+            pubsub() >> pubSub
+            onStateChange(_, _) >> { handler, initialCall ->
+                handler.change(State.UNAVAILABLE, State.AVAILABLE)
+                return {} as Runnable
+            }
+        }
+        nearCache = new NearCache(redis, "invalidations", 100, 60_000)
+    }
+
+    def 'Test remember get'() {
+        given:
+        subscribe()
+
+        when:
+        nearCache.remember("key", CONTENT, "value", nearCache.version("key"))
+
+        then:
+        nearCache.has("key", CONTENT)
+        nearCache.get("key", CONTENT, String).get() == "value"
+        !nearCache.get("key", "other", String).isPresent()
+    }
+
+    def 'Test remember is dropped if another node invalidated the key after the read'() {
+        given:
+        subscribe()
+        long version = nearCache.version("key")
+
+        when:
+        pubSub.subscriber.accept("other|key")
+        nearCache.remember("key", CONTENT, "outdated", version)
+
+        then:
+        !nearCache.get("key", CONTENT, String).isPresent()
+
+        when:
+        nearCache.remember("key", CONTENT, "value", nearCache.version("key"))
+
+        then:
+        nearCache.get("key", CONTENT, String).get() == "value"
+    }
+
+    def 'Test remember is dropped if the key was invalidated locally after the read'() {
+        given:
+        subscribe()
+        long version = nearCache.version("key")
+
+        when:
+        nearCache.invalidate("key")
+        nearCache.remember("key", CONTENT, "outdated", version)
+
+        then:
+        !nearCache.get("key", CONTENT, String).isPresent()
+        pubSub.published.size() == 1
+    }
+
+    def 'Test own invalidations are ignored'() {
+        given:
+        subscribe()
+        nearCache.invalidate("other")
+        nearCache.remember("key", CONTENT, "value", nearCache.version("key"))
+
+        when:
+        pubSub.subscriber.accept(pubSub.published[0].replace("other", "key"))
+
+        then:
+        nearCache.get("key", CONTENT, String).get() == "value"
+    }
+
+    def 'Test nothing is remembered before the subscription is confirmed'() {
+        given:
+        pubSub.confirm = false
+        nearCache.start()
+        waitFor { pubSub.subscriptions.get() == 1 }
+
+        when:
+        nearCache.remember("key", CONTENT, "value", nearCache.version("key"))
+
+        then:
+        !nearCache.isSubscribed()
+        !nearCache.get("key", CONTENT, String).isPresent()
+    }
+
+    def 'Test subscription loss clears the cache and resubscribes'() {
+        given:
+        subscribe()
+        nearCache.remember("key", CONTENT, "value", nearCache.version("key"))
+        long version = nearCache.version("other")
+
+        when:
+        pubSub.loseConnection()
+        waitFor { pubSub.subscriptions.get() == 2 && nearCache.isSubscribed() }
+
+        then: 'without another state change of redis'
+        !nearCache.get("key", CONTENT, String).isPresent()
+
+        when: 'values read while the subscription was down are not remembered'
+        nearCache.remember("other", CONTENT, "value", version)
+
+        then:
+        !nearCache.get("other", CONTENT, String).isPresent()
+    }
+
+    void subscribe() {
+        nearCache.start()
+        waitFor { nearCache.isSubscribed() }
+    }
+
+    static void waitFor(Closure<Boolean> condition) {
+        long deadline = System.currentTimeMillis() + 5000
+        while (!condition() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10)
+        }
+        assert condition()
+    }
+
+    static class TestPubSub implements RedisPubSub {
+        volatile Consumer<String> subscriber
+        volatile CountDownLatch lost = new CountDownLatch(1)
+        volatile boolean confirm = true
+        AtomicInteger subscriptions = new AtomicInteger()
+        List<String> published = new CopyOnWriteArrayList<>()
+
+        @Override
+        void publish(String channel, String message) {
+            published << message
+        }
+
+        @Override
+        void subscribe(String channel, Consumer<String> subscriber) {
+            throw new UnsupportedOperationException()
+        }
+
+        @Override
+        void subscribe(String channel, Consumer<String> subscriber, Runnable onSubscribed) {
+            CountDownLatch current = lost
+            this.subscriber = subscriber
+            subscriptions.incrementAndGet()
+            if (confirm) {
+                onSubscribed.run()
+            }
+            current.await()
+            lost = new CountDownLatch(1)
+            throw new IllegalStateException("connection lost")
+        }
+
+        void loseConnection() {
+            lost.countDown()
+        }
+    }
+}
@@ -125,9 +125,10 @@ public class BlobSourceS3 implements BlobSource, BlobWriter, BlobLocals, Closeab
                 return Stream.empty();
               }
             })
-        .map(item -> prefix.relativize(Path.of(item.objectName())))
         .flatMap(
-            item -> {
+            object -> {
+              Path item = prefix.relativize(Path.of(object.objectName()));
+
               if (item.getNameCount() <= 1) {
                 return Stream.of(item);
               }
@@ -158,6 +159,18 @@ public class BlobSourceS3 implements BlobSource, BlobWriter, BlobLocals, Closeab
                                     return isValue
                                         && subPath.getFileName().toString().startsWith(".");
                                   }
+
+                                  @Override
+                                  public long size() {
+                                    return isValue ? object.size() : -1;
+                                  }
+
+                                  @Override
+                                  public long lastModified() {
+                                    return isValue && Objects.nonNull(object.lastModified())
+                                        ? object.lastModified().toInstant().toEpochMilli()
+                                        : -1;
+                                  }
                                 });
 
                         if (!matches) {
@@ -21,7 +21,9 @@ import io.minio.messages.Item;
 import java.io.IOException;
 import java.nio.file.Path;
 import java.nio.file.PathMatcher;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Spliterator;
 import java.util.function.Supplier;
 import java.util.stream.Stream;
@@ -43,35 +45,53 @@ class EventReaderS3 implements EventReader {
   @Override
   public Stream<Tuple<Path, Supplier<byte[]>>> load(
       Path sourcePath, List<String> includes, List<String> excludes) throws IOException {
-    Path bucket = sourcePath.getName(0);
-    String prefix =
-        sourcePath.getNameCount() > 1
-            ? sourcePath.subpath(1, sourcePath.getNameCount()).toString()
-            : "";
-    List<PathMatcher> includeMatchers = StoreDriver.asMatchers(includes, prefix);
-    List<PathMatcher> excludeMatchers = StoreDriver.asMatchers(excludes, prefix);
-
     if (LOGGER.isDebugEnabled(MARKER.S3)) {
       LOGGER.debug(MARKER.S3, "S3 loading events from {}", sourcePath);
     }
 
-    return loadPathStream(bucket, prefix, includeMatchers, excludeMatchers)
+    Path bucket = sourcePath.getName(0);
+
+    return loadItemStream(sourcePath, includes, excludes)
+        .map(item -> bucket.resolve(item.objectName()))
         .map(path -> Tuple.of(path, supplierMayThrow(() -> readPayload(path))));
   }
 
-  private Stream<Path> loadPathStream(
-      Path bucket, String prefix, List<PathMatcher> includes, List<PathMatcher> excludes)
+  /**
+   * The ETags of all objects that would be loaded, without reading them. Unlike {@link #load},
+   * listing errors are not skipped, an incomplete listing would look like deleted objects.
+   */
+  Map<Path, String> loadETags(Path sourcePath, List<String> includes, List<String> excludes)
       throws IOException {
+    Path bucket = sourcePath.getName(0);
+    String prefix = getPrefix(sourcePath);
+    List<PathMatcher> includeMatchers = StoreDriver.asMatchers(includes, prefix);
+    List<PathMatcher> excludeMatchers = StoreDriver.asMatchers(excludes, prefix);
+    Map<Path, String> etags = new LinkedHashMap<>();
+
+    for (Result<Item> result : listObjects(bucket, prefix)) {
+      Item item;
+      try {
+        item = result.get();
+      } catch (Throwable e) {
+        throw new IOException("S3 Driver", e);
+      }
 
-    Spliterator<Result<Item>> results =
-        minioClient
-            .listObjects(
-                ListObjectsArgs.builder()
-                    .bucket(bucket.toString())
-                    .prefix(prefix)
-                    .recursive(true)
-                    .build())
-            .spliterator();
+      if (matches(item, includeMatchers, excludeMatchers)) {
+        etags.put(bucket.resolve(item.objectName()), item.etag());
+      }
+    }
+
+    return etags;
+  }
+
+  private Stream<Item> loadItemStream(
+      Path sourcePath, List<String> includes, List<String> excludes) {
+    Path bucket = sourcePath.getName(0);
+    String prefix = getPrefix(sourcePath);
+    List<PathMatcher> includeMatchers = StoreDriver.asMatchers(includes, prefix);
+    List<PathMatcher> excludeMatchers = StoreDriver.asMatchers(excludes, prefix);
+
+    Spliterator<Result<Item>> results = listObjects(bucket, prefix).spliterator();
 
     return StreamSupport.stream(results, false)
         .flatMap(
@@ -82,14 +102,27 @@ class EventReaderS3 implements EventReader {
                 return Stream.empty();
               }
             })
-        .filter(
-            item ->
-                (includes.isEmpty()
-                        || includes.stream()
-                            .anyMatch(include -> include.matches(Path.of(item.objectName()))))
-                    && excludes.stream()
-                        .noneMatch(exclude -> exclude.matches(Path.of(item.objectName()))))
-        .map(item -> bucket.resolve(item.objectName()));
+        .filter(item -> matches(item, includeMatchers, excludeMatchers));
+  }
+
+  private Iterable<Result<Item>> listObjects(Path bucket, String prefix) {
+    return minioClient.listObjects(
+        ListObjectsArgs.builder().bucket(bucket.toString()).prefix(prefix).recursive(true).build());
+  }
+
+  private static String getPrefix(Path sourcePath) {
+    return sourcePath.getNameCount() > 1
+        ? sourcePath.subpath(1, sourcePath.getNameCount()).toString()
+        : "";
+  }
+
+  private static boolean matches(
+      Item item, List<PathMatcher> includes, List<PathMatcher> excludes) {
+    Path objectPath = Path.of(item.objectName());
+
+    return (includes.isEmpty()
+            || includes.stream().anyMatch(include -> include.matches(objectPath)))
+        && excludes.stream().noneMatch(exclude -> exclude.matches(objectPath));
   }
 
   private byte[] readPayload(Path path) throws IOException {
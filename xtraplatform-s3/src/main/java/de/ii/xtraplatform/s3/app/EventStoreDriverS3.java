@@ -13,15 +13,25 @@ import de.ii.xtraplatform.base.domain.StoreSource;
 import de.ii.xtraplatform.base.domain.StoreSourceS3;
 import de.ii.xtraplatform.base.domain.util.Tuple;
 import de.ii.xtraplatform.entities.domain.EntityEvent;
-import de.ii.xtraplatform.entities.domain.EventReader;
 import de.ii.xtraplatform.entities.domain.EventSource;
 import de.ii.xtraplatform.entities.domain.EventStoreDriver;
 import io.minio.BucketExistsArgs;
 import io.minio.MinioClient;
 import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
+import java.io.IOException;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -29,12 +39,21 @@ import org.slf4j.LoggerFactory;
 @Singleton
 @AutoBind
 @SuppressWarnings({"PMD.AvoidCatchingGenericException"})
-public class EventStoreDriverS3 implements EventStoreDriver {
+public class EventStoreDriverS3 implements EventStoreDriver, EventStoreDriver.Watcher {
 
   private static final Logger LOGGER = LoggerFactory.getLogger(EventStoreDriverS3.class);
+  private static final long MIN_WATCH_INTERVAL_MS = 1000;
+  private static final long MAX_RETRY_INTERVAL_MS = 60_000;
+  private static final Set<String> WATCHED_EXTENSIONS = Set.of("yml", "yaml", "json");
+
+  private final Map<StoreSource, Map<Path, String>> loadedManifests;
+  private final Set<StoreSource> watchedSources;
 
   @Inject
-  public EventStoreDriverS3() {}
+  public EventStoreDriverS3() {
+    this.loadedManifests = new ConcurrentHashMap<>();
+    this.watchedSources = ConcurrentHashMap.newKeySet();
+  }
 
   @Override
   public String getType() {
@@ -64,7 +83,19 @@ public class EventStoreDriverS3 implements EventStoreDriver {
       EventSource source =
           new EventSource(Path.of(client.second()), storeSource, Function.identity());
 
-      EventReader eventReader = new EventReaderS3(client.first());
+      EventReaderS3 eventReader = new EventReaderS3(client.first());
+
+      // listed before the objects are read, so the watcher does not miss changes in between, only
+      // needed until the watcher took its baseline, later loads are replays triggered by it
+      if (storeSource.isWatchable()
+          && !storeSource.isArchive()
+          && !watchedSources.contains(storeSource)) {
+        try {
+          loadedManifests.put(storeSource, listETags(eventReader, source));
+        } catch (IOException e) {
+          LogContext.error(LOGGER, e, "Could not list source {}", storeSource.getLabel());
+        }
+      }
 
       return source.load(eventReader);
     }
@@ -72,6 +103,112 @@ public class EventStoreDriverS3 implements EventStoreDriver {
     return Stream.empty();
   }
 
+  /**
+   * Polls the object listing of the source and compares the ETags with the previous listing, S3
+   * has no portable change notifications. The first listing is the one taken when the source was
+   * loaded before the watcher started, if there is one, later loads do not list the source.
+   * Failed listings are retried with an increasing interval. Runs until the thread is interrupted.
+   */
+  @Override
+  public void listen(StoreSource storeSource, Consumer<List<Path>> watchEventConsumer) {
+    if (!(storeSource instanceof StoreSourceS3)
+        || !storeSource.isWatchable()
+        || storeSource.isArchive()) {
+      if (LOGGER.isWarnEnabled()) {
+        LOGGER.warn("Watching is disabled for source {}.", storeSource.getLabel());
+      }
+      return;
+    }
+
+    StoreSourceS3 s3Source = (StoreSourceS3) storeSource;
+    long interval = Math.max(s3Source.getWatchInterval().toMilliseconds(), MIN_WATCH_INTERVAL_MS);
+    long maxDelay = Math.max(interval, MAX_RETRY_INTERVAL_MS);
+    Tuple<MinioClient, String> client = getClient(s3Source);
+    EventSource source =
+        new EventSource(Path.of(client.second()), storeSource, Function.identity());
+
+    watchedSources.add(storeSource);
+
+    try (MinioClient minioClient = client.first()) {
+      EventReaderS3 eventReader = new EventReaderS3(minioClient);
+      Optional<Map<Path, String>> manifest =
+          Optional.ofNullable(loadedManifests.remove(storeSource));
+      long delay = manifest.isPresent() ? interval : 0;
+
+      if (LOGGER.isDebugEnabled()) {
+        LOGGER.debug("Watching source {}, polling every {}ms.", storeSource.getLabel(), interval);
+      }
+
+      while (!Thread.currentThread().isInterrupted()) {
+        Thread.sleep(delay);
+
+        Map<Path, String> current;
+        try {
+          current = listETags(eventReader, source);
+          delay = interval;
+        } catch (IOException | RuntimeException e) {
+          delay = Math.min(Math.max(delay, interval) * 2, maxDelay);
+          LogContext.error(
+              LOGGER,
+              e,
+              "Could not poll source {}, retrying in {}ms",
+              storeSource.getLabel(),
+              delay);
+          continue;
+        }
+
+        if (manifest.isEmpty()) {
+          manifest = Optional.of(current);
+          continue;
+        }
+
+        List<Path> changedFiles = diff(manifest.get(), current, source.getPath());
+        manifest = Optional.of(current);
+
+        if (!changedFiles.isEmpty()) {
+          watchEventConsumer.accept(changedFiles);
+        }
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } catch (Throwable e) {
+      LogContext.error(LOGGER, e, "Could not watch store.");
+    } finally {
+      watchedSources.remove(storeSource);
+    }
+  }
+
+  private static Map<Path, String> listETags(EventReaderS3 eventReader, EventSource source)
+      throws IOException {
+    return eventReader.loadETags(
+        source.getPath(), source.getSource().getIncludes(), source.getSource().getExcludes());
+  }
+
+  static List<Path> diff(Map<Path, String> previous, Map<Path, String> current, Path rootPath) {
+    List<Path> changed = new ArrayList<>();
+
+    current.forEach(
+        (path, etag) -> {
+          if (!Objects.equals(previous.get(path), etag)) {
+            changed.add(path);
+          }
+        });
+    previous.keySet().stream().filter(path -> !current.containsKey(path)).forEach(changed::add);
+
+    return changed.stream()
+        .filter(EventStoreDriverS3::isWatched)
+        .map(rootPath::relativize)
+        .collect(Collectors.toList());
+  }
+
+  private static boolean isWatched(Path path) {
+    String fileName = path.getFileName().toString();
+    int dot = fileName.lastIndexOf('.');
+
+    return dot >= 0
+        && WATCHED_EXTENSIONS.contains(fileName.substring(dot + 1).toLowerCase(Locale.ROOT));
+  }
+
   private Tuple<MinioClient, String> getClient(StoreSourceS3 storeSource) {
     String host = storeSource.getSrc().substring(0, storeSource.getSrc().lastIndexOf('/'));
     String bucket = storeSource.getSrc().substring(storeSource.getSrc().lastIndexOf('/') + 1);
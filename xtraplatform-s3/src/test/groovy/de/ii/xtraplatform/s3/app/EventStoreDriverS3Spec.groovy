@@ -0,0 +1,56 @@
+package de.ii.xtraplatform.s3.app
+
+import spock.lang.Specification
+
+import java.nio.file.Path
+
+class EventStoreDriverS3Spec extends Specification {
+
+    static final Path ROOT = Path.of("bucket")
+
+    def 'Test diff of ETag listings'() {
+        given:
+        Map<Path, String> previous = [
+                (ROOT.resolve("entities/instances/services/a.yml")): "1",
+                (ROOT.resolve("entities/instances/services/b.yml")): "1",
+                (ROOT.resolve("entities/instances/services/c.yml")): "1",
+        ]
+        Map<Path, String> current = [
+                (ROOT.resolve("entities/instances/services/a.yml")): "1",
+                (ROOT.resolve("entities/instances/services/b.yml")): "2",
+                (ROOT.resolve("entities/instances/services/d.yml")): "1",
+        ]
+
+        when:
+        List<Path> changed = EventStoreDriverS3.diff(previous, current, ROOT)
+
+        then: 'changed, added and removed objects'
+        changed as Set == [
+                Path.of("entities/instances/services/b.yml"),
+                Path.of("entities/instances/services/d.yml"),
+                Path.of("entities/instances/services/c.yml"),
+        ] as Set
+    }
+
+    def 'Test diff ignores unwatched files'() {
+        given:
+        Map<Path, String> previous = [:]
+        Map<Path, String> current = [
+                (ROOT.resolve("entities/instances/services/a.JSON")): "1",
+                (ROOT.resolve("entities/instances/services/.DS_Store")): "1",
+                (ROOT.resolve("entities/instances/services/notes.txt")): "1",
+                (ROOT.resolve("entities/instances/services/README")): "1",
+        ]
+
+        expect:
+        EventStoreDriverS3.diff(previous, current, ROOT) == [Path.of("entities/instances/services/a.JSON")]
+    }
+
+    def 'Test diff of equal listings is empty'() {
+        given:
+        Map<Path, String> listing = [(ROOT.resolve("entities/instances/services/a.yml")): "1"]
+
+        expect:
+        EventStoreDriverS3.diff(listing, new LinkedHashMap<>(listing), ROOT).isEmpty()
+    }
+}
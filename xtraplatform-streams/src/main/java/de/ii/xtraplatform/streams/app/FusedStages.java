@@ -0,0 +1,115 @@
+/*
+ * Copyright 2026 interactive instruments GmbH
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package de.ii.xtraplatform.streams.app;
+
+import de.ii.xtraplatform.streams.app.TransformerDefault.Type;
+import de.ii.xtraplatform.streams.domain.Reactive.Transformer;
+import io.reactivex.rxjava3.core.Flowable;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Adjacent map, filter and peek transformers that are applied by a single map operator, instead of
+ * one operator per transformer. Items that are filtered out are replaced with a marker that is
+ * dropped by one trailing filter operator, so no objects are allocated per item.
+ */
+@SuppressWarnings("unchecked")
+final class FusedStages {
+
+  private static final Object FILTERED = new Object();
+
+  private final Type[] types;
+  private final Object[] functions;
+  private final boolean filters;
+
+  private FusedStages(List<TransformerDefault<?, ?>> stages) {
+    this.types = new Type[stages.size()];
+    this.functions = new Object[stages.size()];
+
+    boolean hasFilter = false;
+
+    for (int i = 0; i < stages.size(); i++) {
+      TransformerDefault<?, ?> stage = stages.get(i);
+      types[i] = stage.getType();
+      switch (stage.getType()) {
+        case MAP:
+          functions[i] = stage.getFunction();
+          break;
+        case FILTER:
+          functions[i] = stage.getPredicate();
+          hasFilter = true;
+          break;
+        case PEEK:
+          functions[i] = stage.getConsumer();
+          break;
+        default:
+          throw new IllegalArgumentException("Transformer cannot be fused: " + stage.getType());
+      }
+    }
+
+    this.filters = hasFilter;
+  }
+
+  /** Stateless transformers without prepended or merged sources. */
+  static boolean canFuse(Transformer<?, ?> transformer) {
+    if (!(transformer instanceof TransformerDefault)) {
+      return false;
+    }
+    TransformerDefault<?, ?> transformerDefault = (TransformerDefault<?, ?>) transformer;
+
+    switch (transformerDefault.getType()) {
+      case MAP:
+      case FILTER:
+      case PEEK:
+        return transformerDefault.getPrepend().isEmpty()
+            && transformerDefault.getMergeSorted().isEmpty();
+      default:
+        return false;
+    }
+  }
+
+  static <T, U> Flowable<U> assemble(Flowable<T> flowable, List<TransformerDefault<?, ?>> stages) {
+    FusedStages fused = new FusedStages(stages);
+    Flowable<Object> mapped = flowable.map(fused::apply);
+
+    if (fused.filters) {
+      return (Flowable<U>) mapped.filter(item -> item != FILTERED);
+    }
+
+    return (Flowable<U>) mapped;
+  }
+
+  private Object apply(Object item) {
+    Object current = item;
+
+    for (int i = 0; i < types.length; i++) {
+      switch (types[i]) {
+        case MAP:
+          current = ((Function<Object, Object>) functions[i]).apply(current);
+          if (current == null) {
+            throw new NullPointerException("The mapper function returned a null value.");
+          }
+          break;
+        case FILTER:
+          if (!((Predicate<Object>) functions[i]).test(current)) {
+            return FILTERED;
+          }
+          break;
+        case PEEK:
+          ((Consumer<Object>) functions[i]).accept(current);
+          break;
+        default:
+          throw new IllegalStateException();
+      }
+    }
+
+    return current;
+  }
+}
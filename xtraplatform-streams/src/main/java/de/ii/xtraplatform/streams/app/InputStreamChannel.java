@@ -0,0 +1,63 @@
+/*
+ * Copyright 2026 interactive instruments GmbH
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package de.ii.xtraplatform.streams.app;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.ReadableByteChannel;
+
+/**
+ * Unlike {@link java.nio.channels.Channels#newChannel(InputStream)}, reads directly into the
+ * backing array of heap buffers instead of copying from an intermediate array.
+ */
+public class InputStreamChannel implements ReadableByteChannel {
+
+  private final InputStream inputStream;
+  private volatile boolean open;
+
+  public InputStreamChannel(InputStream inputStream) {
+    this.inputStream = inputStream;
+    this.open = true;
+  }
+
+  @Override
+  public int read(ByteBuffer dst) throws IOException {
+    if (!open) {
+      throw new ClosedChannelException();
+    }
+
+    if (!dst.hasArray()) {
+      byte[] bytes = new byte[dst.remaining()];
+      int read = inputStream.read(bytes);
+      if (read > 0) {
+        dst.put(bytes, 0, read);
+      }
+      return read;
+    }
+
+    int read = inputStream.read(dst.array(), dst.arrayOffset() + dst.position(), dst.remaining());
+    if (read > 0) {
+      dst.position(dst.position() + read);
+    }
+
+    return read;
+  }
+
+  @Override
+  public boolean isOpen() {
+    return open;
+  }
+
+  @Override
+  public void close() throws IOException {
+    this.open = false;
+    inputStream.close();
+  }
+}
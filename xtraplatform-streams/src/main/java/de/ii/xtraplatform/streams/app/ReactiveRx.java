@@ -9,15 +9,19 @@ package de.ii.xtraplatform.streams.app;
 
 import com.github.azahnen.dagger.annotations.AutoBind;
 import de.ii.xtraplatform.base.domain.util.Triple;
+import de.ii.xtraplatform.streams.domain.ByteBufferPool;
 import de.ii.xtraplatform.streams.domain.Reactive;
 import hu.akarnokd.rxjava3.operators.Flowables;
 import io.reactivex.rxjava3.core.Flowable;
+import io.reactivex.rxjava3.core.Scheduler;
 import io.reactivex.rxjava3.processors.UnicastProcessor;
-import io.reactivex.rxjava3.schedulers.Schedulers;
 import io.reactivex.rxjava3.subscribers.DefaultSubscriber;
 import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
-import java.net.http.HttpRequest.BodyPublishers;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Comparator;
@@ -39,30 +43,45 @@ public class ReactiveRx implements Reactive {
 
   @Override
   public Runner runner(String name) {
-    return new RunnerRx();
+    return runner(name, Runner.DYNAMIC_CAPACITY, Runner.DYNAMIC_CAPACITY);
   }
 
   @Override
   public Runner runner(String name, int capacity, int queueSize) {
-    return new RunnerRx(capacity, queueSize);
+    return runner(name, capacity, queueSize, Duration.ZERO, false);
   }
 
-  static <V, W> Triple<Flowable<V>, SubscriberRx<V>, StreamContext<W>> getGraph(Stream<W> stream) {
+  @Override
+  public Runner runner(String name, int capacity, int queueSize, boolean virtualThreads) {
+    return runner(name, capacity, queueSize, Duration.ZERO, virtualThreads);
+  }
+
+  @Override
+  public Runner runner(
+      String name, int capacity, int queueSize, Duration queueTimeout, boolean virtualThreads) {
+    if (virtualThreads) {
+      return new RunnerVirtual(name, capacity, queueSize, queueTimeout);
+    }
+    return new RunnerRx(name, capacity, queueSize, queueTimeout);
+  }
+
+  static <V, W> Triple<Flowable<V>, SubscriberRx<V>, StreamContext<W>> getGraph(
+      Stream<W> stream, Scheduler blocking) {
     if (stream instanceof StreamDefault) {
-      return getGraph((StreamDefault<V, W>) stream);
+      return getGraph((StreamDefault<V, W>) stream, blocking);
     }
 
     if (stream instanceof StreamDefault.WithFinalizer) {
-      return getGraph((StreamDefault<V, ?>.WithFinalizer<W>) stream);
+      return getGraph((StreamDefault<V, ?>.WithFinalizer<W>) stream, blocking);
     }
 
     throw new IllegalStateException();
   }
 
   static <V, W> Triple<Flowable<V>, SubscriberRx<V>, StreamContext<W>> getGraph(
-      StreamDefault<V, W> stream) {
-    Flowable<V> source = assemble(stream.getSource());
-    SubscriberRx<V> sink = assemble(stream.getSink(), stream);
+      StreamDefault<V, W> stream, Scheduler blocking) {
+    Flowable<V> source = assemble(stream.getSource(), blocking);
+    SubscriberRx<V> sink = assemble(stream.getSink(), stream, blocking);
     AtomicReference<W> result = stream.getResult();
 
     if (stream.getItemHandler().isPresent()) {
@@ -74,39 +93,40 @@ public class ReactiveRx implements Reactive {
   }
 
   static <V, W, X> Triple<Flowable<V>, SubscriberRx<V>, StreamContext<X>> getGraph(
-      StreamDefault<V, W>.WithFinalizer<X> stream) {
-    Triple<Flowable<V>, SubscriberRx<V>, StreamContext<W>> graph = getGraph(stream.getStream());
+      StreamDefault<V, W>.WithFinalizer<X> stream, Scheduler blocking) {
+    Triple<Flowable<V>, SubscriberRx<V>, StreamContext<W>> graph =
+        getGraph(stream.getStream(), blocking);
     Flowable<V> source = graph.first();
     SubscriberRx<V> sink = graph.second();
 
     return Triple.of(source, sink, stream);
   }
 
-  static <U> Flowable<U> assemble(Reactive.Source<U> source) {
+  static <U> Flowable<U> assemble(Reactive.Source<U> source, Scheduler blocking) {
     Flowable<U> assembled = null;
     Optional<Source<U>> prepend = Optional.empty();
     Optional<Source<U>> mergeSorted = Optional.empty();
     Optional<Comparator<U>> mergeSortedComparator = Optional.empty();
 
     if (source instanceof SourceDefault) {
-      assembled = assemble((SourceDefault<U>) source);
+      assembled = assemble((SourceDefault<U>) source, blocking);
       prepend = ((SourceDefault<U>) source).getPrepend();
       mergeSorted = ((SourceDefault<U>) source).getMergeSorted();
       mergeSortedComparator = ((SourceDefault<U>) source).getMergeSortedComparator();
     }
 
     if (source instanceof SourceTransformed) {
-      assembled = assemble((SourceTransformed<?, U>) source);
+      assembled = assemble((SourceTransformed<?, U>) source, blocking);
     }
 
     if (Objects.nonNull(assembled)) {
       if (prepend.isPresent()) {
-        assembled = assembled.startWith(assemble(prepend.get()));
+        assembled = assembled.startWith(assemble(prepend.get(), blocking));
       }
       if (mergeSorted.isPresent() && mergeSortedComparator.isPresent()) {
         assembled =
             Flowables.orderedMerge(
-                mergeSortedComparator.get(), assembled, assemble(mergeSorted.get()));
+                mergeSortedComparator.get(), assembled, assemble(mergeSorted.get(), blocking));
       }
 
       return assembled;
@@ -115,7 +135,7 @@ public class ReactiveRx implements Reactive {
     throw new IllegalStateException();
   }
 
-  static <U> Flowable<U> assemble(SourceDefault<U> source) {
+  static <U> Flowable<U> assemble(SourceDefault<U> source, Scheduler blocking) {
     switch (source.getType()) {
       case ITERABLE:
         return Flowable.fromIterable(source.getIterable());
@@ -124,13 +144,37 @@ public class ReactiveRx implements Reactive {
       case SINGLE:
         return Flowable.just(source.getItem());
       case INPUT_STREAM:
+        // read directly into the emitted arrays, only partial chunks are copied
+        return (Flowable<U>)
+            Flowable.<byte[], InputStream>generate(
+                source::getInputStream,
+                (inputStream, emitter) -> {
+                  byte[] chunk = new byte[ByteBufferPool.DEFAULT_BUFFER_SIZE];
+                  int read = inputStream.read(chunk);
+                  if (read < 0) {
+                    emitter.onComplete();
+                  } else if (read > 0) {
+                    emitter.onNext(read == chunk.length ? chunk : Arrays.copyOf(chunk, read));
+                  }
+                },
+                InputStream::close);
+      case BYTE_CHANNEL:
         return (Flowable<U>)
-            Flowable.fromPublisher(
-                    FlowAdapters.toPublisher(BodyPublishers.ofInputStream(source::getInputStream)))
-                .map(
-                    byteBuffer ->
-                        Arrays.copyOfRange(
-                            byteBuffer.array(), byteBuffer.position(), byteBuffer.limit()));
+            Flowable.<ByteBuffer, ReadableByteChannel>generate(
+                source::getChannel,
+                (channel, emitter) -> {
+                  ByteBuffer buffer = source.getPool().acquire();
+                  int read = channel.read(buffer);
+                  if (read < 0) {
+                    source.getPool().release(buffer);
+                    emitter.onComplete();
+                  } else if (read > 0) {
+                    emitter.onNext(buffer.flip());
+                  } else {
+                    source.getPool().release(buffer);
+                  }
+                },
+                ReadableByteChannel::close);
       case GUARDED:
         // acquire on subscribe, release on terminate; run on a worker thread (subscribeOn) so a
         // blocking acquire does not block the subscribing/drain thread
@@ -139,38 +183,39 @@ public class ReactiveRx implements Reactive {
                   source.getAcquire().run();
                   return Boolean.TRUE;
                 },
-                ignored -> assemble(source.getGuardedInner()),
+                ignored -> assemble(source.getGuardedInner(), blocking),
                 ignored -> source.getRelease().run())
-            .subscribeOn(Schedulers.io());
+            .subscribeOn(blocking);
     }
 
     throw new IllegalStateException();
   }
 
-  static <U, V> Flowable<V> assemble(SourceTransformed<U, V> source) {
+  static <U, V> Flowable<V> assemble(SourceTransformed<U, V> source, Scheduler blocking) {
 
     SourceDefault<U> source1 = source.getSource();
-    Flowable<U> akkaSource = assemble(source1);
+    Flowable<U> akkaSource = assemble(source1, blocking);
     Transformer<U, V> transformer = source.getTransformer();
 
-    return assemble(akkaSource, transformer);
+    return assemble(akkaSource, transformer, blocking);
   }
 
-  static <U, V> Flowable<V> assemble(Flowable<U> flowable, Transformer<U, V> transformer) {
+  static <U, V> Flowable<V> assemble(
+      Flowable<U> flowable, Transformer<U, V> transformer, Scheduler blocking) {
     Flowable<V> assembled = null;
     Optional<Source<V>> prepend = Optional.empty();
     Optional<Source<V>> mergeSorted = Optional.empty();
     Optional<Comparator<V>> mergeSortedComparator = Optional.empty();
 
     if (transformer instanceof TransformerDefault) {
-      assembled = assemble(flowable, (TransformerDefault<U, V>) transformer);
+      assembled = assemble(flowable, (TransformerDefault<U, V>) transformer, blocking);
       prepend = ((TransformerDefault<U, V>) transformer).getPrepend();
       mergeSorted = ((TransformerDefault<U, V>) transformer).getMergeSorted();
       mergeSortedComparator = ((TransformerDefault<U, V>) transformer).getMergeSortedComparator();
     }
 
     if (transformer instanceof TransformerChained) {
-      assembled = assemble(flowable, (TransformerChained<U, ?, V>) transformer);
+      assembled = assemble(flowable, (TransformerChained<U, ?, V>) transformer, blocking);
     }
 
     if (transformer instanceof TransformerCustom) {
@@ -179,12 +224,12 @@ public class ReactiveRx implements Reactive {
 
     if (Objects.nonNull(assembled)) {
       if (prepend.isPresent()) {
-        assembled = assembled.startWith(assemble(prepend.get()));
+        assembled = assembled.startWith(assemble(prepend.get(), blocking));
       }
       if (mergeSorted.isPresent() && mergeSortedComparator.isPresent()) {
         assembled =
             Flowables.orderedMerge(
-                mergeSortedComparator.get(), assembled, assemble(mergeSorted.get()));
+                mergeSortedComparator.get(), assembled, assemble(mergeSorted.get(), blocking));
       }
 
       return assembled;
@@ -193,7 +238,8 @@ public class ReactiveRx implements Reactive {
     throw new IllegalStateException();
   }
 
-  static <U, V> Flowable<V> assemble(Flowable<U> flowable, TransformerDefault<U, V> transformer) {
+  static <U, V> Flowable<V> assemble(
+      Flowable<U> flowable, TransformerDefault<U, V> transformer, Scheduler blocking) {
     switch (transformer.getType()) {
       case MAP:
         return flowable.map(transformer.getFunction()::apply);
@@ -208,10 +254,10 @@ public class ReactiveRx implements Reactive {
       case REDUCE:
         return flowable.reduce(transformer.getItem(), transformer.getReducer()::apply).toFlowable();
       case FLATMAP:
-        return flowable.concatMap(u -> assemble(transformer.getFlatMap().apply(u)));
+        return flowable.concatMap(u -> assemble(transformer.getFlatMap().apply(u), blocking));
       case FLATMAP_EAGER:
         return flowable.concatMapEager(
-            u -> assemble(transformer.getFlatMap().apply(u)),
+            u -> assemble(transformer.getFlatMap().apply(u), blocking),
             transformer.getMaxConcurrency(),
             transformer.getPrefetch() > 0 ? transformer.getPrefetch() : Flowable.bufferSize());
     }
@@ -219,21 +265,58 @@ public class ReactiveRx implements Reactive {
     throw new IllegalStateException();
   }
 
+  // adjacent stateless transformers are fused into a single operator, see FusedStages
   static <U, V, W> Flowable<W> assemble(
-      Flowable<U> akkaSource, TransformerChained<U, V, W> transformer) {
-    Transformer<U, V> transformer1 = transformer.getTransformer1();
-    Transformer<V, W> transformer2 = transformer.getTransformer2();
-    Flowable<V> akkaSource1 = assemble(akkaSource, transformer1);
+      Flowable<U> akkaSource, TransformerChained<U, V, W> transformer, Scheduler blocking) {
+    List<Transformer<?, ?>> stages = new ArrayList<>();
+    flatten(transformer, stages);
+
+    Flowable<Object> assembled = (Flowable<Object>) akkaSource;
+    List<TransformerDefault<?, ?>> fuseable = new ArrayList<>();
+
+    for (Transformer<?, ?> stage : stages) {
+      if (FusedStages.canFuse(stage)) {
+        fuseable.add((TransformerDefault<?, ?>) stage);
+        continue;
+      }
+
+      assembled = fuse(assembled, fuseable, blocking);
+      fuseable.clear();
+      assembled = assemble(assembled, (Transformer<Object, Object>) stage, blocking);
+    }
+
+    return (Flowable<W>) fuse(assembled, fuseable, blocking);
+  }
+
+  private static void flatten(Transformer<?, ?> transformer, List<Transformer<?, ?>> stages) {
+    if (transformer instanceof TransformerChained) {
+      flatten(((TransformerChained<?, ?, ?>) transformer).getTransformer1(), stages);
+      flatten(((TransformerChained<?, ?, ?>) transformer).getTransformer2(), stages);
+      return;
+    }
+
+    stages.add(transformer);
+  }
+
+  private static Flowable<Object> fuse(
+      Flowable<Object> flowable, List<TransformerDefault<?, ?>> stages, Scheduler blocking) {
+    if (stages.isEmpty()) {
+      return flowable;
+    }
+    if (stages.size() == 1) {
+      return assemble(flowable, (TransformerDefault<Object, Object>) stages.get(0), blocking);
+    }
 
-    return assemble(akkaSource1, transformer2);
+    return FusedStages.assemble(flowable, stages);
   }
 
-  static <U, V> SubscriberRx<U> assemble(SinkReduced<U, V> sink, StreamContext<V> stream) {
+  static <U, V> SubscriberRx<U> assemble(
+      SinkReduced<U, V> sink, StreamContext<V> stream, Scheduler blocking) {
     if (sink instanceof SinkDefault) {
       return assemble((SinkDefault<U, V>) sink, stream);
     }
     if (sink instanceof SinkTransformedImpl) {
-      return assemble((SinkTransformedImpl<U, ?, V>) sink, stream);
+      return assemble((SinkTransformedImpl<U, ?, V>) sink, stream, blocking);
     }
 
     throw new IllegalStateException();
@@ -307,12 +390,12 @@ public class ReactiveRx implements Reactive {
   }
 
   static <U, V, W> SubscriberRx<U> assemble(
-      SinkTransformedImpl<U, V, W> sink, StreamContext<W> stream) {
+      SinkTransformedImpl<U, V, W> sink, StreamContext<W> stream, Scheduler blocking) {
     UnicastProcessor<U> subscriber = UnicastProcessor.create();
 
-    Flowable<V> transformed = assemble(subscriber, sink.getTransformer());
+    Flowable<V> transformed = assemble(subscriber, sink.getTransformer(), blocking);
 
-    SubscriberRx<V> assembled = assemble(sink.getSink(), stream);
+    SubscriberRx<V> assembled = assemble(sink.getSink(), stream, blocking);
 
     transformed.subscribe(assembled);
 
@@ -16,41 +16,42 @@ import de.ii.xtraplatform.streams.domain.Reactive.StreamContext;
 import io.reactivex.rxjava3.core.Flowable;
 import io.reactivex.rxjava3.core.Scheduler;
 import io.reactivex.rxjava3.schedulers.Schedulers;
-import java.util.LinkedList;
+import java.time.Duration;
 import java.util.Objects;
-import java.util.Queue;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
-import java.util.concurrent.atomic.AtomicInteger;
-import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReentrantLock;
-
-// NOTE: the queue was introduced as a mean to protect the connection pool and prevent deadlocks
-// because of a bug (running.get() < queueSize instead of running.get() < capacity) it was never
-// used
-// despite that there were no problems with deadlocks and enabling it slightly decreases performance
-// so I guess the options are to either remove it or enable it and use DYNAMIC_CAPACITY for
-// FeatureStreams
+
+/**
+ * Runs streams on a work-stealing pool. The number of concurrent streams and of streams waiting
+ * for admission is limited by {@link StreamAdmission}, e.g. to protect a connection pool that is
+ * shared by the streams.
+ */
 public class RunnerRx implements Runner {
 
   private final Scheduler scheduler;
   private final int capacity;
-  private final int queueSize;
-  private final Queue<Runnable> queue;
-  private final AtomicInteger running;
-  private final Lock instanceLock;
+  private final StreamAdmission admission;
 
   public RunnerRx() {
     this(DYNAMIC_CAPACITY, DYNAMIC_CAPACITY);
   }
 
   public RunnerRx(int capacity, int queueSize) {
-    this(getConfig(capacity), capacity, queueSize);
+    this("default", capacity, queueSize, Duration.ZERO);
+  }
+
+  public RunnerRx(String name, int capacity, int queueSize, Duration queueTimeout) {
+    this(getConfig(capacity), name, capacity, queueSize, queueTimeout);
   }
 
-  RunnerRx(ExecutorService executorService, int capacity, int queueSize) {
+  RunnerRx(
+      ExecutorService executorService,
+      String name,
+      int capacity,
+      int queueSize,
+      Duration queueTimeout) {
     if (capacity == 0) {
       throw new IllegalArgumentException("invalid capacity: 0");
     }
@@ -60,15 +61,12 @@ public class RunnerRx implements Runner {
     scheduler.start();
 
     this.capacity = capacity;
-    this.queueSize = queueSize;
-    this.queue = new LinkedList<>();
-    this.running = new AtomicInteger(0);
-    this.instanceLock = new ReentrantLock();
+    this.admission = new StreamAdmission(name, capacity, queueSize, queueTimeout);
   }
 
   @Override
   public <X> CompletionStage<X> run(Stream<X> stream) {
-    return runGraph(ReactiveRx.getGraph(stream));
+    return runGraph(ReactiveRx.getGraph(stream, Schedulers.io()));
   }
 
   private <T, U> CompletionStage<U> runGraph(
@@ -77,85 +75,56 @@ public class RunnerRx implements Runner {
     Flowable<T> flowable = graph.first();
     SubscriberRx<T> subscriber = graph.second();
     StreamContext<U> context = graph.third();
-
-    if (getCapacity() == DYNAMIC_CAPACITY) {
-      flowable
-          .subscribeOn(scheduler)
-          .doOnError(throwable -> context.onError(result, throwable))
-          .doOnComplete(() -> context.onComplete(result))
-          .subscribe(subscriber.onError(throwable -> context.onError(result, throwable)));
-    } else {
-      Runnable task =
-          () -> {
-            flowable
-                .subscribeOn(scheduler)
-                .doOnError(
-                    throwable -> {
-                      context.onError(result, throwable);
-
-                      runNext();
-                    })
-                .doOnComplete(
-                    () ->
-                        LogContext.withMdc(
-                                () -> {
-                                  context.onComplete(result);
-
-                                  runNext();
-                                })
-                            .run())
-                .subscribe(subscriber.onError(throwable -> context.onError(result, throwable)));
-          };
-      run(task);
-    }
+    Runnable onComplete = LogContext.withMdc(() -> context.onComplete(result));
+
+    admission
+        .admit()
+        .whenComplete(
+            (ignored, rejection) -> {
+              if (Objects.nonNull(rejection)) {
+                context.onError(result, rejection);
+                return;
+              }
+
+              flowable
+                  .subscribeOn(scheduler)
+                  .doOnError(throwable -> context.onError(result, throwable))
+                  .doOnComplete(onComplete::run)
+                  .doFinally(admission::release)
+                  .subscribe(subscriber.onError(throwable -> context.onError(result, throwable)));
+            });
 
     return result;
   }
 
-  private void run(Runnable task) {
-    try {
-      instanceLock.lock();
-
-      if (running.get() < queueSize) { // correct would be running.get() < capacity, see above
-        running.incrementAndGet();
-        task.run();
-      } else {
-        /*if (queue.size() > queueSize) {
-          queue.poll();
-        }*/
-        queue.offer(task);
-      }
-    } finally {
-      instanceLock.unlock();
-    }
+  @Override
+  public int getCapacity() {
+    return capacity;
   }
 
-  private void runNext() {
-    try {
-      instanceLock.lock();
-
-      int current = running.get() - 1;
-      if (current < queueSize) { // correct would be current < capacity, see above
-        Runnable task = queue.poll();
-        if (Objects.nonNull(task)) {
-          task.run();
-        } else {
-          running.decrementAndGet();
-        }
-      }
-    } finally {
-      instanceLock.unlock();
-    }
+  @Override
+  public int getActiveStreams() {
+    return admission.getInFlight();
   }
 
   @Override
-  public int getCapacity() {
-    return capacity;
+  public int getQueuedStreams() {
+    return admission.getQueued();
   }
 
   @Override
-  public int getActiveStreams() {
-    return running.get();
+  public long getAdmittedStreams() {
+    return admission.getAdmitted();
+  }
+
+  @Override
+  public long getRejectedStreams() {
+    return admission.getRejected();
+  }
+
+  @Override
+  public long getWaitTimeMillis() {
+    return admission.getWaitTimeMillis();
   }
 
   private static ExecutorService getConfig(int capacity) {
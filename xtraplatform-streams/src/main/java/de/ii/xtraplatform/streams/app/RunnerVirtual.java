@@ -0,0 +1,125 @@
+/*
+ * Copyright 2026 interactive instruments GmbH
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package de.ii.xtraplatform.streams.app;
+
+import de.ii.xtraplatform.base.domain.LogContext;
+import de.ii.xtraplatform.base.domain.util.Triple;
+import de.ii.xtraplatform.streams.app.ReactiveRx.SubscriberRx;
+import de.ii.xtraplatform.streams.domain.Reactive.Runner;
+import de.ii.xtraplatform.streams.domain.Reactive.Stream;
+import de.ii.xtraplatform.streams.domain.Reactive.StreamContext;
+import io.reactivex.rxjava3.core.Flowable;
+import io.reactivex.rxjava3.core.Scheduler;
+import io.reactivex.rxjava3.schedulers.Schedulers;
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Subscribes every stream on its own virtual thread, blocking sources like guarded sources use
+ * virtual threads as well. Admission is controlled by {@link StreamAdmission}, a thread is only
+ * started once a stream is admitted. On runtimes without virtual threads, platform threads are used
+ * instead.
+ */
+public class RunnerVirtual implements Runner {
+
+  private final ExecutorService executorService;
+  private final Scheduler scheduler;
+  private final int capacity;
+  private final StreamAdmission admission;
+
+  public RunnerVirtual(String name, int capacity, int queueSize, Duration queueTimeout) {
+    this.admission = new StreamAdmission(name, capacity, queueSize, queueTimeout);
+    this.executorService = VirtualThreads.newExecutor("stream." + name + "-");
+    this.scheduler = Schedulers.from(executorService);
+    this.capacity = capacity;
+  }
+
+  @Override
+  public <X> CompletionStage<X> run(Stream<X> stream) {
+    return runGraph(ReactiveRx.getGraph(stream, scheduler));
+  }
+
+  private <T, U> CompletionStage<U> runGraph(
+      Triple<Flowable<T>, SubscriberRx<T>, StreamContext<U>> graph) {
+    CompletableFuture<U> result = new CompletableFuture<>();
+    Flowable<T> flowable = graph.first();
+    SubscriberRx<T> subscriber = graph.second();
+    StreamContext<U> context = graph.third();
+
+    // subscribing on the stream thread, synchronous sources are drained on it as well
+    Runnable subscribe =
+        LogContext.withMdc(
+            () ->
+                flowable
+                    .doOnError(throwable -> context.onError(result, throwable))
+                    .doOnComplete(() -> context.onComplete(result))
+                    .doFinally(admission::release)
+                    .subscribe(
+                        subscriber.onError(throwable -> context.onError(result, throwable))));
+
+    admission
+        .admit()
+        .whenComplete(
+            (ignored, rejection) -> {
+              if (Objects.nonNull(rejection)) {
+                context.onError(result, rejection);
+                return;
+              }
+
+              try {
+                executorService.execute(subscribe);
+              } catch (RejectedExecutionException e) {
+                // runner was closed
+                admission.release();
+                context.onError(result, e);
+              }
+            });
+
+    return result;
+  }
+
+  @Override
+  public int getCapacity() {
+    return capacity;
+  }
+
+  @Override
+  public int getActiveStreams() {
+    return admission.getInFlight();
+  }
+
+  @Override
+  public int getQueuedStreams() {
+    return admission.getQueued();
+  }
+
+  @Override
+  public long getAdmittedStreams() {
+    return admission.getAdmitted();
+  }
+
+  @Override
+  public long getRejectedStreams() {
+    return admission.getRejected();
+  }
+
+  @Override
+  public long getWaitTimeMillis() {
+    return admission.getWaitTimeMillis();
+  }
+
+  @Override
+  public void close() {
+    scheduler.shutdown();
+    executorService.shutdown();
+  }
+}
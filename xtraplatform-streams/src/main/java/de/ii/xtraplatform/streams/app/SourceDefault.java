@@ -7,12 +7,14 @@
  */
 package de.ii.xtraplatform.streams.app;
 
+import de.ii.xtraplatform.streams.domain.ByteBufferPool;
 import de.ii.xtraplatform.streams.domain.Reactive.BasicStream;
 import de.ii.xtraplatform.streams.domain.Reactive.SinkReduced;
 import de.ii.xtraplatform.streams.domain.Reactive.SinkReducedTransformed;
 import de.ii.xtraplatform.streams.domain.Reactive.Source;
 import de.ii.xtraplatform.streams.domain.Reactive.Transformer;
 import java.io.InputStream;
+import java.nio.channels.ReadableByteChannel;
 import java.util.Comparator;
 import java.util.Objects;
 import java.util.Optional;
@@ -27,6 +29,7 @@ public class SourceDefault<T> implements Source<T> {
     SINGLE,
     INPUT_STREAM,
     GUARDED,
+    BYTE_CHANNEL,
   }
 
   private final Type type;
@@ -41,6 +44,8 @@ public class SourceDefault<T> implements Source<T> {
   private Runnable acquire;
   private Runnable release;
   private Source<T> guardedInner;
+  private ReadableByteChannel channel;
+  private ByteBufferPool pool;
 
   public SourceDefault(Iterable<T> iterable) {
     this(Type.ITERABLE, iterable, null, null, null);
@@ -65,6 +70,12 @@ public class SourceDefault<T> implements Source<T> {
     this.guardedInner = guardedInner;
   }
 
+  public SourceDefault(ReadableByteChannel channel, ByteBufferPool pool) {
+    this(Type.BYTE_CHANNEL, null, null, null, null);
+    this.channel = channel;
+    this.pool = pool;
+  }
+
   SourceDefault(
       Type type, Iterable<T> iterable, Publisher<T> publisher, T item, InputStream inputStream) {
     this.type = type;
@@ -171,4 +182,12 @@ public class SourceDefault<T> implements Source<T> {
   public Source<T> getGuardedInner() {
     return guardedInner;
   }
+
+  public ReadableByteChannel getChannel() {
+    return channel;
+  }
+
+  public ByteBufferPool getPool() {
+    return pool;
+  }
 }
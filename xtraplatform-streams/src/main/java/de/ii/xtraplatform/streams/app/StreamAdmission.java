@@ -0,0 +1,191 @@
+/*
+ * Copyright 2026 interactive instruments GmbH
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package de.ii.xtraplatform.streams.app;
+
+import static de.ii.xtraplatform.streams.domain.Reactive.Runner.DYNAMIC_CAPACITY;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Admission control for stream runners. At most {@code capacity} streams are in flight, further
+ * streams wait in FIFO order. If {@code queueSize} streams are already waiting, or a stream waits
+ * longer than {@code queueTimeout}, it is rejected with a {@link RejectedExecutionException}.
+ * {@code DYNAMIC_CAPACITY} disables the respective limit.
+ *
+ * <p>Admission never blocks the caller, {@link #admit()} returns a future that completes once a
+ * permit is available. Every admitted stream has to call {@link #release()} exactly once.
+ */
+class StreamAdmission {
+
+  private final String name;
+  private final int capacity;
+  private final int queueSize;
+  private final long queueTimeoutMs;
+  private final AtomicInteger inFlight;
+  private final AtomicInteger queued;
+  private final Queue<Waiter> waiting;
+  private final AtomicLong admitted;
+  private final AtomicLong rejected;
+  private final AtomicLong waitNanos;
+
+  StreamAdmission(String name, int capacity, int queueSize, Duration queueTimeout) {
+    if (capacity == 0) {
+      throw new IllegalArgumentException("invalid capacity: 0");
+    }
+    this.name = name;
+    this.capacity = capacity;
+    this.queueSize = queueSize;
+    this.queueTimeoutMs = queueTimeout.toMillis();
+    this.inFlight = new AtomicInteger();
+    this.queued = new AtomicInteger();
+    this.waiting = new ConcurrentLinkedQueue<>();
+    this.admitted = new AtomicLong();
+    this.rejected = new AtomicLong();
+    this.waitNanos = new AtomicLong();
+  }
+
+  CompletableFuture<Void> admit() {
+    // streams that are already waiting go first
+    if (queued.get() == 0 && tryAcquire()) {
+      admitted.incrementAndGet();
+      return CompletableFuture.completedFuture(null);
+    }
+
+    if (queued.incrementAndGet() > queueSize && queueSize != DYNAMIC_CAPACITY) {
+      queued.decrementAndGet();
+      return reject(
+          String.format(
+              "Stream rejected by runner '%s', %d streams running and %d waiting",
+              name, capacity, queueSize));
+    }
+
+    Waiter waiter = new Waiter();
+    waiting.offer(waiter);
+
+    if (queueTimeoutMs > 0) {
+      waiter.timeout =
+          Timer.INSTANCE.schedule(() -> expire(waiter), queueTimeoutMs, TimeUnit.MILLISECONDS);
+    }
+
+    // a permit might have been released before the waiter was queued
+    drain();
+
+    return waiter.future;
+  }
+
+  void release() {
+    inFlight.decrementAndGet();
+    drain();
+  }
+
+  int getInFlight() {
+    return inFlight.get();
+  }
+
+  int getQueued() {
+    return queued.get();
+  }
+
+  long getAdmitted() {
+    return admitted.get();
+  }
+
+  long getRejected() {
+    return rejected.get();
+  }
+
+  long getWaitTimeMillis() {
+    return TimeUnit.NANOSECONDS.toMillis(waitNanos.get());
+  }
+
+  private boolean tryAcquire() {
+    while (true) {
+      int current = inFlight.get();
+      if (capacity != DYNAMIC_CAPACITY && current >= capacity) {
+        return false;
+      }
+      if (inFlight.compareAndSet(current, current + 1)) {
+        return true;
+      }
+    }
+  }
+
+  private void drain() {
+    while (!waiting.isEmpty() && tryAcquire()) {
+      Waiter waiter = waiting.poll();
+
+      if (Objects.isNull(waiter)) {
+        inFlight.decrementAndGet();
+        // another thread took the last waiter, it will drain again after queueing the next one
+        return;
+      }
+
+      if (waiter.done.compareAndSet(false, true)) {
+        queued.decrementAndGet();
+        admitted.incrementAndGet();
+        waitNanos.addAndGet(System.nanoTime() - waiter.since);
+        if (Objects.nonNull(waiter.timeout)) {
+          waiter.timeout.cancel(false);
+        }
+        waiter.future.complete(null);
+      } else {
+        // expired, give the permit to the next one
+        inFlight.decrementAndGet();
+      }
+    }
+  }
+
+  private void expire(Waiter waiter) {
+    if (waiter.done.compareAndSet(false, true)) {
+      waiting.remove(waiter);
+      queued.decrementAndGet();
+      waitNanos.addAndGet(System.nanoTime() - waiter.since);
+      rejected.incrementAndGet();
+      waiter.future.completeExceptionally(
+          new RejectedExecutionException(
+              String.format(
+                  "Stream rejected by runner '%s', no capacity within %dms",
+                  name, queueTimeoutMs)));
+    }
+  }
+
+  private CompletableFuture<Void> reject(String message) {
+    rejected.incrementAndGet();
+
+    return CompletableFuture.failedFuture(new RejectedExecutionException(message));
+  }
+
+  private static final class Waiter {
+    private final long since = System.nanoTime();
+    private final CompletableFuture<Void> future = new CompletableFuture<>();
+    private final AtomicBoolean done = new AtomicBoolean();
+    private volatile Future<?> timeout;
+  }
+
+  private static final class Timer {
+    private static final ScheduledExecutorService INSTANCE =
+        Executors.newSingleThreadScheduledExecutor(
+            runnable -> {
+              Thread thread = new Thread(runnable, "stream.admission");
+              thread.setDaemon(true);
+              return thread;
+            });
+  }
+}
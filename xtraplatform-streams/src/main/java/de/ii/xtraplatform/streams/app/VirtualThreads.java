@@ -0,0 +1,90 @@
+/*
+ * Copyright 2026 interactive instruments GmbH
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package de.ii.xtraplatform.streams.app;
+
+import java.lang.reflect.Method;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Creates thread-per-task executors that use virtual threads if the runtime supports them. The
+ * lookup is reflective, so the module still compiles and runs on runtimes without virtual threads,
+ * which get a cached pool of daemon platform threads instead.
+ */
+final class VirtualThreads {
+
+  private static final Optional<Method> OF_VIRTUAL = find(Thread.class, "ofVirtual");
+  private static final Optional<Method> NAME =
+      find("java.lang.Thread$Builder", "name", String.class, long.class);
+  private static final Optional<Method> FACTORY = find("java.lang.Thread$Builder", "factory");
+  private static final Optional<Method> THREAD_PER_TASK =
+      find(Executors.class, "newThreadPerTaskExecutor", ThreadFactory.class);
+
+  private VirtualThreads() {}
+
+  static boolean isSupported() {
+    return OF_VIRTUAL.isPresent()
+        && NAME.isPresent()
+        && FACTORY.isPresent()
+        && THREAD_PER_TASK.isPresent();
+  }
+
+  static ExecutorService newExecutor(String namePrefix) {
+    Optional<ExecutorService> virtual = virtualThreadExecutor(namePrefix);
+
+    if (virtual.isPresent()) {
+      return virtual.get();
+    }
+
+    AtomicInteger count = new AtomicInteger();
+
+    return Executors.newCachedThreadPool(
+        runnable -> {
+          Thread thread = new Thread(runnable, namePrefix + count.getAndIncrement());
+          thread.setDaemon(true);
+          return thread;
+        });
+  }
+
+  @SuppressWarnings("PMD.AvoidCatchingGenericException")
+  private static Optional<ExecutorService> virtualThreadExecutor(String namePrefix) {
+    if (!isSupported()) {
+      return Optional.empty();
+    }
+
+    try {
+      Object builder = OF_VIRTUAL.get().invoke(null);
+      builder = NAME.get().invoke(builder, namePrefix, 0L);
+
+      ThreadFactory factory = (ThreadFactory) FACTORY.get().invoke(builder);
+
+      return Optional.of((ExecutorService) THREAD_PER_TASK.get().invoke(null, factory));
+    } catch (ReflectiveOperationException | RuntimeException e) {
+      return Optional.empty();
+    }
+  }
+
+  private static Optional<Method> find(String className, String name, Class<?>... parameters) {
+    try {
+      return find(Class.forName(className), name, parameters);
+    } catch (ClassNotFoundException e) {
+      return Optional.empty();
+    }
+  }
+
+  private static Optional<Method> find(Class<?> clazz, String name, Class<?>... parameters) {
+    try {
+      return Optional.of(clazz.getMethod(name, parameters));
+    } catch (NoSuchMethodException e) {
+      return Optional.empty();
+    }
+  }
+}
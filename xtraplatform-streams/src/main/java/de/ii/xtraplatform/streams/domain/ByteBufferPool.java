@@ -0,0 +1,96 @@
+/*
+ * Copyright 2026 interactive instruments GmbH
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package de.ii.xtraplatform.streams.domain;
+
+import java.nio.ByteBuffer;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Pool of heap buffers with a fixed size for byte streams. Buffers are recycled by {@link
+ * Reactive.Sink#channel} after they were written. A buffer must not be used anymore after it was
+ * released. Buffers that are never released are simply garbage collected, if the pool is empty new
+ * ones are allocated.
+ */
+public class ByteBufferPool {
+
+  public static final int DEFAULT_BUFFER_SIZE = 16 * 1024;
+  public static final int DEFAULT_MAX_POOLED = 256;
+
+  private static final ByteBufferPool DEFAULT =
+      new ByteBufferPool(DEFAULT_BUFFER_SIZE, DEFAULT_MAX_POOLED);
+
+  private final int bufferSize;
+  private final int maxPooled;
+  private final Queue<ByteBuffer> pooled;
+  private final AtomicInteger size;
+  private final AtomicLong allocated;
+  private final AtomicLong reused;
+
+  public ByteBufferPool(int bufferSize, int maxPooled) {
+    if (bufferSize < 1) {
+      throw new IllegalArgumentException("bufferSize must be at least 1");
+    }
+    this.bufferSize = bufferSize;
+    this.maxPooled = maxPooled;
+    this.pooled = new ConcurrentLinkedQueue<>();
+    this.size = new AtomicInteger();
+    this.allocated = new AtomicLong();
+    this.reused = new AtomicLong();
+  }
+
+  public static ByteBufferPool getDefault() {
+    return DEFAULT;
+  }
+
+  public int getBufferSize() {
+    return bufferSize;
+  }
+
+  /** A cleared buffer with {@link #getBufferSize()} capacity. */
+  public ByteBuffer acquire() {
+    ByteBuffer buffer = pooled.poll();
+
+    if (Objects.isNull(buffer)) {
+      allocated.incrementAndGet();
+      return ByteBuffer.allocate(bufferSize);
+    }
+
+    size.decrementAndGet();
+    reused.incrementAndGet();
+
+    return buffer.clear();
+  }
+
+  /** Returns the buffer to the pool, foreign and read-only buffers are ignored. */
+  public void release(ByteBuffer buffer) {
+    if (buffer.capacity() != bufferSize || buffer.isReadOnly() || !buffer.hasArray()) {
+      return;
+    }
+
+    if (size.incrementAndGet() > maxPooled) {
+      size.decrementAndGet();
+      return;
+    }
+
+    pooled.offer(buffer);
+  }
+
+  /** The number of buffers that were newly allocated by {@link #acquire()}. */
+  public long getAllocated() {
+    return allocated.get();
+  }
+
+  /** The number of buffers that were taken from the pool by {@link #acquire()}. */
+  public long getReused() {
+    return reused.get();
+  }
+}
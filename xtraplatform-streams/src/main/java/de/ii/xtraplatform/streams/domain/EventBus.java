@@ -0,0 +1,342 @@
+/*
+ * Copyright 2026 interactive instruments GmbH
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package de.ii.xtraplatform.streams.domain;
+
+import de.ii.xtraplatform.base.domain.LogContext;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Event bus for a single event type, backed by a ring buffer. Every event gets a sequence number,
+ * every subscriber has its own cursor and is drained on the given executor, so subscribers do not
+ * block each other and receive the events in publishing order.
+ *
+ * <p>Until the first subscriber arrives, all events are retained, so it will receive the complete
+ * history. After that, the buffer only keeps the last {@code capacity} events for late subscribers.
+ * If the complete history is needed by every subscriber that arrives during a replay, pass {@code
+ * retainHistory} and call {@link #releaseHistory()} when the replay is done. If the slowest
+ * subscriber lags behind by {@code capacity} events, the {@link Backpressure} policy decides what
+ * happens.
+ *
+ * <p>Exceptions thrown by a subscriber are logged and the event counts as processed, the subscriber
+ * should handle them itself.
+ */
+public class EventBus<T extends Event> {
+
+  public enum Backpressure {
+    /** The publisher waits until the slowest subscriber has caught up. */
+    BLOCK,
+    /** The oldest events are dropped, lagging subscribers skip them. */
+    DROP_OLDEST,
+    /** Publishing fails with an {@link IllegalStateException}. */
+    FAIL
+  }
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(EventBus.class);
+  private static final ThreadLocal<EventBus<?>> DISPATCHING = new ThreadLocal<>();
+
+  private final String eventType;
+  private final int capacity;
+  private final Backpressure backpressure;
+  private final Executor executor;
+  private final ReentrantLock lock;
+  private final Condition progress;
+  private final List<Subscription> subscriptions;
+  private Object[] buffer;
+  private long base;
+  private long tail;
+  private long dropped;
+  private boolean retainHistory;
+
+  public EventBus(String eventType, int capacity, Backpressure backpressure, Executor executor) {
+    this(eventType, capacity, backpressure, executor, false);
+  }
+
+  /**
+   * @param retainHistory if true, all events are retained until {@link #releaseHistory()} is
+   *     called, regardless of the subscribers
+   */
+  public EventBus(
+      String eventType,
+      int capacity,
+      Backpressure backpressure,
+      Executor executor,
+      boolean retainHistory) {
+    if (capacity < 1) {
+      throw new IllegalArgumentException("capacity must be at least 1");
+    }
+    this.eventType = eventType;
+    this.capacity = capacity;
+    this.backpressure = backpressure;
+    this.executor = executor;
+    this.lock = new ReentrantLock();
+    this.progress = lock.newCondition();
+    this.subscriptions = new CopyOnWriteArrayList<>();
+    this.buffer = new Object[ceilingPowerOfTwo(capacity)];
+    this.retainHistory = retainHistory;
+  }
+
+  public String getEventType() {
+    return eventType;
+  }
+
+  public void publish(T event) {
+    lock.lock();
+    try {
+      makeRoom();
+      append(event);
+      subscriptions.forEach(this::schedule);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * New subscribers start with the oldest retained event. That is the complete history until the
+   * first subscriber arrives or, if {@code retainHistory} was passed, until {@link
+   * #releaseHistory()} is called. Otherwise only the last {@code capacity} events are retained.
+   */
+  public Subscription subscribe(Consumer<T> consumer) {
+    lock.lock();
+    try {
+      Subscription subscription = new Subscription(consumer, base);
+      subscriptions.add(subscription);
+      schedule(subscription);
+
+      return subscription;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Stops retaining the complete history, from now on only the last {@code capacity} events are
+   * retained for late subscribers.
+   */
+  public void releaseHistory() {
+    lock.lock();
+    try {
+      this.retainHistory = false;
+
+      long slowest = slowestCursor();
+      while (tail - base > capacity && base < slowest) {
+        drop();
+      }
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /** The number of events that are currently retained. */
+  public int getRetained() {
+    lock.lock();
+    try {
+      return (int) (tail - base);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /** The number of events that were dropped before all subscribers received them. */
+  public long getDropped() {
+    lock.lock();
+    try {
+      return dropped;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /** The number of events the slowest subscriber still has to process. */
+  public long getLag() {
+    lock.lock();
+    try {
+      return tail - slowestCursor();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private void makeRoom() {
+    if (retainHistory || subscriptions.isEmpty()) {
+      ensureSpace();
+      return;
+    }
+
+    // history that every subscriber has already seen can always go
+    long slowest = slowestCursor();
+    while (tail - base >= capacity && base < slowest) {
+      drop();
+    }
+
+    if (tail - base < capacity) {
+      ensureSpace();
+      return;
+    }
+
+    switch (backpressure) {
+      case BLOCK:
+        if (DISPATCHING.get() != null) {
+          // a subscriber that publishes might wait for itself or for a subscriber waiting for it
+          ensureSpace();
+          return;
+        }
+        while (base >= slowestCursor() && !subscriptions.isEmpty()) {
+          progress.awaitUninterruptibly();
+        }
+        if (tail - base >= capacity) {
+          drop();
+        }
+        break;
+      case DROP_OLDEST:
+        drop();
+        dropped++;
+        break;
+      case FAIL:
+      default:
+        throw new IllegalStateException(
+            String.format(
+                "Event bus for '%s' is full, slowest subscriber lags behind by %d events",
+                eventType, tail - base));
+    }
+  }
+
+  private void ensureSpace() {
+    if (tail - base == buffer.length) {
+      resize(buffer.length * 2);
+    }
+  }
+
+  private void append(T event) {
+    buffer[index(tail)] = event;
+    tail++;
+  }
+
+  private void drop() {
+    buffer[index(base)] = null;
+    base++;
+
+    // shrink back after the unbounded replay before the first subscriber
+    if (buffer.length > ceilingPowerOfTwo(capacity) && tail - base <= buffer.length / 4) {
+      resize(buffer.length / 2);
+    }
+  }
+
+  private void resize(int length) {
+    Object[] resized = new Object[length];
+    for (long seq = base; seq < tail; seq++) {
+      resized[(int) (seq & (length - 1))] = buffer[index(seq)];
+    }
+    this.buffer = resized;
+  }
+
+  private long slowestCursor() {
+    long slowest = tail;
+    for (Subscription subscription : subscriptions) {
+      slowest = Math.min(slowest, subscription.cursor);
+    }
+    return slowest;
+  }
+
+  private int index(long seq) {
+    return (int) (seq & (buffer.length - 1));
+  }
+
+  // caller holds lock
+  private void schedule(Subscription subscription) {
+    if (!subscription.scheduled && !subscription.cancelled && subscription.cursor < tail) {
+      subscription.scheduled = true;
+      executor.execute(subscription::drain);
+    }
+  }
+
+  private static int ceilingPowerOfTwo(int value) {
+    return value <= 1 ? 1 : Integer.highestOneBit(value - 1) << 1;
+  }
+
+  public final class Subscription {
+    private final Consumer<T> consumer;
+    private volatile long cursor;
+    private boolean scheduled;
+    private volatile boolean cancelled;
+
+    private Subscription(Consumer<T> consumer, long cursor) {
+      this.consumer = consumer;
+      this.cursor = cursor;
+    }
+
+    /** The number of events this subscriber still has to process. */
+    public long getLag() {
+      lock.lock();
+      try {
+        return tail - cursor;
+      } finally {
+        lock.unlock();
+      }
+    }
+
+    public void cancel() {
+      lock.lock();
+      try {
+        this.cancelled = true;
+        subscriptions.remove(this);
+        progress.signalAll();
+      } finally {
+        lock.unlock();
+      }
+    }
+
+    @SuppressWarnings({"unchecked", "PMD.AvoidCatchingGenericException"})
+    private void drain() {
+      DISPATCHING.set(EventBus.this);
+      try {
+        while (true) {
+          T event;
+
+          lock.lock();
+          try {
+            if (cursor < base) {
+              // events were dropped
+              cursor = base;
+            }
+            if (cancelled || cursor >= tail) {
+              scheduled = false;
+              return;
+            }
+            event = (T) buffer[index(cursor)];
+          } finally {
+            lock.unlock();
+          }
+
+          try {
+            consumer.accept(event);
+          } catch (RuntimeException e) {
+            LogContext.error(
+                LOGGER, e, "Unhandled error in subscriber for events of type {}", eventType);
+          }
+
+          lock.lock();
+          try {
+            cursor++;
+            progress.signalAll();
+          } finally {
+            lock.unlock();
+          }
+        }
+      } finally {
+        DISPATCHING.remove();
+      }
+    }
+  }
+}
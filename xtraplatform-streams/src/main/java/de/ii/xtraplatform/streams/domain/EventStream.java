@@ -19,6 +19,10 @@ import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.Consumer;
 
+/**
+ * @deprecated retains every queued event forever, use {@link EventBus} instead
+ */
+@Deprecated
 public class EventStream<T extends Event> {
   private final Reactive.Runner streamRunner;
   private final String eventType;
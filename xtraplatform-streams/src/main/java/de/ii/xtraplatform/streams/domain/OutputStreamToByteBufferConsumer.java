@@ -0,0 +1,94 @@
+/*
+ * Copyright 2026 interactive instruments GmbH
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package de.ii.xtraplatform.streams.domain;
+
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+/**
+ * Collects the written bytes in buffers from a {@link ByteBufferPool} and passes every full buffer
+ * to the consumer, so many small writes result in few buffers instead of one array per write. The
+ * last partial buffer is passed on {@link #flush()} or {@link #close()}.
+ */
+public class OutputStreamToByteBufferConsumer extends OutputStream {
+
+  private final Consumer<ByteBuffer> byteBufferConsumer;
+  private final ByteBufferPool pool;
+  private ByteBuffer current;
+
+  public OutputStreamToByteBufferConsumer(Consumer<ByteBuffer> byteBufferConsumer) {
+    this(byteBufferConsumer, ByteBufferPool.getDefault());
+  }
+
+  public OutputStreamToByteBufferConsumer(
+      Consumer<ByteBuffer> byteBufferConsumer, ByteBufferPool pool) {
+    super();
+    this.byteBufferConsumer = byteBufferConsumer;
+    this.pool = pool;
+  }
+
+  @Override
+  public void write(byte[] b, int off, int len) {
+    Objects.checkFromIndexSize(off, len, b.length);
+
+    int offset = off;
+    int remaining = len;
+
+    while (remaining > 0) {
+      ByteBuffer buffer = current();
+      int length = Math.min(remaining, buffer.remaining());
+
+      buffer.put(b, offset, length);
+      offset += length;
+      remaining -= length;
+
+      if (!buffer.hasRemaining()) {
+        emit();
+      }
+    }
+  }
+
+  @Override
+  public void write(int i) {
+    ByteBuffer buffer = current();
+
+    buffer.put((byte) i);
+
+    if (!buffer.hasRemaining()) {
+      emit();
+    }
+  }
+
+  @Override
+  public void flush() {
+    if (Objects.nonNull(current) && current.position() > 0) {
+      emit();
+    }
+  }
+
+  @Override
+  public void close() {
+    flush();
+  }
+
+  private ByteBuffer current() {
+    if (Objects.isNull(current)) {
+      this.current = pool.acquire();
+    }
+    return current;
+  }
+
+  private void emit() {
+    ByteBuffer full = current.flip();
+    this.current = null;
+
+    byteBufferConsumer.accept(full);
+  }
+}
@@ -35,7 +35,7 @@ public class OutputStreamToByteConsumer extends OutputStream {
     Objects.requireNonNull(byteConsumer, "OutputStream needs byteConsumer");
     Objects.checkFromIndexSize(off, len, b.length);
 
-    byteConsumer.accept(Arrays.copyOfRange(b, off, len));
+    byteConsumer.accept(Arrays.copyOfRange(b, off, off + len));
   }
 
   @Override
@@ -7,6 +7,7 @@
  */
 package de.ii.xtraplatform.streams.domain;
 
+import de.ii.xtraplatform.streams.app.InputStreamChannel;
 import de.ii.xtraplatform.streams.app.SinkDefault;
 import de.ii.xtraplatform.streams.app.SinkDefault.Type;
 import de.ii.xtraplatform.streams.app.SinkTransformedImpl;
@@ -14,10 +15,16 @@ import de.ii.xtraplatform.streams.app.SourceDefault;
 import de.ii.xtraplatform.streams.app.TransformerChained;
 import de.ii.xtraplatform.streams.app.TransformerDefault;
 import de.ii.xtraplatform.streams.app.TransformerFused;
-import java.io.ByteArrayOutputStream;
 import java.io.Closeable;
+import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
@@ -37,6 +44,30 @@ public interface Reactive {
 
   Runner runner(String name, int capacity, int queueSize);
 
+  /**
+   * @param virtualThreads if true, streams and blocking sources like {@link Source#guarded} run on
+   *     virtual threads, which are cheap to block; implementations without support for virtual
+   *     threads ignore it and return {@link #runner(String, int, int)}
+   */
+  default Runner runner(String name, int capacity, int queueSize, boolean virtualThreads) {
+    return runner(name, capacity, queueSize);
+  }
+
+  /**
+   * @param capacity the maximum number of concurrent streams or {@link Runner#DYNAMIC_CAPACITY}
+   * @param queueSize the maximum number of streams waiting for admission or {@link
+   *     Runner#DYNAMIC_CAPACITY}, further streams are rejected
+   * @param queueTimeout streams that wait longer for admission are rejected, zero means no timeout;
+   *     implementations without support for admission timeouts ignore it and return {@link
+   *     #runner(String, int, int, boolean)}
+   * @param virtualThreads if true, streams and blocking sources like {@link Source#guarded} run on
+   *     virtual threads, which are cheap to block
+   */
+  default Runner runner(
+      String name, int capacity, int queueSize, Duration queueTimeout, boolean virtualThreads) {
+    return runner(name, capacity, queueSize, virtualThreads);
+  }
+
   interface Source<T> {
 
     <U> Source<U> via(Transformer<T, U> transformer);
@@ -87,6 +118,22 @@ public interface Reactive {
       return new SourceDefault<>(inputStream);
     }
 
+    /**
+     * Like {@link #inputStream}, but the bytes are read directly into buffers from the default
+     * {@link ByteBufferPool}, without further copies. See {@link Sink#channel} for recycling.
+     */
+    static Source<ByteBuffer> byteBuffers(InputStream inputStream) {
+      return channel(new InputStreamChannel(inputStream), ByteBufferPool.getDefault());
+    }
+
+    /**
+     * Reads the channel into buffers from the given pool, the channel is closed at the end. The
+     * channel is expected to be blocking.
+     */
+    static Source<ByteBuffer> channel(ReadableByteChannel channel, ByteBufferPool pool) {
+      return new SourceDefault<>(channel, pool);
+    }
+
     /**
      * Wraps {@code inner} so that {@code acquire} runs once when the source is subscribed and
      * {@code release} runs once when it terminates (completion, error, or cancellation). The
@@ -246,16 +293,49 @@ public interface Reactive {
       return new SinkDefault<>(outputStream);
     }
 
+    static Sink<ByteBuffer> channel(WritableByteChannel channel) {
+      return channel(channel, ByteBufferPool.getDefault());
+    }
+
+    /**
+     * Writes the remaining bytes of every buffer to the channel and then releases the buffer to the
+     * given pool, so upstream stages must not keep references to the buffers. The channel is not
+     * closed.
+     */
+    static Sink<ByteBuffer> channel(WritableByteChannel channel, ByteBufferPool pool) {
+      return foreach(
+          buffer -> {
+            try {
+              while (buffer.hasRemaining()) {
+                channel.write(buffer);
+              }
+            } catch (IOException e) {
+              throw new UncheckedIOException(e);
+            }
+            pool.release(buffer);
+          });
+    }
+
     static SinkReducedTransformed<byte[], byte[], byte[]> reduceByteArray() {
-      Transformer<byte[], ByteArrayOutputStream> reduce =
+      // the chunks are only copied once, into an array of the final size
+      Transformer<byte[], List<byte[]>> reduce =
           Transformer.reduce(
-              new ByteArrayOutputStream(),
-              (outputStream, bytes) -> {
-                outputStream.writeBytes(bytes);
-                return outputStream;
+              new ArrayList<>(),
+              (chunks, bytes) -> {
+                chunks.add(bytes);
+                return chunks;
+              });
+      Transformer<List<byte[]>, byte[]> map =
+          Transformer.map(
+              chunks -> {
+                byte[] bytes = new byte[chunks.stream().mapToInt(chunk -> chunk.length).sum()];
+                int offset = 0;
+                for (byte[] chunk : chunks) {
+                  System.arraycopy(chunk, 0, bytes, offset, chunk.length);
+                  offset += chunk.length;
+                }
+                return bytes;
               });
-      Transformer<ByteArrayOutputStream, byte[]> map =
-          Transformer.map(ByteArrayOutputStream::toByteArray);
 
       return reduce.via(map).to(head());
     }
@@ -324,5 +404,24 @@ public interface Reactive {
     int getCapacity();
 
     int getActiveStreams();
+
+    default int getQueuedStreams() {
+      return 0;
+    }
+
+    /** The number of streams that were admitted since the runner was created. */
+    default long getAdmittedStreams() {
+      return 0;
+    }
+
+    /** The number of streams that were rejected since the runner was created. */
+    default long getRejectedStreams() {
+      return 0;
+    }
+
+    /** The accumulated time streams spent waiting for admission. */
+    default long getWaitTimeMillis() {
+      return 0;
+    }
   }
 }
@@ -0,0 +1,132 @@
+package de.ii.xtraplatform.streams.domain
+
+import spock.lang.Specification
+
+import java.util.concurrent.CopyOnWriteArrayList
+import java.util.concurrent.Executor
+
+class EventBusSpec extends Specification {
+
+    static class TestEvent implements Event {
+        final int value
+
+        TestEvent(int value) {
+            this.value = value
+        }
+    }
+
+    // runs drains synchronously, so the assertions do not need to wait
+    Executor sameThread = { Runnable runnable -> runnable.run() } as Executor
+
+    def 'first subscriber receives complete history'() {
+        given:
+        EventBus<TestEvent> bus = new EventBus<>("test", 4, EventBus.Backpressure.BLOCK, sameThread)
+        List<Integer> received = new CopyOnWriteArrayList<>()
+
+        when:
+        (1..10).each { bus.publish(new TestEvent(it)) }
+        bus.subscribe({ TestEvent event -> received.add(event.value) })
+
+        then:
+        received == (1..10).toList()
+    }
+
+    def 'retained history is bounded once a subscriber exists'() {
+        given:
+        EventBus<TestEvent> bus = new EventBus<>("test", 4, EventBus.Backpressure.BLOCK, sameThread)
+        bus.subscribe({ TestEvent event -> })
+
+        when:
+        (1..100).each { bus.publish(new TestEvent(it)) }
+
+        then:
+        bus.getRetained() <= 4
+        bus.getLag() == 0
+    }
+
+    def 'late subscriber receives retained events only'() {
+        given:
+        EventBus<TestEvent> bus = new EventBus<>("test", 4, EventBus.Backpressure.BLOCK, sameThread)
+        bus.subscribe({ TestEvent event -> })
+        List<Integer> received = new CopyOnWriteArrayList<>()
+
+        when:
+        (1..10).each { bus.publish(new TestEvent(it)) }
+        bus.subscribe({ TestEvent event -> received.add(event.value) })
+
+        then:
+        received == (7..10).toList()
+    }
+
+    def 'every subscriber receives complete history until it is released'() {
+        given:
+        EventBus<TestEvent> bus = new EventBus<>("test", 4, EventBus.Backpressure.BLOCK, sameThread, true)
+        bus.subscribe({ TestEvent event -> })
+        List<Integer> received = new CopyOnWriteArrayList<>()
+        List<Integer> receivedAfterRelease = new CopyOnWriteArrayList<>()
+
+        when:
+        (1..10).each { bus.publish(new TestEvent(it)) }
+        bus.subscribe({ TestEvent event -> received.add(event.value) })
+
+        then:
+        received == (1..10).toList()
+
+        when:
+        bus.releaseHistory()
+        bus.subscribe({ TestEvent event -> receivedAfterRelease.add(event.value) })
+
+        then:
+        bus.getRetained() == 4
+        receivedAfterRelease == (7..10).toList()
+    }
+
+    def 'subscriber exceptions do not stop the delivery'() {
+        given:
+        EventBus<TestEvent> bus = new EventBus<>("test", 4, EventBus.Backpressure.BLOCK, sameThread)
+        List<Integer> received = new CopyOnWriteArrayList<>()
+        bus.subscribe({ TestEvent event ->
+            if (event.value == 2) {
+                throw new IllegalStateException("failed")
+            }
+            received.add(event.value)
+        })
+
+        when:
+        (1..3).each { bus.publish(new TestEvent(it)) }
+
+        then:
+        received == [1, 3]
+        bus.getLag() == 0
+    }
+
+    def 'drop oldest skips events for lagging subscribers'() {
+        given:
+        List<Runnable> pending = []
+        Executor manual = { Runnable runnable -> pending.add(runnable) } as Executor
+        EventBus<TestEvent> bus = new EventBus<>("test", 4, EventBus.Backpressure.DROP_OLDEST, manual)
+        List<Integer> received = []
+        bus.subscribe({ TestEvent event -> received.add(event.value) })
+
+        when:
+        (1..10).each { bus.publish(new TestEvent(it)) }
+        pending.each { it.run() }
+
+        then:
+        bus.getDropped() == 6
+        received == (7..10).toList()
+    }
+
+    def 'fail policy rejects events when full'() {
+        given:
+        Executor never = { Runnable runnable -> } as Executor
+        EventBus<TestEvent> bus = new EventBus<>("test", 2, EventBus.Backpressure.FAIL, never)
+        bus.subscribe({ TestEvent event -> })
+
+        when:
+        (1..3).each { bus.publish(new TestEvent(it)) }
+
+        then:
+        thrown(IllegalStateException)
+    }
+}
@@ -225,6 +225,205 @@ class ReactiveRxSpec extends Specification {
         result.ids == (0..99).toList()
     }
 
+    def "fused map, filter and peek transformers keep their order"() {
+        given:
+        def peeked = []
+        Reactive.Stream<List<String>> stream = Source.iterable(0..9)
+                .via(Transformer.map((Integer i) -> i * 2))
+                .via(Transformer.filter((Integer i) -> i % 4 == 0))
+                .via(Transformer.peek((Integer i) -> peeked << i))
+                .via(Transformer.map((Integer i) -> i + 1))
+                .via(Transformer.reduce(0, (Integer sum, Integer i) -> sum + i))
+                .via(Transformer.map((Integer i) -> "sum " + i))
+                .via(Transformer.filter((String s) -> !s.isEmpty()))
+                .to(Sink.reduce([], (List<String> list, String s) -> { list << s; return list }))
+
+        when:
+        def result = runStream(stream)
+
+        then:
+        peeked == [0, 4, 8, 12, 16]
+        result == ["sum 45"]
+    }
+
+    def "fused transformers fail the stream on exceptions"() {
+        given:
+        Reactive.Stream<Map<String, Object>> stream = Source.iterable(1..5)
+                .via(Transformer.map((Integer i) -> i + 1))
+                .via(transformerThrowingAtIndex(4))
+                .via(Transformer.filter((Integer i) -> true))
+                .to(Sink.ignore())
+                .withResult([error: null] as Map<String, Object>)
+                .handleError((result, throwable) -> { result.error = throwable; return result; })
+
+        when:
+        def result = runStream(stream)
+
+        then:
+        result.error instanceof IllegalArgumentException
+    }
+
+    def "virtual thread runner limits concurrent streams"() {
+        given:
+        Reactive.Runner virtualRunner = reactive.runner("virtual", 2, Reactive.Runner.DYNAMIC_CAPACITY, true)
+        def running = new java.util.concurrent.atomic.AtomicInteger()
+        def maxRunning = new java.util.concurrent.atomic.AtomicInteger()
+        def streams = (1..6).collect {
+            Source.iterable(1..3)
+                    .via(Transformer.peek((Integer i) -> {
+                        maxRunning.accumulateAndGet(running.incrementAndGet(), { a, b -> Math.max(a, b) })
+                        Thread.sleep(20)
+                        running.decrementAndGet()
+                    }))
+                    .to(Sink.ignore())
+        }
+
+        when:
+        def results = streams.collect { it.on(virtualRunner).run().toCompletableFuture() }
+        results.each { it.join() }
+
+        then:
+        maxRunning.get() <= 2
+        virtualRunner.queuedStreams == 0
+
+        cleanup:
+        virtualRunner.close()
+    }
+
+    def "virtual thread runner guarded source"() {
+        given:
+        Reactive.Runner virtualRunner = reactive.runner("virtual", Reactive.Runner.DYNAMIC_CAPACITY, 0, true)
+        def acquired = 0
+        def released = 0
+        Reactive.Stream<Integer> stream = Source.guarded({ acquired++ }, { released++ }, Source.iterable(1..5))
+                .to(Sink.head())
+
+        when:
+        def result = stream.on(virtualRunner).run().toCompletableFuture().join()
+
+        then:
+        result == 1
+        acquired == 1
+        released == 1
+
+        cleanup:
+        virtualRunner.close()
+    }
+
+    def "runner rejects streams when the queue is full"() {
+        given:
+        Reactive.Runner limitedRunner = reactive.runner("limited", 1, 1)
+        def latch = new java.util.concurrent.CountDownLatch(1)
+        def blocking = Source.iterable(1..1)
+                .via(Transformer.peek((Integer i) -> { latch.await() }))
+                .to(Sink.ignore())
+
+        when:
+        def running = blocking.on(limitedRunner).run().toCompletableFuture()
+        def waiting = Source.iterable(1..3).to(Sink.ignore()).on(limitedRunner).run().toCompletableFuture()
+        def rejected = Source.iterable(1..3).to(Sink.ignore()).on(limitedRunner).run().toCompletableFuture()
+        rejected.join()
+
+        then:
+        def e = thrown(CompletionException)
+        e.cause instanceof java.util.concurrent.RejectedExecutionException
+        limitedRunner.queuedStreams == 1
+        limitedRunner.rejectedStreams == 1
+
+        when:
+        latch.countDown()
+        running.join()
+        waiting.join()
+
+        then:
+        limitedRunner.queuedStreams == 0
+        limitedRunner.admittedStreams == 2
+
+        cleanup:
+        latch.countDown()
+        limitedRunner.close()
+    }
+
+    def "runner rejects streams that wait too long"() {
+        given:
+        Reactive.Runner limitedRunner = reactive.runner("limited", 1, Reactive.Runner.DYNAMIC_CAPACITY, java.time.Duration.ofMillis(50), false)
+        def latch = new java.util.concurrent.CountDownLatch(1)
+        def blocking = Source.iterable(1..1)
+                .via(Transformer.peek((Integer i) -> { latch.await() }))
+                .to(Sink.ignore())
+
+        when:
+        def running = blocking.on(limitedRunner).run().toCompletableFuture()
+        Source.iterable(1..3).to(Sink.ignore()).on(limitedRunner).run().toCompletableFuture().join()
+
+        then:
+        def e = thrown(CompletionException)
+        e.cause instanceof java.util.concurrent.RejectedExecutionException
+        limitedRunner.rejectedStreams == 1
+        limitedRunner.waitTimeMillis >= 50
+
+        cleanup:
+        latch.countDown()
+        running?.join()
+        limitedRunner.close()
+    }
+
+    def "byte buffers are passed to the channel and recycled"() {
+        given:
+        byte[] bytes = (0..<40000).collect { (byte) (it % 127) } as byte[]
+        def pool = new ByteBufferPool(1024, 8)
+        def out = new ByteArrayOutputStream()
+        Reactive.Stream<Void> stream = Source.channel(new de.ii.xtraplatform.streams.app.InputStreamChannel(new ByteArrayInputStream(bytes)), pool)
+                .to(Sink.channel(java.nio.channels.Channels.newChannel(out), pool))
+
+        when:
+        runStream(stream)
+
+        then:
+        out.toByteArray() == bytes
+        pool.getReused() > 0
+        pool.getAllocated() < Math.ceil(bytes.length / pool.getBufferSize())
+    }
+
+    def "input stream source and byte array reduction"() {
+        given:
+        byte[] bytes = (0..<40000).collect { (byte) (it % 127) } as byte[]
+        Reactive.Stream<byte[]> stream = Source.inputStream(new ByteArrayInputStream(bytes))
+                .to(Sink.reduceByteArray())
+
+        when:
+        def result = runStream(stream)
+
+        then:
+        result == bytes
+    }
+
+    def "output stream coalesces writes into buffers"() {
+        given:
+        def buffers = []
+        def outputStream = new OutputStreamToByteBufferConsumer({ buffers << it }, new ByteBufferPool(8, 2))
+
+        when:
+        (0..<20).each { outputStream.write([it] as byte[]) }
+        outputStream.close()
+
+        then:
+        buffers*.remaining() == [8, 8, 4]
+    }
+
+    def "output stream passes the written range with an offset"() {
+        given:
+        def chunks = []
+        def outputStream = new OutputStreamToByteConsumer({ chunks << it })
+
+        when:
+        outputStream.write([0, 1, 2, 3, 4, 5, 6, 7] as byte[], 2, 3)
+        outputStream.write([8, 9] as byte[], 0, 2)
+
+        then:
+        chunks == [[2, 3, 4] as byte[], [8, 9] as byte[]]
+    }
+
     static Transformer<Integer, Integer> transformerLogging() {
         return Transformer.peek((Integer i) -> println(i))
     }
@@ -9,6 +9,8 @@ package de.ii.xtraplatform.values.app;
 
 import com.github.azahnen.dagger.annotations.AutoBind;
 import com.google.common.io.Files;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import de.ii.xtraplatform.base.domain.AppContext;
 import de.ii.xtraplatform.base.domain.AppLifeCycle;
 import de.ii.xtraplatform.base.domain.Jackson;
@@ -25,6 +27,7 @@ import de.ii.xtraplatform.values.api.ValueDecoderPreHash;
 import de.ii.xtraplatform.values.api.ValueDecoderWithBuilder;
 import de.ii.xtraplatform.values.api.ValueEncodingJackson;
 import de.ii.xtraplatform.values.domain.Identifier;
+import de.ii.xtraplatform.values.domain.IdentifierIndex;
 import de.ii.xtraplatform.values.domain.KeyValueStore;
 import de.ii.xtraplatform.values.domain.StoredValue;
 import de.ii.xtraplatform.values.domain.ValueBuilder;
@@ -42,13 +45,19 @@ import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.nio.file.Path;
 import java.time.Instant;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.CompletionStage;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.Predicate;
@@ -64,15 +73,19 @@ public class ValueStoreImpl extends AbstractVolatile
     implements ValueStore, KeyValueStore<StoredValue>, ValueCache<StoredValue>, AppLifeCycle {
 
   private static final Logger LOGGER = LoggerFactory.getLogger(ValueStoreImpl.class);
+  private static final int MAX_READ_THREADS = 8;
 
   private final BlobStore blobStore;
   private final ValueFactories valueFactories;
   private final Map<Identifier, StoredValue> memCache;
+  private final IdentifierIndex index;
   private final Map<Identifier, Long> lastModified;
   private final ValueEncodingJackson<StoredValue> valueEncoding;
   private final CompletableFuture<Void> ready;
   private final Map<Class<? extends StoredValue>, List<String>> valueTypes;
   private final Lock instanceLock;
+  private final ExecutorService readExecutor;
+  private final ExecutorService decodeExecutor;
 
   @Inject
   public ValueStoreImpl(
@@ -90,10 +103,23 @@ public class ValueStoreImpl extends AbstractVolatile
         new ValueEncodingJackson<>(
             jackson, store.getMaxYamlFileSize(), store.isFailOnUnknownProperties());
     this.memCache = new ConcurrentHashMap<>();
+    this.index = new IdentifierIndex();
     this.lastModified = new ConcurrentHashMap<>();
     this.ready = new CompletableFuture<>();
     this.valueTypes = new ConcurrentHashMap<>();
     this.instanceLock = new ReentrantLock();
+    this.readExecutor =
+        MoreExecutors.getExitingExecutorService(
+            (ThreadPoolExecutor)
+                Executors.newFixedThreadPool(
+                    MAX_READ_THREADS,
+                    new ThreadFactoryBuilder().setNameFormat("values.read-%d").build()));
+    this.decodeExecutor =
+        MoreExecutors.getExitingExecutorService(
+            (ThreadPoolExecutor)
+                Executors.newFixedThreadPool(
+                    Runtime.getRuntime().availableProcessors(),
+                    new ThreadFactoryBuilder().setNameFormat("values.decode-%d").build()));
 
     valueEncoding.getMapper(FORMAT.YAML).setDefaultMergeable(false);
     valueEncoding.getMapper(FORMAT.JSON).setDefaultMergeable(false);
@@ -154,17 +180,40 @@ public class ValueStoreImpl extends AbstractVolatile
   private void loadValuesForType(String valueType, List<Path> filter) {
     ValueFactory valueFactory = valueFactories.get(valueType);
     Path typePath = Path.of(valueFactory.type());
+    Map<Path, Long> listedLastModified = new HashMap<>();
+    boolean isInitialLoad = filter.isEmpty();
     int count = 0;
 
     valueTypes.put(valueFactory.valueClass(), TYPE_SPLITTER.splitToList(valueFactory.type()));
 
+    // the listing already provides the modification times, so only the contents have to be
+    // fetched per file
     try (Stream<Path> paths =
         blobStore.walk(
-            typePath, 8, (path, attributes) -> attributes.isValue() && !attributes.isHidden())) {
+            typePath,
+            8,
+            (path, attributes) -> {
+              if (attributes.isValue() && !attributes.isHidden()) {
+                listedLastModified.putIfAbsent(path, attributes.lastModified());
+                return true;
+              }
+              return false;
+            })) {
       List<Path> files = paths.sorted().collect(Collectors.toList());
 
-      for (Path file : files) {
-        if (processValueFile(valueType, valueFactory, typePath, file, filter)) {
+      // contents are fetched and decoded in parallel, but stored in the sorted order, since a
+      // later file may override an earlier one with the same identifier
+      List<CompletableFuture<ValueFile>> loading =
+          files.stream()
+              .map(file -> toValueFile(valueType, valueFactory, typePath, file, filter))
+              .flatMap(Optional::stream)
+              .map(
+                  valueFile ->
+                      load(valueFile, listedLastModified.getOrDefault(valueFile.file, -1L)))
+              .collect(Collectors.toList());
+
+      for (CompletableFuture<ValueFile> valueFile : loading) {
+        if (storeValue(valueFile, isInitialLoad)) {
           count++;
         }
       }
@@ -173,10 +222,10 @@ public class ValueStoreImpl extends AbstractVolatile
       LogContext.error(LOGGER, e, "Could not load values with type {}", valueType);
     }
 
-    logLoadingResult(count, valueType, !filter.isEmpty());
+    logLoadingResult(count, valueType, !isInitialLoad);
   }
 
-  private boolean processValueFile(
+  private Optional<ValueFile> toValueFile(
       String valueType, ValueFactory valueFactory, Path typePath, Path file, List<Path> filter) {
 
     String extension = Files.getFileExtension(file.getFileName().toString());
@@ -188,7 +237,7 @@ public class ValueStoreImpl extends AbstractVolatile
     }
 
     if (payloadFormat == ValueEncoding.FORMAT.UNKNOWN) {
-      return false;
+      return Optional.empty();
     }
 
     if (LOGGER.isTraceEnabled()) {
@@ -206,44 +255,83 @@ public class ValueStoreImpl extends AbstractVolatile
       if (LOGGER.isTraceEnabled()) {
         LOGGER.trace("Skipping value, not included: {}", identifierPath);
       }
-      return false;
+      return Optional.empty();
     }
 
-    Identifier identifier = Identifier.from(identifierPath);
-    Path currentPath = typePath.resolve(file);
-    return loadAndStoreValue(identifier, currentPath, payloadFormat, filter.isEmpty());
+    return Optional.of(
+        new ValueFile(
+            Identifier.from(identifierPath), file, typePath.resolve(file), payloadFormat));
   }
 
-  private boolean loadAndStoreValue(
-      Identifier identifier,
-      Path currentPath,
-      ValueEncoding.FORMAT payloadFormat,
-      boolean isInitialLoad) {
-    try {
-      byte[] bytes = blobStore.content(currentPath).get().readAllBytes();
-      long lm = blobStore.lastModified(currentPath);
-
-      StoredValue value = valueEncoding.deserialize(identifier, bytes, payloadFormat, true);
+  private CompletableFuture<ValueFile> load(ValueFile valueFile, long listedLastModified) {
+    return CompletableFuture.supplyAsync(
+            () -> {
+              try {
+                valueFile.bytes = blobStore.content(valueFile.path).get().readAllBytes();
+                valueFile.lastModified =
+                    listedLastModified > -1
+                        ? listedLastModified
+                        : blobStore.lastModified(valueFile.path);
+              } catch (IOException e) {
+                valueFile.error = e;
+              }
+              return valueFile;
+            },
+            readExecutor)
+        .thenApplyAsync(
+            read -> {
+              if (Objects.isNull(read.error)) {
+                try {
+                  read.value =
+                      valueEncoding.deserialize(read.identifier, read.bytes, read.format, true);
+                } catch (IOException e) {
+                  read.error = e;
+                }
+              }
+              read.bytes = null;
+              return read;
+            },
+            decodeExecutor);
+  }
 
-      boolean hasChanged = true;
-      if (!isInitialLoad) {
-        hasChanged =
-            memCache.containsKey(identifier) && !Objects.equals(memCache.get(identifier), value);
+  private boolean storeValue(CompletableFuture<ValueFile> loading, boolean isInitialLoad) {
+    ValueFile valueFile;
 
-        if (!hasChanged && LOGGER.isTraceEnabled()) {
-          LOGGER.trace("Not counting value, not changed: {}", identifier.asPath());
-        }
+    try {
+      valueFile = loading.join();
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) e.getCause();
       }
+      throw e;
+    }
 
-      this.memCache.put(identifier, value);
-      this.lastModified.put(identifier, lm == -1 ? Instant.now().toEpochMilli() : lm);
-
-      return isInitialLoad || hasChanged;
-    } catch (IOException e) {
+    if (Objects.nonNull(valueFile.error)) {
       String operation = isInitialLoad ? "load" : "reload";
-      LogContext.error(LOGGER, e, "Could not {} value from {}", operation, currentPath);
+      LogContext.error(
+          LOGGER, valueFile.error, "Could not {} value from {}", operation, valueFile.path);
       return false;
     }
+
+    Identifier identifier = valueFile.identifier;
+    StoredValue value = valueFile.value;
+    long lm = valueFile.lastModified;
+
+    boolean hasChanged = true;
+    if (!isInitialLoad) {
+      hasChanged =
+          memCache.containsKey(identifier) && !Objects.equals(memCache.get(identifier), value);
+
+      if (!hasChanged && LOGGER.isTraceEnabled()) {
+        LOGGER.trace("Not counting value, not changed: {}", identifier.asPath());
+      }
+    }
+
+    this.memCache.put(identifier, value);
+    this.index.add(identifier);
+    this.lastModified.put(identifier, lm == -1 ? Instant.now().toEpochMilli() : lm);
+
+    return isInitialLoad || hasChanged;
   }
 
   private void logLoadingResult(int count, String valueType, boolean isReload) {
@@ -268,12 +356,7 @@ public class ValueStoreImpl extends AbstractVolatile
 
   @Override
   public List<Identifier> identifiers(String... path) {
-    return memCache.keySet().stream()
-        .filter(
-            identifier ->
-                identifier.path().size() >= path.length
-                    && Objects.equals(identifier.path().subList(0, path.length), List.of(path)))
-        .collect(Collectors.toList());
+    return index.getAll(List.of(path));
   }
 
   @Override
@@ -291,6 +374,11 @@ public class ValueStoreImpl extends AbstractVolatile
     return memCache.keySet().stream().anyMatch(matcher);
   }
 
+  @Override
+  public boolean hasAny(String... path) {
+    return index.has(List.of(path));
+  }
+
   @Override
   public StoredValue get(Identifier identifier) {
     return memCache.get(identifier);
@@ -312,6 +400,7 @@ public class ValueStoreImpl extends AbstractVolatile
       instanceLock.lock();
 
       memCache.put(identifier, value);
+      index.add(identifier);
 
       lastModified.put(identifier, Instant.now().toEpochMilli());
     } finally {
@@ -341,6 +430,7 @@ public class ValueStoreImpl extends AbstractVolatile
       instanceLock.lock();
 
       removed = memCache.remove(identifier);
+      index.remove(identifier);
 
       lastModified.remove(identifier);
     } finally {
@@ -390,4 +480,22 @@ public class ValueStoreImpl extends AbstractVolatile
   public <U extends StoredValue> Values<U> forType(Class<U> type) {
     return forTypeWritable(type);
   }
+
+  private static final class ValueFile {
+    private final Identifier identifier;
+    private final Path file;
+    private final Path path;
+    private final ValueEncoding.FORMAT format;
+    private byte[] bytes;
+    private long lastModified;
+    private StoredValue value;
+    private IOException error;
+
+    private ValueFile(Identifier identifier, Path file, Path path, ValueEncoding.FORMAT format) {
+      this.identifier = identifier;
+      this.file = file;
+      this.path = path;
+      this.format = format;
+    }
+  }
 }
@@ -14,7 +14,7 @@ import java.nio.file.Path;
 import java.util.List;
 import org.immutables.value.Value;
 
-@Value.Immutable
+@Value.Immutable(prehash = true)
 @Value.Style(get = "*")
 @JsonDeserialize(as = ImmutableIdentifier.class)
 public interface Identifier extends Comparable<Identifier> {
@@ -26,7 +26,20 @@ public interface Identifier extends Comparable<Identifier> {
   List<String> path();
 
   static Identifier from(String id, String... path) {
-    return ImmutableIdentifier.builder().id(id).addPath(path).build();
+    return intern(ImmutableIdentifier.builder().id(id).addPath(path).build());
+  }
+
+  static Identifier from(String id, Iterable<String> path) {
+    return intern(ImmutableIdentifier.builder().id(id).path(path).build());
+  }
+
+  /**
+   * Returns the canonical instance for identifiers that are equal to the given one, as long as it
+   * is referenced anywhere. Identifiers are used as map keys all over the stores, so equal
+   * instances from different sources are shared instead of piling up.
+   */
+  static Identifier intern(Identifier identifier) {
+    return IdentifierInterner.INSTANCE.intern(identifier);
   }
 
   static Identifier from(Path path) {
@@ -39,30 +52,35 @@ public interface Identifier extends Comparable<Identifier> {
       }
     }
 
-    return builder.build();
+    return intern(builder.build());
   }
 
   @Override
   default int compareTo(Identifier identifier) {
-
-    if (path().size() != identifier.path().size()) {
-      return path().size() - identifier.path().size();
+    if (this == identifier) {
+      return 0;
     }
 
-    for (int i = 0; i < path().size() && i < identifier.path().size(); i++) {
-      int compared = path().get(i).compareTo(identifier.path().get(i));
-      if (compared != 0) {
-        return compared;
-      }
-    }
+    return sortKey().compareTo(identifier.sortKey());
+  }
 
-    int lengthDiff = path().size() - identifier.path().size();
+  /**
+   * Packs the ordering of {@link #compareTo(Identifier)} (path length, path elements, id) into a
+   * single string, so comparing two identifiers does not have to walk both paths. The elements
+   * are separated by NUL, which sorts before any other character.
+   */
+  @JsonIgnore
+  @Value.Derived
+  @Value.Auxiliary
+  default String sortKey() {
+    StringBuilder key = new StringBuilder();
 
-    if (lengthDiff != 0) {
-      return lengthDiff;
+    key.append((char) path().size());
+    for (String element : path()) {
+      key.append(element).append('\0');
     }
 
-    return id().compareTo(identifier.id());
+    return key.append(id()).toString();
   }
 
   @JsonIgnore
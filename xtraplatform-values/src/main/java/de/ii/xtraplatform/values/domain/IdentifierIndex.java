@@ -0,0 +1,143 @@
+/*
+ * Copyright 2026 interactive instruments GmbH
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package de.ii.xtraplatform.values.domain;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Prefix tree over {@link Identifier#path()}, to be maintained alongside a key set. Lookups by path
+ * or path prefix only visit the nodes on the path and the matching identifiers instead of scanning
+ * all keys. Changes are serialized, lookups do not block. Nodes that no longer hold any
+ * identifiers are pruned on removal.
+ */
+public class IdentifierIndex {
+
+  private final Node root;
+
+  public IdentifierIndex() {
+    this.root = new Node();
+  }
+
+  public synchronized void add(Identifier identifier) {
+    Node node = root;
+    List<Node> nodes = new ArrayList<>(identifier.path().size() + 1);
+    nodes.add(node);
+
+    for (String element : identifier.path()) {
+      node = node.children.computeIfAbsent(element, key -> new Node());
+      nodes.add(node);
+    }
+
+    if (node.identifiers.add(identifier)) {
+      nodes.forEach(n -> n.count.incrementAndGet());
+    }
+  }
+
+  public synchronized void remove(Identifier identifier) {
+    Node node = root;
+    List<Node> nodes = new ArrayList<>(identifier.path().size() + 1);
+    nodes.add(node);
+
+    for (String element : identifier.path()) {
+      node = node.children.get(element);
+      if (Objects.isNull(node)) {
+        return;
+      }
+      nodes.add(node);
+    }
+
+    if (node.identifiers.remove(identifier)) {
+      nodes.forEach(n -> n.count.decrementAndGet());
+      prune(nodes, identifier.path());
+    }
+  }
+
+  // removes the topmost node below the root that no longer holds any identifiers, which also
+  // removes all of its descendants, since they cannot hold any either
+  private static void prune(List<Node> nodes, List<String> path) {
+    for (int i = 1; i < nodes.size(); i++) {
+      if (nodes.get(i).count.get() <= 0) {
+        nodes.get(i - 1).children.remove(path.get(i - 1), nodes.get(i));
+        return;
+      }
+    }
+  }
+
+  public synchronized void clear() {
+    root.children.clear();
+    root.identifiers.clear();
+    root.count.set(0);
+  }
+
+  public int size() {
+    return root.count.get();
+  }
+
+  /** The identifiers with exactly the given path, ordered by id. */
+  public List<Identifier> get(List<String> path) {
+    Node node = find(path);
+
+    return Objects.isNull(node) ? new ArrayList<>() : new ArrayList<>(node.identifiers);
+  }
+
+  /** The identifiers whose path starts with the given prefix. */
+  public List<Identifier> getAll(List<String> prefix) {
+    Node node = find(prefix);
+
+    if (Objects.isNull(node)) {
+      return new ArrayList<>();
+    }
+
+    List<Identifier> identifiers = new ArrayList<>(Math.max(node.count.get(), 0));
+    collect(node, identifiers);
+
+    return identifiers;
+  }
+
+  /** Whether there is any identifier whose path starts with the given prefix. */
+  public boolean has(List<String> prefix) {
+    Node node = find(prefix);
+
+    return Objects.nonNull(node) && node.count.get() > 0;
+  }
+
+  private Node find(List<String> path) {
+    Node node = root;
+
+    for (String element : path) {
+      node = node.children.get(element);
+      if (Objects.isNull(node)) {
+        return null;
+      }
+    }
+
+    return node;
+  }
+
+  private static void collect(Node node, List<Identifier> identifiers) {
+    if (node.count.get() <= 0) {
+      return;
+    }
+
+    identifiers.addAll(node.identifiers);
+    node.children.values().forEach(child -> collect(child, identifiers));
+  }
+
+  private static final class Node {
+    private final Map<String, Node> children = new ConcurrentHashMap<>();
+    private final Set<Identifier> identifiers = new ConcurrentSkipListSet<>();
+    private final AtomicInteger count = new AtomicInteger();
+  }
+}
@@ -0,0 +1,19 @@
+/*
+ * Copyright 2026 interactive instruments GmbH
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package de.ii.xtraplatform.values.domain;
+
+import com.google.common.collect.Interner;
+import com.google.common.collect.Interners;
+
+/** Interner for {@link Identifier#intern(Identifier)}, interface fields would be public. */
+final class IdentifierInterner {
+
+  static final Interner<Identifier> INSTANCE = Interners.newWeakInterner();
+
+  private IdentifierInterner() {}
+}
@@ -74,6 +74,11 @@ public interface ValueStoreDecorator<T, U extends T> extends KeyValueStore<U> {
     throw new IllegalStateException();
   }
 
+  @Override
+  default boolean hasAny(String... path) {
+    return getDecorated().hasAny(transformPath(path));
+  }
+
   @Override
   default U get(Identifier identifier) {
     return (U) getDecorated().get(transformIdentifier(identifier));
@@ -24,6 +24,16 @@ public interface Values<T> extends Volatile2 {
 
   boolean has(Predicate<Identifier> matcher);
 
+  /** Whether there is any identifier whose path starts with the given path. */
+  default boolean hasAny(String... path) {
+    List<String> prefix = List.of(path);
+
+    return has(
+        identifier ->
+            identifier.path().size() >= prefix.size()
+                && Objects.equals(identifier.path().subList(0, prefix.size()), prefix));
+  }
+
   T get(Identifier identifier);
 
   default long lastModified(Identifier identifier) {
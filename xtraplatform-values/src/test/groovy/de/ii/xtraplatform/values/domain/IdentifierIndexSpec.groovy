@@ -0,0 +1,86 @@
+package de.ii.xtraplatform.values.domain
+
+import spock.lang.Specification
+
+class IdentifierIndexSpec extends Specification {
+
+    IdentifierIndex index = new IdentifierIndex()
+
+    def 'identifiers are found by path and prefix'() {
+        given:
+        index.add(Identifier.from("a", "providers"))
+        index.add(Identifier.from("b", "providers"))
+        index.add(Identifier.from("c", "services", "ogc"))
+        index.add(Identifier.from("d", "services", "ogc", "tiles"))
+
+        expect:
+        index.size() == 4
+        index.get(["providers"])*.id() == ["a", "b"]
+        index.get(["services"]).isEmpty()
+        index.getAll(["services"])*.id() as Set == ["c", "d"] as Set
+        index.getAll([])*.id() as Set == ["a", "b", "c", "d"] as Set
+        index.has(["services", "ogc", "tiles"])
+        !index.has(["services", "wfs"])
+    }
+
+    def 'adding an identifier twice counts it once'() {
+        when:
+        index.add(Identifier.from("a", "providers"))
+        index.add(Identifier.from("a", "providers"))
+
+        then:
+        index.size() == 1
+        index.getAll(["providers"]).size() == 1
+    }
+
+    def 'removed identifiers are no longer found'() {
+        given:
+        index.add(Identifier.from("a", "providers"))
+        index.add(Identifier.from("b", "providers"))
+        index.add(Identifier.from("c", "services", "ogc"))
+
+        when:
+        index.remove(Identifier.from("a", "providers"))
+        index.remove(Identifier.from("x", "providers"))
+        index.remove(Identifier.from("c", "unknown"))
+
+        then:
+        index.size() == 2
+        index.get(["providers"])*.id() == ["b"]
+        index.has(["services", "ogc"])
+    }
+
+    def 'empty nodes are pruned on removal'() {
+        given:
+        index.add(Identifier.from("a", "services", "ogc", "tiles"))
+        index.add(Identifier.from("b", "services", "wfs"))
+
+        when:
+        index.remove(Identifier.from("a", "services", "ogc", "tiles"))
+
+        then:
+        !index.has(["services", "ogc"])
+        index.root.children.keySet() == ["services"] as Set
+        index.root.children["services"].children.keySet() == ["wfs"] as Set
+
+        when:
+        index.remove(Identifier.from("b", "services", "wfs"))
+
+        then:
+        index.size() == 0
+        index.root.children.isEmpty()
+    }
+
+    def 'nodes that still hold identifiers are not pruned'() {
+        given:
+        index.add(Identifier.from("a", "services"))
+        index.add(Identifier.from("b", "services", "ogc"))
+
+        when:
+        index.remove(Identifier.from("b", "services", "ogc"))
+
+        then:
+        index.get(["services"])*.id() == ["a"]
+        index.root.children["services"].children.isEmpty()
+    }
+}